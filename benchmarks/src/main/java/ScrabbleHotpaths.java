@@ -0,0 +1,182 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import scrabble.bench.Hotpaths;
+
+/**
+ * The benchmarked operations, on the game classes in the default package.
+ */
+public class ScrabbleHotpaths implements Hotpaths {
+    private static final int SAMPLE = 1024;
+    private static final int CANDIDATES = 64;
+
+    private Dictionary dictionary;
+    private String[] words;
+    private String[] misses;
+    private char[] wordChars;
+    private byte[] wordCodes;
+    private final int[] offsets = new int[SAMPLE];
+    private final int[] lengths = new int[SAMPLE];
+    private Dictionary hashSetDictionary;
+    private String[] lowerWords;
+    private String[] boardWords;
+    private char[] letters;
+    private Board played;
+    private Move[] candidates;
+    private PlacementStatus[] statuses;
+    private int[] scores;
+    private TileBag bag;
+    private final int[] fullBag = new int[LetterCodes.BLANK + 1];
+    private Player player;
+    private GameEngine engine;
+
+    @Override
+    public void setUp(String source) throws Exception {
+        dictionary = DictionaryRegistry.shared().get(source);
+        List<String> all = new ArrayList<>();
+        dictionary.getLexicon().forEachWord(word -> {
+            String upper = word.toUpperCase();
+            if (LetterCodes.isLetters(upper)) all.add(upper);
+        });
+        Collections.shuffle(all, new Random(42));
+        words = new String[SAMPLE];
+        misses = new String[SAMPLE];
+        List<String> fits = new ArrayList<>();
+        for (int i = 0; i < SAMPLE; i++) {
+            String word = all.get(i % all.size());
+            words[i] = word;
+            misses[i] = word.substring(0, word.length() - 1) + (char) ('A' + (word.charAt(word.length() - 1) - 'A' + 13) % 26);
+        }
+        int total = 0;
+        for (String word : words) total += word.length();
+        wordChars = new char[total];
+        wordCodes = new byte[total];
+        for (int i = 0, offset = 0; i < SAMPLE; offset += words[i].length(), i++) {
+            offsets[i] = offset;
+            lengths[i] = words[i].length();
+            words[i].getChars(0, lengths[i], wordChars, offset);
+            for (int k = 0; k < lengths[i]; k++) wordCodes[offset + k] = (byte) LetterCodes.code(wordChars[offset + k]);
+        }
+        hashSetDictionary = new Dictionary(new HashSetLexicon(all));
+        // Lower case, as in the word list, so every lookup upper-cases into a new String
+        lowerWords = new String[SAMPLE];
+        for (int i = 0; i < SAMPLE; i++) lowerWords[i] = words[i].toLowerCase();
+        for (String word : all) {
+            if (word.length() >= 2 && word.length() <= 7) fits.add(word);
+            if (fits.size() == SAMPLE) break;
+        }
+        boardWords = fits.toArray(new String[0]);
+
+        played = new Board(dictionary);
+        played.placeWord(boardWords[0], 7, 7 - boardWords[0].length() / 2, true, playerFor(boardWords[0]));
+
+        List<Move> moves = new MoveGenerator(dictionary).generate(played, playerFor("AEINRST").getRack());
+        int legal = Math.min(moves.size(), CANDIDATES / 2);
+        candidates = new Move[2 * legal];
+        for (int i = 0; i < legal; i++) {
+            Move move = moves.get(i);
+            candidates[2 * i] = move;
+            candidates[2 * i + 1] = new Move(Math.min(move.getRow() + 1, 14), move.getCol(), move.isHorizontal(),
+                    move.getWord(), move.getBlankMask(), 0, 0);
+        }
+        statuses = new PlacementStatus[candidates.length];
+        scores = new int[candidates.length];
+
+        bag = new TileBag(42L);
+        bag.copyCounts(fullBag);
+
+        player = new Player("Bench");
+        for (char c : "AEINRST".toCharArray()) {
+            player.addTile(new Tile(c, 1));
+        }
+        letters = new char[SAMPLE];
+        Random random = new Random(7);
+        for (int i = 0; i < SAMPLE; i++) letters[i] = (char) ('A' + random.nextInt(26));
+
+        engine = new GameEngine(dictionary, Arrays.asList(new GreedyStrategy(), new GreedyStrategy()));
+    }
+
+    /**
+     * Returns a player holding exactly the letters of a word. Placing a word takes the
+     * tiles from the rack, so every placement needs a fresh player.
+     */
+    private static Player playerFor(String word) {
+        Player player = new Player("Bench");
+        for (char c : word.toCharArray()) {
+            player.addTile(new Tile(c, LetterCodes.points(LetterCodes.code(c))));
+        }
+        return player;
+    }
+
+    @Override
+    public boolean isValidWord(int i) {
+        return dictionary.isValid(words[i & (SAMPLE - 1)]);
+    }
+
+    @Override
+    public boolean isValidMiss(int i) {
+        return dictionary.isValid(misses[i & (SAMPLE - 1)]);
+    }
+
+    @Override
+    public boolean isValidChars(int i) {
+        int k = i & (SAMPLE - 1);
+        return dictionary.isValid(wordChars, offsets[k], lengths[k]);
+    }
+
+    @Override
+    public boolean isValidCodes(int i) {
+        int k = i & (SAMPLE - 1);
+        return dictionary.isValid(wordCodes, offsets[k], lengths[k]);
+    }
+
+    @Override
+    public boolean isValidHashSet(int i) {
+        return hashSetDictionary.isValid(lowerWords[i & (SAMPLE - 1)]);
+    }
+
+    @Override
+    public Object newBoard() {
+        return new Board(dictionary);
+    }
+
+    @Override
+    public boolean placeFirstWord(int i) {
+        String word = boardWords[i % boardWords.length];
+        return new Board(dictionary).placeWord(word, 7, 7 - word.length() / 2, true, playerFor(word));
+    }
+
+    @Override
+    public boolean isFirstMove() {
+        return played.isFirstMove();
+    }
+
+    @Override
+    public int checkPlacements() {
+        return played.checkPlacements(candidates, player.getRack(), statuses, scores);
+    }
+
+    @Override
+    public Object drawTile() {
+        if (bag.remainingTiles() == 0) bag.setCounts(fullBag);
+        return bag.drawTile();
+    }
+
+    @Override
+    public boolean canFormWord(int i) {
+        return player.canFormWord(words[i & (SAMPLE - 1)]);
+    }
+
+    @Override
+    public Object findTileInRack(int i) {
+        return player.findTileInRack(letters[i & (SAMPLE - 1)]);
+    }
+
+    @Override
+    public int playGame(long seed) {
+        GameResult result = engine.play(seed);
+        return result.getScore(0) + result.getScore(1);
+    }
+}
@@ -0,0 +1,44 @@
+package scrabble.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every result carries its allocation
+ * rate, and writes the results as JSON to {@code jmh-result-<version>.json}. Takes the
+ * usual JMH options, e.g. {@code -p words=words.txt} for a local word list or
+ * {@code -rff other.json} for another result file.
+ */
+public final class BenchmarkMain {
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+        if (cli.shouldList()) {
+            new Runner(cli).list();
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue()) {
+            options.result("jmh-result-" + version() + ".json");
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static String version() {
+        String version = BenchmarkMain.class.getPackage().getImplementationVersion();
+        return version == null ? "dev" : version;
+    }
+}
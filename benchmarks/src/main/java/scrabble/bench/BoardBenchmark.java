@@ -0,0 +1,59 @@
+package scrabble.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Placing the opening word on a fresh board, and the first-move check. Placing a word
+ * needs an empty board each time, so {@link #newBoard()} gives the cost of that alone.
+ * {@link #checkPlacements()} checks a batch of up to 64 candidates without placing them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param(Hotpaths.DEFAULT_WORDS)
+    public String words;
+
+    private Hotpaths hotpaths;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        hotpaths = Hotpaths.load(words);
+    }
+
+    @Benchmark
+    public Object newBoard() {
+        return hotpaths.newBoard();
+    }
+
+    @Benchmark
+    public boolean placeWord() {
+        return hotpaths.placeFirstWord(next++);
+    }
+
+    @Benchmark
+    public int checkPlacements() {
+        return hotpaths.checkPlacements();
+    }
+
+    @Benchmark
+    public boolean isFirstMove() {
+        return hotpaths.isFirstMove();
+    }
+}
@@ -0,0 +1,65 @@
+package scrabble.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Word lookups, for words in the dictionary and for near misses, through each
+ * {@code isValid} overload. The {@code char[]} and letter-code overloads should show
+ * no {@code gc.alloc.rate.norm} under the GC profiler; {@link #isValidHashSet} is the
+ * upper-casing lookup they replace.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryBenchmark {
+    @Param(Hotpaths.DEFAULT_WORDS)
+    public String words;
+
+    private Hotpaths hotpaths;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        hotpaths = Hotpaths.load(words);
+    }
+
+    @Benchmark
+    public boolean isValidHit() {
+        return hotpaths.isValidWord(next++);
+    }
+
+    @Benchmark
+    public boolean isValidMiss() {
+        return hotpaths.isValidMiss(next++);
+    }
+
+    @Benchmark
+    public boolean isValidChars() {
+        return hotpaths.isValidChars(next++);
+    }
+
+    @Benchmark
+    public boolean isValidCodes() {
+        return hotpaths.isValidCodes(next++);
+    }
+
+    @Benchmark
+    public boolean isValidHashSet() {
+        return hotpaths.isValidHashSet(next++);
+    }
+}
@@ -0,0 +1,43 @@
+package scrabble.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole headless games between two top-score players, in games per second. Each call
+ * plays a new seed so the games differ.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    @Param(Hotpaths.DEFAULT_WORDS)
+    public String words;
+
+    private Hotpaths hotpaths;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        hotpaths = Hotpaths.load(words);
+    }
+
+    @Benchmark
+    public int playGame() {
+        return hotpaths.playGame(seed++);
+    }
+}
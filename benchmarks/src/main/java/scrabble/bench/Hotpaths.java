@@ -0,0 +1,77 @@
+package scrabble.bench;
+
+/**
+ * The game operations the benchmarks measure.
+ *
+ * The game classes live in the default package, which classes in a named package
+ * cannot refer to, and JMH only accepts benchmarks in a named package. The benchmarks
+ * therefore call the game through this interface, implemented by the default-package
+ * class {@code ScrabbleHotpaths}. Each benchmark sees a single implementation, so the
+ * JIT inlines the calls.
+ */
+public interface Hotpaths {
+    /** The word list used when none is given with {@code -p words=<file or URL>}. */
+    String DEFAULT_WORDS = "https://www.mit.edu/~ecprice/wordlist.10000";
+
+    /**
+     * Creates the implementation and loads its word list.
+     *
+     * @param words a URL or the path of a word list, as for the game's DictionaryRegistry
+     * @return the hot paths
+     */
+    static Hotpaths load(String words) throws Exception {
+        Hotpaths hotpaths = (Hotpaths) Class.forName("ScrabbleHotpaths").getDeclaredConstructor().newInstance();
+        hotpaths.setUp(words);
+        return hotpaths;
+    }
+
+    void setUp(String words) throws Exception;
+
+    /** Looks up a word of the sample that is in the dictionary. */
+    boolean isValidWord(int i);
+
+    /** Looks up a word of the sample with its last letter changed, mostly not in the dictionary. */
+    boolean isValidMiss(int i);
+
+    /** Looks up a word of the sample through the {@code char[]} overload, on a buffer of all of them. */
+    boolean isValidChars(int i);
+
+    /** Looks up a word of the sample through the letter-code overload, on a buffer of all of them. */
+    boolean isValidCodes(int i);
+
+    /**
+     * Looks up a word of the sample, in lower case, in a dictionary backed by
+     * {@code HashSetLexicon}, which upper-cases every query into a new String; the
+     * baseline for the allocation-free lookups.
+     */
+    boolean isValidHashSet(int i);
+
+    /** Builds an empty board; the baseline for {@link #placeFirstWord(int)}. */
+    Object newBoard();
+
+    /** Builds an empty board and places a sample word across the centre. */
+    boolean placeFirstWord(int i);
+
+    /** Asks a board with a word on it whether the next move is the first. */
+    boolean isFirstMove();
+
+    /**
+     * Checks a batch of candidate placements on a board with a word on it, half of them
+     * legal moves and half the same words one row lower.
+     *
+     * @return the number of legal candidates
+     */
+    int checkPlacements();
+
+    /** Draws a tile, refilling the bag when it runs out. */
+    Object drawTile();
+
+    /** Checks whether a full rack can form a sample word. */
+    boolean canFormWord(int i);
+
+    /** Looks for a letter in a full rack. */
+    Object findTileInRack(int i);
+
+    /** Plays a whole game between two top-score players and returns the total score. */
+    int playGame(long seed);
+}
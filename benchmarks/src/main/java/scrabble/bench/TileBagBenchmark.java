@@ -0,0 +1,41 @@
+package scrabble.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Drawing tiles; the bag is refilled whenever it runs out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileBagBenchmark {
+    @Param(Hotpaths.DEFAULT_WORDS)
+    public String words;
+
+    private Hotpaths hotpaths;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        hotpaths = Hotpaths.load(words);
+    }
+
+    @Benchmark
+    public Object drawTile() {
+        return hotpaths.drawTile();
+    }
+}
@@ -1,20 +1,45 @@
 /**
  * Represents the Scrabble board as a 15x15 grid.
  * Handles word placement and board display.
+ *
+ * The letters, anchors, cross-checks and tile count live in a primitive {@link BoardState}
+ * kept in step with the grid; search code can take it from {@link #getState()} and apply
+ * and undo moves on a copy without touching the tiles here.
  */
 public class Board {
+    private static final int SIZE = 15;
+
     private Tile[][] grid;
+    private final Dictionary dictionary;
+    // Created on first use, so a board can be set up while its dictionary is still loading
+    private BoardState state;
+    // Bumped by every change, so a stale placement is refused
+    private long version;
 
     /**
      * Constructs a new empty 15x15 Scrabble board.
+     * Cross-checks are not tracked; see {@link #Board(Dictionary)}.
      */
     public Board() {
-        grid = new Tile[15][15];
+        this(null);
+    }
+
+    /**
+     * Constructs a new empty 15x15 Scrabble board that keeps cross-check masks
+     * for the words of the given dictionary.
+     *
+     * @param dictionary the dictionary used for cross-checks, or null to skip them
+     */
+    public Board(Dictionary dictionary) {
+        grid = new Tile[SIZE][SIZE];
+        this.dictionary = dictionary;
     }
 
     /**
      * Places a word on the board if it fits, doesn't conflict, and connects to existing tiles.
      * Supports both horizontal (left to right) and vertical (top to bottom) placement.
+     * The player scores the word and every cross-word it forms, with premium squares
+     * and the bingo bonus (see {@link ScoreCalculator}).
      *
      * @param word the word to place
      * @param row starting row index (0–14)
@@ -22,19 +47,97 @@ public class Board {
      * @param horizontal true for horizontal (left to right), false for vertical (top to bottom)
      * @param player the player placing the word
      * @return true if placement was successful; false otherwise
+     * @see #tryPlaceWord(String, int, int, boolean, Player)
      */
     public boolean placeWord(String word, int row, int col, boolean horizontal, Player player) {
+        return tryPlaceWord(word, row, col, horizontal, player) == PlacementStatus.PLACED;
+    }
+
+    /**
+     * Places a word as {@link #placeWord} does, and says which rule stopped it if it
+     * could not be placed. The board and the rack change only if the word is placed.
+     *
+     * @param word the word to place
+     * @param row starting row index (0–14)
+     * @param col starting column index (0–14)
+     * @param horizontal true for horizontal (left to right), false for vertical (top to bottom)
+     * @param player the player placing the word
+     * @return {@link PlacementStatus#PLACED}, or the first rule the placement broke
+     */
+    public PlacementStatus tryPlaceWord(String word, int row, int col, boolean horizontal, Player player) {
+        Placement placement = prepare(word, row, col, horizontal, player);
+        if (placement.getStatus() == PlacementStatus.PLACED) commit(placement);
+        return placement.getStatus();
+    }
+
+    /**
+     * Checks a word placement and works out its squares and score without changing the
+     * board or the player's rack; {@link #commit(Placement)} then applies it. The attempt
+     * and its outcome are counted in {@link Metrics}.
+     *
+     * @param word the word to place
+     * @param row starting row index (0–14)
+     * @param col starting column index (0–14)
+     * @param horizontal true for horizontal (left to right), false for vertical (top to bottom)
+     * @param player the player placing the word
+     * @return the placement; its status is {@link PlacementStatus#PLACED} or the first rule it breaks
+     */
+    public Placement prepare(String word, int row, int col, boolean horizontal, Player player) {
+        long start = Metrics.start();
+        Placement placement = check(word, row, col, horizontal, player);
+        Metrics.placement(placement.getStatus(), start);
+        return placement;
+    }
+
+    private Placement check(String word, int row, int col, boolean horizontal, Player player) {
+        PlacementStatus status = checkRules(word, row, col, horizontal);
+        if (status != null) return rejected(word, row, col, horizontal, player, status);
+
+        // List the empty squares the word covers and check the rack holds a tile for each
+        int[] squares = new int[word.length()];
+        byte[] codes = new byte[word.length()];
+        int count = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int r = horizontal ? row : row + i;
+            int c = horizontal ? col + i : col;
+            if (grid[r][c] != null) continue;
+            int code = LetterCodes.code(word.charAt(i));
+            if (needed(codes, count, code) > player.getRack().count(code)) { // Player doesn't have required tile
+                return rejected(word, row, col, horizontal, player, PlacementStatus.MISSING_TILES);
+            }
+            squares[count] = r * SIZE + c;
+            codes[count++] = (byte) code;
+        }
+
+        // Score against the board as it is before the new tiles go down
+        long scoring = Metrics.start();
+        int score = ScoreCalculator.score(state(), word, row, col, horizontal, 0);
+        Metrics.record(Metrics.Timer.SCORING, scoring);
+        return new Placement(this, player, word, row, col, horizontal, PlacementStatus.PLACED, score,
+                squares, codes, count, version);
+    }
+
+    /**
+     * Checks the rules that depend only on the board: bounds, letters, conflicts and connection.
+     *
+     * @return the first rule broken, or null if the word may go there
+     */
+    private PlacementStatus checkRules(String word, int row, int col, boolean horizontal) {
         // Check board bounds
-        if (horizontal && col + word.length() > 15) return false;
-        if (!horizontal && row + word.length() > 15) return false;
+        if (row < 0 || col < 0 || row >= SIZE || col >= SIZE) return PlacementStatus.OUT_OF_BOUNDS;
+        if (horizontal && col + word.length() > 15) return PlacementStatus.OUT_OF_BOUNDS;
+        if (!horizontal && row + word.length() > 15) return PlacementStatus.OUT_OF_BOUNDS;
+        for (int i = 0; i < word.length(); i++) {
+            if (LetterCodes.code(word.charAt(i)) < 0) return PlacementStatus.NOT_LETTERS; // Only letters A–Z go on the board
+        }
 
         // Check for tile conflicts
         for (int i = 0; i < word.length(); i++) {
             int r = horizontal ? row : row + i;
             int c = horizontal ? col + i : col;
             Tile existing = grid[r][c];
-            if (existing != null && existing.getLetter() != word.charAt(i)) {
-                return false; // Conflict with existing tile
+            if (existing != null && LetterCodes.code(existing.getLetter()) != LetterCodes.code(word.charAt(i))) {
+                return PlacementStatus.CONFLICT; // Conflict with existing tile
             }
         }
 
@@ -62,27 +165,351 @@ public class Board {
 
         // Reject if no connection and not first move
         if (!connectsToExistingTile && !isFirstMove()) {
-            System.out.println("Word must connect to existing tiles.");
-            return false;
+            return PlacementStatus.NOT_CONNECTED;
+        }
+        return null;
+    }
+
+    private Placement rejected(String word, int row, int col, boolean horizontal, Player player, PlacementStatus status) {
+        return new Placement(this, player, word, row, col, horizontal, status, 0, null, null, 0, version);
+    }
+
+    /**
+     * Returns how many tiles of a letter a placement needs, counting one more than the
+     * codes listed so far.
+     */
+    private static int needed(byte[] codes, int count, int code) {
+        int needed = 1;
+        for (int i = 0; i < count; i++) {
+            if (codes[i] == code) needed++;
+        }
+        return needed;
+    }
+
+    /**
+     * Applies a placement from {@link #prepare}: takes its tiles from the player's rack,
+     * puts them on the board and adds the score. Everything is checked first, so on an
+     * exception nothing has changed.
+     *
+     * @param placement a legal placement prepared on this board
+     * @throws IllegalArgumentException if the placement is not legal
+     * @throws IllegalStateException if it was prepared on another board, is already committed,
+     *         the board has changed since it was prepared, or the rack no longer holds its tiles
+     */
+    public void commit(Placement placement) {
+        if (placement.board != this) throw new IllegalStateException("The placement was prepared on another board");
+        if (placement.getStatus() != PlacementStatus.PLACED) {
+            throw new IllegalArgumentException("Cannot commit a rejected placement: " + placement.getStatus());
+        }
+        if (placement.isCommitted()) throw new IllegalStateException("The placement is already on the board");
+        if (placement.version != version) {
+            throw new IllegalStateException("The board has changed since the placement was prepared");
+        }
+        Rack rack = placement.getPlayer().getRack();
+        byte[] codes = placement.codes();
+        for (int i = 0; i < placement.getTileCount(); i++) {
+            if (needed(codes, i, codes[i]) > rack.count(codes[i])) {
+                throw new IllegalStateException("The rack no longer holds the tiles for " + placement.getWord());
+            }
+        }
+
+        int[] squares = placement.squares();
+        Tile[] tiles = placement.tiles();
+        for (int i = 0; i < placement.getTileCount(); i++) {
+            tiles[i] = rack.removeLetter(LetterCodes.letter(codes[i]));
+            grid[squares[i] / SIZE][squares[i] % SIZE] = tiles[i];
+        }
+        state().placeTiles(squares, codes, 0, placement.getTileCount());
+        placement.getPlayer().addScore(placement.getScore());
+        placement.committedVersion = ++version;
+    }
+
+    /**
+     * Takes back the last committed placement: its tiles go back to the player's rack
+     * and its score is subtracted.
+     *
+     * @param placement the placement most recently committed on this board
+     * @throws IllegalStateException if it is not on this board, or the board has changed since
+     */
+    public void undo(Placement placement) {
+        if (placement.board != this) throw new IllegalStateException("The placement is not on this board");
+        if (!placement.isCommitted()) throw new IllegalStateException("The placement is not on the board");
+        if (placement.committedVersion != version) {
+            throw new IllegalStateException("Only the last change to the board can be undone");
+        }
+        state().unmakeMove();
+        int[] squares = placement.squares();
+        Tile[] tiles = placement.tiles();
+        Rack rack = placement.getPlayer().getRack();
+        for (int i = 0; i < placement.getTileCount(); i++) {
+            grid[squares[i] / SIZE][squares[i] % SIZE] = null;
+            rack.add(tiles[i]);
+            tiles[i] = null;
+        }
+        placement.getPlayer().addScore(-placement.getScore());
+        placement.committedVersion = -1;
+        version++;
+    }
+
+    /**
+     * Checks many candidate placements against the board and a rack at once, without
+     * changing either. Each candidate is judged as {@link #tryPlaceWord} would judge it
+     * for a player holding the rack, and its word is also looked up in the board's
+     * dictionary (if it has one). Letters marked in a candidate's blank mask must come
+     * from blanks; the others need their own tile.
+     *
+     * The board is scanned once for the whole batch, and the words are encoded into one
+     * buffer and looked up together after the cheaper rules have been checked.
+     *
+     * @param candidates the placements to check; only word, position, direction and blank mask are used
+     * @param rack the tiles available
+     * @param statuses receives {@link PlacementStatus#PLACED} for each legal candidate,
+     *                 or the first rule it breaks; at least as long as {@code candidates}
+     * @param scores receives the points each legal candidate would score, 0 for the others
+     * @return the number of legal candidates
+     */
+    public int checkPlacements(Move[] candidates, Rack rack, PlacementStatus[] statuses, int[] scores) {
+        BoardState board = state();
+        // Occupied squares of every row and column as 15-bit masks, shared by all candidates
+        int[] rows = new int[SIZE];
+        int[] cols = new int[SIZE];
+        for (int sq = 0; sq < BoardState.SQUARES; sq++) {
+            if (board.isEmpty(sq)) continue;
+            rows[sq / SIZE] |= 1 << (sq % SIZE);
+            cols[sq % SIZE] |= 1 << (sq / SIZE);
+        }
+        boolean first = board.getTileCount() == 0;
+
+        int total = 0;
+        for (Move candidate : candidates) {
+            total += candidate.getWord().length();
+        }
+        byte[] codes = new byte[total];
+        int[] rackCounts = rack.copyCounts(new int[LetterCodes.BLANK + 1]);
+
+        int offset = 0;
+        for (int k = 0; k < candidates.length; k++) {
+            Move candidate = candidates[k];
+            String word = candidate.getWord();
+            int length = word.length();
+            scores[k] = 0;
+            statuses[k] = checkPlacement(board, candidate, codes, offset, rows, cols, first, rackCounts);
+            offset += length;
+        }
+
+        if (dictionary != null) {
+            offset = 0;
+            for (int k = 0; k < candidates.length; k++) {
+                int length = candidates[k].getWord().length();
+                if (statuses[k] == null && !dictionary.isValid(codes, offset, length)) {
+                    statuses[k] = PlacementStatus.NOT_A_WORD;
+                }
+                offset += length;
+            }
+        }
+
+        int legal = 0;
+        for (int k = 0; k < candidates.length; k++) {
+            if (statuses[k] != null) continue;
+            Move candidate = candidates[k];
+            statuses[k] = PlacementStatus.PLACED;
+            scores[k] = ScoreCalculator.score(board, candidate.getWord(), candidate.getRow(), candidate.getCol(),
+                    candidate.isHorizontal(), candidate.getBlankMask());
+            legal++;
+        }
+        return legal;
+    }
+
+    /**
+     * Encodes one candidate's word and checks every rule except the dictionary.
+     *
+     * @return the first rule broken, or null if only the dictionary is left to check
+     */
+    private static PlacementStatus checkPlacement(BoardState board, Move candidate, byte[] codes, int offset,
+                                                  int[] rows, int[] cols, boolean first, int[] rackCounts) {
+        String word = candidate.getWord();
+        int length = word.length();
+        // Branch-free, so the loop stays simple for the JIT; any character outside A–Z sets the sign bit
+        int outside = length == 0 ? -1 : 0;
+        for (int i = 0; i < length; i++) {
+            int c = word.charAt(i) & ~0x20; // Folds lower case onto upper case
+            outside |= (c - 'A') | ('Z' - c);
+            codes[offset + i] = (byte) (c - 'A');
+        }
+
+        int row = candidate.getRow();
+        int col = candidate.getCol();
+        boolean horizontal = candidate.isHorizontal();
+        int line = horizontal ? row : col;
+        int start = horizontal ? col : row;
+        if (row < 0 || col < 0 || row >= SIZE || col >= SIZE || start + length > SIZE) {
+            return PlacementStatus.OUT_OF_BOUNDS;
+        }
+        if (outside < 0) return PlacementStatus.NOT_LETTERS;
+
+        int[] lines = horizontal ? rows : cols;
+        int span = ((1 << length) - 1) << start;
+        int occupied = lines[line];
+        int step = horizontal ? 1 : SIZE;
+        int firstSquare = row * SIZE + col;
+        for (int bits = span & occupied; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits) - start;
+            if (board.get(firstSquare + i * step) != codes[offset + i]) return PlacementStatus.CONFLICT;
+        }
+
+        int neighbours = occupied | (occupied << 1) | (occupied >>> 1);
+        if (line > 0) neighbours |= lines[line - 1];
+        if (line < SIZE - 1) neighbours |= lines[line + 1];
+        if ((span & neighbours) == 0 && !first) return PlacementStatus.NOT_CONNECTED;
+
+        // Take the tiles from the counts, then put them back whatever the outcome
+        int blankMask = candidate.getBlankMask();
+        int empty = span & ~occupied;
+        boolean missing = false;
+        for (int bits = empty; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits) - start;
+            int code = (blankMask & (1 << i)) != 0 ? LetterCodes.BLANK : codes[offset + i];
+            if (--rackCounts[code] < 0) missing = true;
+        }
+        for (int bits = empty; bits != 0; bits &= bits - 1) {
+            int i = Integer.numberOfTrailingZeros(bits) - start;
+            rackCounts[(blankMask & (1 << i)) != 0 ? LetterCodes.BLANK : codes[offset + i]]++;
         }
+        return missing ? PlacementStatus.MISSING_TILES : null;
+    }
 
-        // Place tiles and consume from rack
+    /**
+     * Puts a recorded word on the board without dictionary checks or {@link Metrics}, as when
+     * replaying a logged game: the tiles for its empty squares come from the player's rack
+     * and its score is added.
+     *
+     * @param word the full word, letters A–Z
+     * @param row starting row index (0–14)
+     * @param col starting column index (0–14)
+     * @param horizontal true for left to right, false for top to bottom
+     * @param player the player placing the word
+     * @return the points scored
+     * @throws IllegalStateException if the word does not fit the board or the rack; the
+     *         board and rack are then left part-way, as the log they came from is unusable
+     */
+    int putWord(String word, int row, int col, boolean horizontal, Player player) {
+        int[] squares = new int[word.length()];
+        Tile[] tiles = new Tile[word.length()];
+        int count = 0;
         for (int i = 0; i < word.length(); i++) {
             int r = horizontal ? row : row + i;
             int c = horizontal ? col + i : col;
-            if (grid[r][c] == null) {
-                Tile tile = player.findTileInRack(word.charAt(i));
-                if (tile == null) return false; // Player doesn't have required tile
-                grid[r][c] = tile;
-                player.getRack().remove(tile);
+            if (r < 0 || r >= SIZE || c < 0 || c >= SIZE) throw new IllegalStateException(word + " runs off the board");
+            if (grid[r][c] != null) {
+                if (grid[r][c].getLetter() != word.charAt(i)) throw new IllegalStateException(word + " conflicts with the board");
+                continue;
             }
+            Tile tile = player.getRack().removeLetter(word.charAt(i));
+            if (tile == null) throw new IllegalStateException("The rack does not hold the tiles for " + word);
+            squares[count] = r * SIZE + c;
+            tiles[count++] = tile;
         }
-
-        // Update score
-        int score = calculateScore(word);
+        int score = ScoreCalculator.score(state(), word, row, col, horizontal, 0);
+        putTiles(squares, tiles, count);
         player.addScore(score);
-        return true;
+        return score;
+    }
+
+    /**
+     * Puts tiles on empty squares without any checks or scoring, as when restoring a saved game.
+     *
+     * @param squares the squares, {@code row * 15 + col}
+     * @param tiles the tiles, letters A–Z
+     * @param count the number of tiles
+     */
+    void putTiles(int[] squares, Tile[] tiles, int count) {
+        byte[] codes = new byte[count];
+        for (int i = 0; i < count; i++) {
+            grid[squares[i] / SIZE][squares[i] % SIZE] = tiles[i];
+            codes[i] = (byte) LetterCodes.code(tiles[i].getLetter());
+        }
+        state().placeTiles(squares, codes, 0, count);
+        version++;
+    }
+
+    /**
+     * Returns the tile on a square.
+     *
+     * @param row row index (0–14)
+     * @param col column index (0–14)
+     * @return the tile, or null if the square is empty
+     */
+    public Tile getTile(int row, int col) {
+        return grid[row][col];
+    }
+
+    /**
+     * Returns the dictionary used for cross-checks.
+     *
+     * @return the dictionary, or null if cross-checks are not tracked
+     */
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Returns the primitive state kept in step with this board. Callers must not
+     * change it; use {@link BoardState#copy()} to search ahead.
+     *
+     * @return the board state
+     */
+    public BoardState getState() {
+        return state();
+    }
+
+    /**
+     * Returns the {@link Zobrist} hash of the tiles on the board.
+     *
+     * @return the hash, 0 for an empty board
+     * @see BoardState#getHash()
+     */
+    public long getHash() {
+        return state().getHash();
+    }
+
+    /**
+     * Returns the number of tiles on the board.
+     *
+     * @return the tile count
+     */
+    public int getTileCount() {
+        return state().getTileCount();
     }
+
+    /**
+     * Checks if a square is an anchor: an empty square next to a placed tile,
+     * or the center square while the board is empty.
+     *
+     * @param row row index (0–14)
+     * @param col column index (0–14)
+     * @return true if a new word must cover an anchor to connect
+     */
+    public boolean isAnchor(int row, int col) {
+        return state().isAnchor(row * SIZE + col);
+    }
+
+    /**
+     * Returns the letters that may be placed on an empty square as part of a word
+     * played in the given direction, so that the perpendicular word they form is valid.
+     *
+     * @param row row index (0–14)
+     * @param col column index (0–14)
+     * @param horizontal the direction of the word being played
+     * @return a 26-bit mask of letters A–Z; all letters if no perpendicular word is formed
+     * @throws IllegalStateException if the board was built without a dictionary
+     */
+    public int getCrossCheck(int row, int col, boolean horizontal) {
+        if (dictionary == null) {
+            throw new IllegalStateException("Cross-checks need a board built with a dictionary");
+        }
+        return state().getCrossCheck(row * SIZE + col, horizontal);
+    }
+
     /**
      * Prints the current state of the board to the console.
      * Empty tiles are shown as dots (.), placed tiles show their letters.
@@ -105,50 +532,8 @@ public class Board {
      * @return true if no tiles are placed yet; false otherwise
      */
     public boolean isFirstMove() {
-        for (int r = 0; r < 15; r++) {
-            for (int c = 0; c < 15; c++) {
-                if (grid[r][c] != null) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return state().getTileCount() == 0;
     }
-    /**
-     * Calculates the score for a word based on tile points.
-     * Does not yet account for premium squares.
-     *
-     * @param word the word to score
-     * @return the total score
-     */
-    private int calculateScore(String word) {
-        int score = 0;
-        for (char c : word.toCharArray()) {
-            score += getTilePoints(c);
-        }
-        return score;
-    }
-
-    /**
-     * Returns the point value for a given letter.
-     * Uses standard Scrabble scoring.
-     *
-     * @param letter the letter to score
-     * @return the point value
-     */
-    private int getTilePoints(char letter) {
-        switch (letter) {
-            case 'A': case 'E': case 'I': case 'O': case 'U': case 'L': case 'N': case 'S': case 'T': case 'R': return 1;
-            case 'D': case 'G': return 2;
-            case 'B': case 'C': case 'M': case 'P': return 3;
-            case 'F': case 'H': case 'V': case 'W': case 'Y': return 4;
-            case 'K': return 5;
-            case 'J': case 'X': return 8;
-            case 'Q': case 'Z': return 10;
-            default: return 0;
-        }
-    }
-
     /**
      * Finds and removes a tile with the specified letter from the player's rack.
      *
@@ -166,4 +551,9 @@ public class Board {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private BoardState state() {
+        if (state == null) state = new BoardState(dictionary == null ? null : dictionary.getLexicon());
+        return state;
+    }
+}
@@ -0,0 +1,434 @@
+import java.util.Arrays;
+
+/**
+ * Primitive 15x15 board position for search: letter codes in a {@code byte[225]},
+ * a blank bitmask, the anchor bitset, cross-check masks, cross-sums and a tile count.
+ *
+ * Moves are applied with {@link #makeMove} and reverted with {@link #unmakeMove}.
+ * Each move pushes an undo frame onto preallocated stacks, so applying and reverting
+ * allocates nothing; {@link #mark()} / {@link #undoTo(int)} snapshot and restore a
+ * position in constant time. Cross-checks are kept only when a lexicon is given. A move
+ * only marks the cross-checks and cross-sums it invalidates, and they are recomputed
+ * when next read.
+ */
+public final class BoardState {
+    public static final int SIZE = 15;
+    public static final int SQUARES = SIZE * SIZE;
+    public static final int CENTER = 7 * SIZE + 7;
+    public static final int ALL_LETTERS = (1 << LetterCodes.LETTERS) - 1;
+    static final byte EMPTY = -1;
+    private static final int STALE = -1;
+
+    private static final int WORDS = (SQUARES + 63) / 64;
+    private static final int MAX_TILES = 7 + 1;
+    private static final int MAX_CHECKS_PER_MOVE = MAX_TILES * 5;
+    private static final int SAVED = 5;
+    // A game keeps one frame per placement and a search one per ply; the stacks grow past these
+    private static final int INITIAL_FRAMES = 4;
+
+    private final Lexicon lexicon;
+    private final byte[] cells = new byte[SQUARES];
+    private final long[] blanks = new long[WORDS];
+    private final long[] anchors = new long[WORDS];
+    private final int[] acrossChecks = new int[SQUARES];
+    private final int[] downChecks = new int[SQUARES];
+    private final int[] acrossSums = new int[SQUARES];
+    private final int[] downSums = new int[SQUARES];
+    private int tileCount;
+    private long hash; // Zobrist hash of the tiles, updated as they are placed and removed
+
+    // Undo stacks, grown on demand
+    private int depth;
+    private int[] frameTiles = new int[INITIAL_FRAMES];
+    private int[] frameChecks = new int[INITIAL_FRAMES];
+    private long[] savedAnchors = new long[INITIAL_FRAMES * WORDS];
+    private int tileTop;
+    private int[] placedSquares = new int[INITIAL_FRAMES * MAX_TILES];
+    private int checkTop;
+    private int[] savedChecks = new int[MAX_CHECKS_PER_MOVE * SAVED];
+
+    private final int[] scratchSquares = new int[SIZE];
+    private final StringBuilder before = new StringBuilder();
+    private final StringBuilder after = new StringBuilder();
+
+    /**
+     * Constructs an empty board state.
+     *
+     * @param lexicon the words used for cross-checks, or null to skip them
+     */
+    public BoardState(Lexicon lexicon) {
+        this.lexicon = lexicon;
+        Arrays.fill(cells, EMPTY);
+        Arrays.fill(acrossChecks, ALL_LETTERS);
+        Arrays.fill(downChecks, ALL_LETTERS);
+        Arrays.fill(acrossSums, -1);
+        Arrays.fill(downSums, -1);
+        setBit(anchors, CENTER, true);
+    }
+
+    /**
+     * Returns an independent copy of this position. The undo history is not copied.
+     *
+     * @return the copy
+     */
+    public BoardState copy() {
+        BoardState copy = new BoardState(lexicon);
+        System.arraycopy(cells, 0, copy.cells, 0, SQUARES);
+        System.arraycopy(blanks, 0, copy.blanks, 0, WORDS);
+        System.arraycopy(anchors, 0, copy.anchors, 0, WORDS);
+        System.arraycopy(acrossChecks, 0, copy.acrossChecks, 0, SQUARES);
+        System.arraycopy(downChecks, 0, copy.downChecks, 0, SQUARES);
+        System.arraycopy(acrossSums, 0, copy.acrossSums, 0, SQUARES);
+        System.arraycopy(downSums, 0, copy.downSums, 0, SQUARES);
+        copy.tileCount = tileCount;
+        copy.hash = hash;
+        return copy;
+    }
+
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
+    /**
+     * Returns the letter code on a square.
+     *
+     * @param sq the square index, {@code row * SIZE + col}
+     * @return the letter code, or -1 if empty
+     */
+    public int get(int sq) {
+        return cells[sq];
+    }
+
+    public int get(int row, int col) {
+        return cells[row * SIZE + col];
+    }
+
+    public boolean isEmpty(int sq) {
+        return cells[sq] < 0;
+    }
+
+    /**
+     * Checks if the tile on a square is a blank.
+     */
+    public boolean isBlank(int sq) {
+        return (blanks[sq >>> 6] & (1L << sq)) != 0;
+    }
+
+    public boolean isAnchor(int sq) {
+        return (anchors[sq >>> 6] & (1L << sq)) != 0;
+    }
+
+    /**
+     * Returns the letters allowed on an empty square for a word played in the given direction.
+     *
+     * @throws IllegalStateException if the state has no lexicon
+     */
+    public int getCrossCheck(int sq, boolean horizontal) {
+        if (lexicon == null) throw new IllegalStateException("Cross-checks need a lexicon");
+        int[] checks = horizontal ? acrossChecks : downChecks;
+        if (checks[sq] == STALE) refresh(sq, horizontal);
+        return checks[sq];
+    }
+
+    /**
+     * Returns the face value of the tiles that a letter on an empty square would join
+     * in the perpendicular direction, for scoring the cross-word.
+     *
+     * @param sq the square index
+     * @param horizontal the direction of the word being played
+     * @return the sum of the letter values, blanks counting 0, or -1 if no cross-word is formed
+     */
+    public int getCrossSum(int sq, boolean horizontal) {
+        if ((horizontal ? acrossChecks : downChecks)[sq] == STALE) refresh(sq, horizontal);
+        return horizontal ? acrossSums[sq] : downSums[sq];
+    }
+
+    /**
+     * Returns the value a tile on a square scores: its letter value, or 0 for a blank.
+     *
+     * @param sq the square index of an occupied square
+     */
+    public int points(int sq) {
+        return isBlank(sq) ? 0 : LetterCodes.points(cells[sq]);
+    }
+
+    /**
+     * Recomputes a stale cross-check and cross-sum. Caching them needs no undo entry:
+     * every move that marks a square stale saves what it held, the stale marker included,
+     * so undoing the move throws the cached values away again.
+     */
+    private void refresh(int sq, boolean horizontal) {
+        int step = horizontal ? SIZE : 1;
+        int sum = crossWord(sq, step);
+        if (horizontal) {
+            acrossSums[sq] = sum;
+            acrossChecks[sq] = sum < 0 || lexicon == null ? ALL_LETTERS : lexicon.crossCheck(before, after);
+        } else {
+            downSums[sq] = sum;
+            downChecks[sq] = sum < 0 || lexicon == null ? ALL_LETTERS : lexicon.crossCheck(before, after);
+        }
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Returns the {@link Zobrist} hash of the tiles on the board, kept up to date as
+     * moves are made and undone. Equal positions have equal hashes, so it can key a
+     * {@link PositionCache}.
+     *
+     * @return the hash, 0 for an empty board
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the number of moves that can currently be undone.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Records the current position; pass the result to {@link #undoTo(int)} to return to it.
+     *
+     * @return a constant-time snapshot handle
+     */
+    public int mark() {
+        return depth;
+    }
+
+    /**
+     * Reverts moves until the position recorded by {@link #mark()} is restored.
+     *
+     * @param mark a handle from {@link #mark()} taken on this state
+     */
+    public void undoTo(int mark) {
+        while (depth > mark) {
+            unmakeMove();
+        }
+    }
+
+    /**
+     * Applies a move: every empty square the word covers receives its letter.
+     * The move is assumed legal; only the board is changed.
+     *
+     * @param move the move to apply
+     */
+    public void makeMove(Move move) {
+        String word = move.getWord();
+        int step = move.isHorizontal() ? 1 : SIZE;
+        int sq = move.getRow() * SIZE + move.getCol();
+        int count = 0;
+        int blankMask = 0;
+        for (int i = 0; i < word.length(); i++, sq += step) {
+            if (cells[sq] < 0) {
+                if ((move.getBlankMask() & (1 << i)) != 0) blankMask |= 1 << count;
+                scratchSquares[count] = sq;
+                count++;
+            }
+        }
+        // Letters are read back from the word so no code array is needed
+        sq = move.getRow() * SIZE + move.getCol();
+        pushFrame(count);
+        int placed = 0;
+        for (int i = 0; i < word.length(); i++, sq += step) {
+            if (cells[sq] < 0) {
+                putTile(sq, LetterCodes.code(word.charAt(i)), (blankMask & (1 << placed)) != 0);
+                placed++;
+            }
+        }
+        finishFrame(scratchSquares, count);
+    }
+
+    /**
+     * Removes from a rack the tiles a move would place: one per empty square the word
+     * covers, a blank where the move's blank mask is set. Call before {@link #makeMove(Move)}.
+     *
+     * @param move the placement
+     * @param rackCounts tiles per letter code, blanks at {@link LetterCodes#BLANK}; updated in place
+     */
+    public void removeTiles(Move move, int[] rackCounts) {
+        String word = move.getWord();
+        int step = move.isHorizontal() ? 1 : SIZE;
+        int sq = move.getRow() * SIZE + move.getCol();
+        for (int i = 0; i < word.length(); i++, sq += step) {
+            if (cells[sq] >= 0) continue;
+            if ((move.getBlankMask() & (1 << i)) != 0) rackCounts[LetterCodes.BLANK]--;
+            else rackCounts[LetterCodes.code(word.charAt(i))]--;
+        }
+    }
+
+    /**
+     * Applies a placement given as parallel arrays of squares and letter codes.
+     *
+     * @param squares the empty squares to fill
+     * @param codes the letter code for each square
+     * @param blankMask bit {@code i} set if tile {@code i} is a blank
+     * @param count the number of tiles
+     */
+    public void placeTiles(int[] squares, byte[] codes, int blankMask, int count) {
+        pushFrame(count);
+        for (int i = 0; i < count; i++) {
+            putTile(squares[i], codes[i], (blankMask & (1 << i)) != 0);
+        }
+        finishFrame(squares, count);
+    }
+
+    /**
+     * Reverts the most recent move.
+     *
+     * @throws IllegalStateException if there is nothing to undo
+     */
+    public void unmakeMove() {
+        if (depth == 0) throw new IllegalStateException("No move to undo");
+        depth--;
+        int checks = frameChecks[depth];
+        while (checkTop > checks) {
+            checkTop -= SAVED;
+            int sq = savedChecks[checkTop];
+            acrossChecks[sq] = savedChecks[checkTop + 1];
+            downChecks[sq] = savedChecks[checkTop + 2];
+            acrossSums[sq] = savedChecks[checkTop + 3];
+            downSums[sq] = savedChecks[checkTop + 4];
+        }
+        int tiles = frameTiles[depth];
+        while (tileTop > tiles) {
+            int sq = placedSquares[--tileTop];
+            hash ^= Zobrist.square(sq, cells[sq], isBlank(sq));
+            cells[sq] = EMPTY;
+            setBit(blanks, sq, false);
+            tileCount--;
+        }
+        System.arraycopy(savedAnchors, depth * WORDS, anchors, 0, WORDS);
+    }
+
+    private void pushFrame(int count) {
+        if (depth == frameTiles.length) {
+            frameTiles = Arrays.copyOf(frameTiles, depth * 2);
+            frameChecks = Arrays.copyOf(frameChecks, depth * 2);
+            savedAnchors = Arrays.copyOf(savedAnchors, depth * 2 * WORDS);
+        }
+        if (tileTop + count > placedSquares.length) {
+            placedSquares = Arrays.copyOf(placedSquares, Math.max(placedSquares.length * 2, tileTop + count));
+        }
+        int checksNeeded = count * 5 * SAVED;
+        if (checkTop + checksNeeded > savedChecks.length) {
+            savedChecks = Arrays.copyOf(savedChecks, Math.max(savedChecks.length * 2, checkTop + checksNeeded));
+        }
+        frameTiles[depth] = tileTop;
+        frameChecks[depth] = checkTop;
+        System.arraycopy(anchors, 0, savedAnchors, depth * WORDS, WORDS);
+        depth++;
+    }
+
+    private void putTile(int sq, int code, boolean blank) {
+        cells[sq] = (byte) code;
+        if (blank) setBit(blanks, sq, true);
+        hash ^= Zobrist.square(sq, code, blank);
+        placedSquares[tileTop++] = sq;
+    }
+
+    /**
+     * Updates the tile count, anchors, cross-checks and cross-sums for the tiles just put down.
+     * Only the new squares, their neighbours and the empty squares at either end of the
+     * runs through each new tile can change.
+     */
+    private void finishFrame(int[] squares, int count) {
+        if (count == 0) return;
+        if (tileCount == 0) setBit(anchors, CENTER, false);
+        tileCount += count;
+        for (int i = 0; i < count; i++) {
+            int sq = squares[i];
+            int r = sq / SIZE;
+            int c = sq % SIZE;
+            setBit(anchors, sq, false);
+            saveChecks(sq);
+            acrossChecks[sq] = 0;
+            downChecks[sq] = 0;
+            acrossSums[sq] = -1;
+            downSums[sq] = -1;
+            if (r > 0 && cells[sq - SIZE] < 0) setBit(anchors, sq - SIZE, true);
+            if (r < SIZE - 1 && cells[sq + SIZE] < 0) setBit(anchors, sq + SIZE, true);
+            if (c > 0 && cells[sq - 1] < 0) setBit(anchors, sq - 1, true);
+            if (c < SIZE - 1 && cells[sq + 1] < 0) setBit(anchors, sq + 1, true);
+        }
+        for (int i = 0; i < count; i++) {
+            int sq = squares[i];
+            int r = sq / SIZE;
+            int c = sq % SIZE;
+            int top = r;
+            while (top > 0 && cells[sq - (r - top + 1) * SIZE] >= 0) top--;
+            int bottom = r;
+            while (bottom < SIZE - 1 && cells[sq + (bottom - r + 1) * SIZE] >= 0) bottom++;
+            if (top > 0) updateCheck((top - 1) * SIZE + c, true);
+            if (bottom < SIZE - 1) updateCheck((bottom + 1) * SIZE + c, true);
+            int left = c;
+            while (left > 0 && cells[sq - (c - left + 1)] >= 0) left--;
+            int right = c;
+            while (right < SIZE - 1 && cells[sq + (right - c + 1)] >= 0) right++;
+            if (left > 0) updateCheck(r * SIZE + left - 1, false);
+            if (right < SIZE - 1) updateCheck(r * SIZE + right + 1, false);
+        }
+    }
+
+    /**
+     * Marks one cross-check and cross-sum of an empty square for recomputation.
+     *
+     * @param across true for the values used by horizontal plays (from the tiles above and below)
+     */
+    private void updateCheck(int sq, boolean across) {
+        // Saved even when already stale: a value cached by a read before the undo must not survive it
+        saveChecks(sq);
+        if (across) acrossChecks[sq] = STALE;
+        else downChecks[sq] = STALE;
+    }
+
+    private void saveChecks(int sq) {
+        if (checkTop + SAVED > savedChecks.length) {
+            savedChecks = Arrays.copyOf(savedChecks, savedChecks.length * 2);
+        }
+        savedChecks[checkTop] = sq;
+        savedChecks[checkTop + 1] = acrossChecks[sq];
+        savedChecks[checkTop + 2] = downChecks[sq];
+        savedChecks[checkTop + 3] = acrossSums[sq];
+        savedChecks[checkTop + 4] = downSums[sq];
+        checkTop += SAVED;
+    }
+
+    /**
+     * Reads the tiles on both sides of an empty square along one axis into
+     * {@code before} and {@code after}.
+     *
+     * @param step 1 to read along the row, SIZE to read along the column
+     * @return the sum of their values, or -1 if there are none
+     */
+    private int crossWord(int sq, int step) {
+        int line = step == 1 ? sq / SIZE : sq % SIZE;
+        before.setLength(0);
+        after.setLength(0);
+        int sum = 0;
+        int start = sq;
+        while (start - step >= 0 && sameLine(start - step, line, step) && cells[start - step] >= 0) start -= step;
+        for (int k = start; k != sq; k += step) {
+            before.append(LetterCodes.letter(cells[k]));
+            sum += points(k);
+        }
+        for (int k = sq + step; k < SQUARES && sameLine(k, line, step) && cells[k] >= 0; k += step) {
+            after.append(LetterCodes.letter(cells[k]));
+            sum += points(k);
+        }
+        return before.length() == 0 && after.length() == 0 ? -1 : sum;
+    }
+
+    private static boolean sameLine(int sq, int line, int step) {
+        return step == 1 ? sq / SIZE == line : sq % SIZE == line;
+    }
+
+    private static void setBit(long[] bits, int sq, boolean value) {
+        if (value) bits[sq >>> 6] |= 1L << sq;
+        else bits[sq >>> 6] &= ~(1L << sq);
+    }
+}
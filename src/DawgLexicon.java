@@ -0,0 +1,193 @@
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Lexicon stored as a minimized DAWG (directed acyclic word graph) in flat int arrays.
+ * Words are walked left to right from {@link #root()}, so prefix checks, hooks and
+ * full-word checks follow edges without allocating. Only words made of the letters
+ * A–Z are stored; other words are skipped when building.
+ */
+public class DawgLexicon implements Lexicon {
+    private final LetterGraph graph;
+    private final int wordCount;
+
+    private DawgLexicon(LetterGraph graph, int wordCount) {
+        this.graph = graph;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * Builds a DAWG from raw word list lines. Each line is trimmed and upper-cased.
+     *
+     * @param words the words to include
+     * @return the lexicon
+     */
+    public static DawgLexicon build(Iterable<String> words) {
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String word : words) {
+            String upper = word.trim().toUpperCase();
+            if (LetterCodes.isLetters(upper)) sorted.add(upper);
+        }
+        return buildSorted(sorted);
+    }
+
+    /**
+     * Builds a DAWG from words that are already upper-cased and in ascending order.
+     * Repeated words and words with characters outside A–Z are skipped.
+     *
+     * @param sorted the words in {@link String#compareTo} order
+     * @return the lexicon
+     */
+    static DawgLexicon buildSorted(Iterable<String> sorted) {
+        LetterGraph.Builder builder = new LetterGraph.Builder();
+        byte[] codes = new byte[32];
+        String previous = null;
+        int count = 0;
+        for (String word : sorted) {
+            if (word.equals(previous) || !LetterCodes.isLetters(word)) continue;
+            previous = word;
+            if (codes.length < word.length()) codes = new byte[word.length()];
+            for (int i = 0; i < word.length(); i++) {
+                codes[i] = (byte) (word.charAt(i) - 'A');
+            }
+            builder.add(codes, word.length());
+            count++;
+        }
+        return new DawgLexicon(builder.build(), count);
+    }
+
+    @Override
+    public boolean contains(CharSequence word) {
+        int node = walk(LetterGraph.ROOT, word);
+        return node >= 0 && word.length() > 0 && graph.isTerminal(node);
+    }
+
+    @Override
+    public boolean contains(char[] chars, int offset, int length) {
+        int node = LetterGraph.ROOT;
+        for (int i = offset; i < offset + length && node >= 0; i++) {
+            int code = LetterCodes.code(chars[i]);
+            if (code < 0) return false;
+            node = graph.child(node, code);
+        }
+        return node >= 0 && length > 0 && graph.isTerminal(node);
+    }
+
+    @Override
+    public boolean containsCodes(byte[] codes, int offset, int length) {
+        int node = LetterGraph.ROOT;
+        for (int i = offset; i < offset + length && node >= 0; i++) {
+            int code = codes[i];
+            if (code < 0 || code >= LetterCodes.LETTERS) return false;
+            node = graph.child(node, code);
+        }
+        return node >= 0 && length > 0 && graph.isTerminal(node);
+    }
+
+    @Override
+    public boolean containsPrefix(CharSequence prefix) {
+        if (prefix.length() == 0) return wordCount > 0;
+        return walk(LetterGraph.ROOT, prefix) >= 0;
+    }
+
+    @Override
+    public int crossCheck(CharSequence before, CharSequence after) {
+        int node = walk(LetterGraph.ROOT, before);
+        if (node < 0) return 0;
+        int mask = 0;
+        int letters = graph.edgeMask(node);
+        while (letters != 0) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            int end = walk(graph.child(node, letter), after);
+            if (end >= 0 && graph.isTerminal(end)) mask |= 1 << letter;
+        }
+        return mask;
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    @Override
+    public void forEachWord(Consumer<? super String> action) {
+        collect(LetterGraph.ROOT, new char[64], 0, action);
+    }
+
+    private void collect(int node, char[] prefix, int length, Consumer<? super String> action) {
+        if (graph.isTerminal(node)) action.accept(new String(prefix, 0, length));
+        if (length == prefix.length) prefix = Arrays.copyOf(prefix, length * 2);
+        int letters = graph.edgeMask(node);
+        while (letters != 0) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            prefix[length] = LetterCodes.letter(letter);
+            collect(graph.child(node, letter), prefix, length + 1, action);
+        }
+    }
+
+    /**
+     * Returns the root node, from which every word is spelled left to right.
+     *
+     * @return the root node
+     */
+    public int root() {
+        return LetterGraph.ROOT;
+    }
+
+    /**
+     * Follows the edge for a letter code (A=0 .. Z=25).
+     *
+     * @param node the current node, or -1
+     * @param letter the letter code
+     * @return the next node, or -1 if no word continues with that letter
+     */
+    public int child(int node, int letter) {
+        return graph.child(node, letter);
+    }
+
+    /**
+     * Checks if the letters spelled so far form a complete word.
+     *
+     * @param node the current node
+     * @return true if the path to this node is a word
+     */
+    public boolean isTerminal(int node) {
+        return graph.isTerminal(node);
+    }
+
+    /**
+     * Returns the letter codes that can follow the current node.
+     *
+     * @param node the current node
+     * @return a 26-bit mask of letter codes
+     */
+    public int edgeMask(int node) {
+        return graph.edgeMask(node);
+    }
+
+    /**
+     * Returns the heap used by the node and edge arrays.
+     *
+     * @return the size in bytes
+     */
+    public long memoryBytes() {
+        return graph.memoryBytes();
+    }
+
+    /**
+     * Walks a sequence of letters from the given node.
+     *
+     * @return the node reached, or -1 if the path leaves the graph
+     */
+    private int walk(int node, CharSequence letters) {
+        for (int i = 0; i < letters.length() && node >= 0; i++) {
+            int code = LetterCodes.code(letters.charAt(i));
+            if (code < 0) return -1;
+            node = graph.child(node, code);
+        }
+        return node;
+    }
+}
@@ -1,50 +1,297 @@
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.util.HashSet;
-import java.util.Set;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Represents a dictionary of valid Scrabble words.
- * Loads words from a web-hosted text file and checks word validity.
+ * Loads words from a web-hosted text file, or maps a precompiled word list
+ * (see {@link WordListCompiler}), and checks word validity against a {@link Lexicon}.
+ * Dictionaries are immutable and safe to share between games and threads;
+ * {@link DictionaryRegistry} shares one instance per word list.
+ *
+ * A dictionary from {@link #loadAsync(String)} is returned at once while its words
+ * load in the background; the first query waits for them. Dictionaries taken from
+ * the registry this way, or by {@link #Dictionary()}, share the registry instance's
+ * GADDAG and word index instead of building their own.
  */
 public class Dictionary {
-    private Set<String> validWords;
+    /** The word list used by {@link #Dictionary()}. */
+    public static final String DEFAULT_SOURCE = "https://www.mit.edu/~ecprice/wordlist.10000";
+
+    private volatile Lexicon lexicon;
+    private final String source;
+    // Set only while the words are loading; guarded by this
+    private CompletableFuture<Dictionary> loading;
+    // The registry's dictionary for the same words, if this one wraps it; set before lexicon
+    private volatile Dictionary shared;
+    private volatile GaddagLexicon gaddag;
+    private volatile WordIndex wordIndex;
 
     /**
-     * Constructs a Dictionary by loading words from the MIT word list.
+     * Constructs a Dictionary with the words of the MIT word list. The list is
+     * downloaded once per process and its lexicon shared through
+     * {@link DictionaryRegistry#shared()}.
      *
      * @throws Exception if the word list cannot be loaded
      */
     public Dictionary() throws Exception {
-        validWords = new HashSet<>();
-        loadWordsFromURL("https://www.mit.edu/~ecprice/wordlist.10000");
+        shared = DictionaryRegistry.shared().get(DEFAULT_SOURCE);
+        lexicon = shared.getLexicon();
+        source = DEFAULT_SOURCE;
+    }
+
+    /**
+     * Constructs a Dictionary backed by a compiled word list file.
+     * The file is memory-mapped instead of being loaded into a set, so no network
+     * access or text parsing happens at startup.
+     *
+     * @param wordListFile a file written by {@link WordListCompiler}
+     * @throws IOException if the file cannot be mapped
+     */
+    public Dictionary(Path wordListFile) throws IOException {
+        lexicon = new MappedWordList(wordListFile);
+        source = wordListFile.toString();
+    }
+
+    /**
+     * Constructs a Dictionary backed by an already built lexicon,
+     * such as a {@link DawgLexicon} or {@link GaddagLexicon}.
+     *
+     * @param lexicon the lexicon used to validate words
+     */
+    public Dictionary(Lexicon lexicon) {
+        this.lexicon = lexicon;
+        this.source = null;
+    }
+
+    private Dictionary(String source) {
+        this.source = source;
+        this.loading = startLoad(source);
+    }
+
+    /**
+     * Starts loading a word list in the background and returns its dictionary at once.
+     * Queries block until the words are loaded. If the load fails, the query that sees
+     * the failure throws {@link UncheckedIOException} and the load starts again, so a
+     * later query can succeed.
+     *
+     * @param source a URL or the path of a word list file, as for {@link DictionaryRegistry}
+     * @return the dictionary
+     */
+    public static Dictionary loadAsync(String source) {
+        return new Dictionary(source);
+    }
+
+    private static CompletableFuture<Dictionary> startLoad(String source) {
+        return DictionaryRegistry.shared().acquireAsync(source).thenApply(lease -> {
+            try (DictionaryRegistry.Lease held = lease) {
+                return held.getDictionary();
+            }
+        });
+    }
+
+    /**
+     * Checks if the words are loaded, so queries will not block.
+     *
+     * @return true once the lexicon is available
+     */
+    public boolean isReady() {
+        if (lexicon != null) return true;
+        synchronized (this) {
+            return loading.isDone() && !loading.isCompletedExceptionally();
+        }
+    }
+
+    /**
+     * Returns a handle that completes with this dictionary once its words are loaded,
+     * or exceptionally if the current load fails.
+     *
+     * @return the ready handle
+     */
+    public CompletableFuture<Dictionary> whenReady() {
+        if (lexicon != null) return CompletableFuture.completedFuture(this);
+        synchronized (this) {
+            return loading.thenApply(loaded -> this);
+        }
+    }
+
+    /**
+     * Returns the lexicon, waiting for a background load to finish.
+     */
+    private Lexicon lexicon() {
+        Lexicon result = lexicon;
+        if (result != null) return result;
+        CompletableFuture<Dictionary> pending;
+        synchronized (this) {
+            pending = loading;
+        }
+        Dictionary loaded;
+        try {
+            loaded = pending.join();
+        } catch (CompletionException e) {
+            synchronized (this) {
+                if (loading == pending) loading = startLoad(source);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) throw (UncheckedIOException) cause;
+            throw new UncheckedIOException(new IOException("Could not load " + source, cause));
+        }
+        shared = loaded;
+        result = loaded.getLexicon();
+        lexicon = result;
+        return result;
     }
 
     /**
      * Checks if a given word is valid according to the dictionary.
+     * Accepts any CharSequence (e.g. a reused StringBuilder), so callers need not build a String.
      *
      * @param word the word to check
      * @return true if the word is valid, false otherwise
      */
-    public boolean isValid(String word) {
-        return validWords.contains(word.toUpperCase());
+    public boolean isValid(CharSequence word) {
+        long start = Metrics.start();
+        boolean valid = lexicon().contains(word);
+        Metrics.validation(valid, start);
+        return valid;
     }
 
     /**
-     * Loads words from the specified URL into the dictionary.
-     * Assumes one word per line.
+     * Checks if the word in a slice of a char array is valid, ignoring case.
      *
-     * @param urlString the URL of the word list
-     * @throws Exception if the URL cannot be read
+     * @param chars the characters
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return true if the word is valid, false otherwise
+     */
+    public boolean isValid(char[] chars, int offset, int length) {
+        long start = Metrics.start();
+        boolean valid = lexicon().contains(chars, offset, length);
+        Metrics.validation(valid, start);
+        return valid;
+    }
+
+    /**
+     * Checks if the word in a slice of letter codes (A=0 .. Z=25, see {@link LetterCodes}) is valid.
+     *
+     * @param codes the letter codes
+     * @param offset the index of the first code
+     * @param length the number of codes
+     * @return true if the word is valid, false otherwise
+     */
+    public boolean isValid(byte[] codes, int offset, int length) {
+        long start = Metrics.start();
+        boolean valid = lexicon().containsCodes(codes, offset, length);
+        Metrics.validation(valid, start);
+        return valid;
+    }
+
+    /**
+     * Returns the lexicon behind this dictionary, for prefix and hook queries,
+     * waiting for a background load to finish.
+     *
+     * @return the lexicon
+     */
+    public Lexicon getLexicon() {
+        return lexicon();
+    }
+
+    /**
+     * Returns a GADDAG holding the same words, for move generation.
+     * It is built from the lexicon on first use and then reused.
+     *
+     * @return the GADDAG for this dictionary
+     */
+    public GaddagLexicon getGaddag() {
+        Dictionary owner = owner();
+        if (owner != this) return owner.getGaddag();
+        GaddagLexicon result = gaddag;
+        if (result == null) {
+            synchronized (this) {
+                result = gaddag;
+                if (result == null) {
+                    Lexicon loaded = lexicon();
+                    if (loaded instanceof GaddagLexicon) {
+                        result = (GaddagLexicon) loaded;
+                    } else {
+                        List<String> words = new ArrayList<>(loaded.size());
+                        loaded.forEachWord(words::add);
+                        result = GaddagLexicon.build(words);
+                    }
+                    gaddag = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the dictionary that builds and keeps the derived indexes for these words:
+     * the registry's instance if this one wraps it, otherwise this one.
+     */
+    private Dictionary owner() {
+        lexicon();
+        Dictionary result = shared;
+        return result != null ? result : this;
+    }
+
+    /**
+     * Returns an index of the same words for anagram, subanagram and pattern queries.
+     * It is built from the lexicon on first use and then reused.
+     *
+     * @return the word index for this dictionary
+     */
+    public WordIndex getWordIndex() {
+        Dictionary owner = owner();
+        if (owner != this) return owner.getWordIndex();
+        WordIndex result = wordIndex;
+        if (result == null) {
+            synchronized (this) {
+                result = wordIndex;
+                if (result == null) {
+                    result = WordIndex.build(lexicon());
+                    wordIndex = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Picks the lexicon for a loaded word list. Lists made only of letters go into a
+     * DawgLexicon, which answers every isValid overload without allocating; anything
+     * else stays in a HashSetLexicon so no word is lost.
+     *
+     * @param words the lines of the word list
+     * @return the lexicon holding the words
      */
-    private void loadWordsFromURL(String urlString) throws Exception {
-        URL url = new URL(urlString);
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                validWords.add(line.trim().toUpperCase());
+    static Lexicon buildLexicon(List<String> words) {
+        for (String word : words) {
+            String upper = word.trim().toUpperCase();
+            if (!upper.isEmpty() && !LetterCodes.isLetters(upper)) {
+                return new HashSetLexicon(words);
             }
         }
+        return DawgLexicon.build(words);
+    }
+
+    /**
+     * Like {@link #buildLexicon(List)}, but trims, upper-cases and sorts the words on
+     * the common fork-join pool before the DAWG is built from the sorted list.
+     *
+     * @param words the lines of the word list
+     * @return the lexicon holding the words
+     */
+    static Lexicon buildLexiconParallel(List<String> words) {
+        String[] upper = words.parallelStream().map(word -> word.trim().toUpperCase()).toArray(String[]::new);
+        boolean letters = Arrays.stream(upper).parallel().allMatch(word -> word.isEmpty() || LetterCodes.isLetters(word));
+        if (!letters) return new HashSetLexicon(words);
+        Arrays.parallelSort(upper);
+        return DawgLexicon.buildSorted(Arrays.asList(upper));
     }
-}
\ No newline at end of file
+}
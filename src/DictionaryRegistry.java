@@ -0,0 +1,384 @@
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Process-wide cache of loaded dictionaries, so games that use the same word list
+ * share one immutable, thread-safe {@link Dictionary} instead of each downloading
+ * and parsing it.
+ *
+ * A word list is identified by its source (a URL or file path) and the SHA-256
+ * checksum of its contents; sources with identical contents share one instance.
+ * A cached file is loaded again once its size or modification time changes.
+ * Each source is loaded once: concurrent requests wait on the same in-flight load,
+ * and a failed load is forgotten so the next request tries again. Callers hold a
+ * {@link Lease} while they use a dictionary. Once the last lease on a source is
+ * closed the dictionary stays cached as idle, and the least recently released idle
+ * dictionaries are evicted beyond the idle limit. Dictionaries stay usable after
+ * eviction; only the next request loads the source again.
+ *
+ * Loads stream the word list, hashing and splitting it into lines as it arrives,
+ * and can optionally sort the words on the fork-join pool before building the lexicon.
+ */
+public class DictionaryRegistry {
+    /** The number of unused dictionaries the shared registry keeps. */
+    public static final int DEFAULT_IDLE_LIMIT = 2;
+
+    private static final DictionaryRegistry SHARED =
+            new DictionaryRegistry(DEFAULT_IDLE_LIMIT, Runtime.getRuntime().availableProcessors() > 1);
+    private static final int CHUNK_CHARS = 1 << 16;
+
+    private final int idleLimit;
+    private final boolean parallelBuild;
+    private final Executor loader = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "dictionary-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final LinkedHashMap<String, Entry> idle = new LinkedHashMap<>();
+    private final Map<String, Dictionary> byChecksum = new HashMap<>();
+
+    /**
+     * Returns the registry shared by the whole process.
+     *
+     * @return the shared registry
+     */
+    public static DictionaryRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Constructs an empty registry that builds each lexicon on its loading thread.
+     *
+     * @param idleLimit the number of dictionaries without leases to keep cached
+     */
+    public DictionaryRegistry(int idleLimit) {
+        this(idleLimit, false);
+    }
+
+    /**
+     * Constructs an empty registry.
+     *
+     * @param idleLimit the number of dictionaries without leases to keep cached
+     * @param parallelBuild true to prepare the words for the lexicon in parallel
+     */
+    public DictionaryRegistry(int idleLimit, boolean parallelBuild) {
+        this.idleLimit = idleLimit;
+        this.parallelBuild = parallelBuild;
+    }
+
+    /**
+     * Leases the dictionary for a source, starting a background load if it is not
+     * cached or already loading. The lease must be closed when the caller is done.
+     *
+     * @param source a URL (anything with a scheme) or the path of a word list file,
+     *        plain text or compiled by {@link WordListCompiler}
+     * @return a future that completes with the lease, or exceptionally if the load fails
+     */
+    public CompletableFuture<Lease> acquireAsync(String source) {
+        long[] stamp = stamp(source);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(source);
+            Loaded cached = entry == null ? null : entry.future.getNow(null);
+            if (cached != null && !Arrays.equals(cached.stamp, stamp)) {
+                // The file changed; leases already taken keep the old dictionary
+                entries.remove(source);
+                idle.remove(source);
+                forgetChecksum(entry);
+                entry = null;
+            }
+            if (entry == null) {
+                Entry created = new Entry(source);
+                created.future = CompletableFuture.supplyAsync(() -> load(source), loader);
+                created.future.whenComplete((loaded, failure) -> {
+                    if (failure != null) forget(created);
+                });
+                entry = created;
+                entries.put(source, entry);
+            }
+            entry.leases++;
+            idle.remove(source);
+        }
+        Entry leased = entry;
+        return entry.future.handle((loaded, failure) -> {
+            if (failure != null) {
+                forget(leased);
+                release(leased);
+                throw failure instanceof CompletionException ? (CompletionException) failure
+                        : new CompletionException(failure);
+            }
+            return new Lease(leased, loaded);
+        });
+    }
+
+    /**
+     * Leases the dictionary for a source, waiting for it to load if needed.
+     *
+     * @param source a URL or the path of a word list file
+     * @return the lease, to be closed when the caller is done
+     * @throws IOException if the word list cannot be read
+     */
+    public Lease acquire(String source) throws IOException {
+        CompletableFuture<Lease> future = acquireAsync(source);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // The lease is taken when the load finishes; nobody will close it but us
+            future.whenComplete((lease, failure) -> {
+                if (lease != null) lease.close();
+            });
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + source, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+            throw new IOException("Could not load " + source, cause);
+        }
+    }
+
+    /**
+     * Returns the dictionary for a source without holding a lease, for callers that
+     * keep it for the life of the process. It stays cached as idle.
+     *
+     * @param source a URL or the path of a word list file
+     * @return the dictionary
+     * @throws IOException if the word list cannot be read
+     */
+    public Dictionary get(String source) throws IOException {
+        try (Lease lease = acquire(source)) {
+            return lease.getDictionary();
+        }
+    }
+
+    /**
+     * Checks if a source is loaded or loading.
+     *
+     * @param source a URL or file path
+     * @return true if a request for it would not start a new load
+     */
+    public synchronized boolean isCached(String source) {
+        return entries.containsKey(source);
+    }
+
+    /**
+     * Returns the number of sources loaded or loading.
+     *
+     * @return the number of cached sources
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void release(Entry entry) {
+        if (--entry.leases > 0 || entries.get(entry.source) != entry) return;
+        idle.put(entry.source, entry);
+        Iterator<Entry> eldest = idle.values().iterator();
+        while (idle.size() > idleLimit) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            entries.remove(evicted.source);
+            forgetChecksum(evicted);
+        }
+    }
+
+    private synchronized void forget(Entry entry) {
+        if (entries.get(entry.source) == entry) entries.remove(entry.source);
+        idle.remove(entry.source);
+    }
+
+    /**
+     * Drops the checksum mapping of an evicted entry unless another cached source shares it.
+     */
+    private void forgetChecksum(Entry evicted) {
+        Loaded loaded = evicted.future.getNow(null);
+        if (loaded == null) return;
+        for (Entry entry : entries.values()) {
+            Loaded other = entry.future.getNow(null);
+            if (other != null && other.checksum.equals(loaded.checksum)) return;
+        }
+        byChecksum.remove(loaded.checksum);
+    }
+
+    private Loaded load(String source) {
+        try {
+            // Taken before reading, so a change made during the load is seen next time
+            long[] stamp = stamp(source);
+            MessageDigest digest = sha256();
+            boolean compiled = !source.contains("://") && isCompiled(Paths.get(source));
+            List<String> lines = null;
+            // Lines are parsed and hashed chunk by chunk as the bytes arrive
+            try (InputStream in = new DigestInputStream(open(source), digest)) {
+                if (compiled) drain(in);
+                else lines = readLines(in);
+            }
+            String checksum = hex(digest.digest());
+            synchronized (this) {
+                Dictionary same = byChecksum.get(checksum);
+                if (same != null) return new Loaded(same, checksum, stamp);
+            }
+            Dictionary dictionary;
+            if (compiled) {
+                dictionary = new Dictionary(Paths.get(source));
+            } else {
+                dictionary = new Dictionary(parallelBuild
+                        ? Dictionary.buildLexiconParallel(lines) : Dictionary.buildLexicon(lines));
+            }
+            synchronized (this) {
+                // Another source with the same contents may have finished first
+                Dictionary same = byChecksum.putIfAbsent(checksum, dictionary);
+                return new Loaded(same != null ? same : dictionary, checksum, stamp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the size and modification time of a file source, or null for a URL or a
+     * file that cannot be read.
+     */
+    private static long[] stamp(String source) {
+        if (source.contains("://")) return null;
+        try {
+            Path file = Paths.get(source);
+            return new long[] {Files.size(file), Files.getLastModifiedTime(file).toMillis()};
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static InputStream open(String source) throws IOException {
+        return source.contains("://") ? new URL(source).openStream() : Files.newInputStream(Paths.get(source));
+    }
+
+    private static boolean isCompiled(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            return in.readInt() == MappedWordList.MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    private static List<String> readLines(InputStream in) throws IOException {
+        List<String> words = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), CHUNK_CHARS);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            words.add(line);
+        }
+        return words;
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[CHUNK_CHARS];
+        while (in.read(buffer) >= 0) {
+            // Only the checksum is needed; the file itself is mapped
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static final class Entry {
+        final String source;
+        CompletableFuture<Loaded> future;
+        int leases;
+
+        Entry(String source) {
+            this.source = source;
+        }
+    }
+
+    private static final class Loaded {
+        final Dictionary dictionary;
+        final String checksum;
+        final long[] stamp;
+
+        Loaded(Dictionary dictionary, String checksum, long[] stamp) {
+            this.dictionary = dictionary;
+            this.checksum = checksum;
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * A caller's hold on a cached dictionary. Closing it more than once has no effect.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Entry entry;
+        private final Loaded loaded;
+        private boolean closed;
+
+        private Lease(Entry entry, Loaded loaded) {
+            this.entry = entry;
+            this.loaded = loaded;
+        }
+
+        public Dictionary getDictionary() {
+            return loaded.dictionary;
+        }
+
+        public String getSource() {
+            return entry.source;
+        }
+
+        /**
+         * Returns the SHA-256 checksum of the word list, in hex.
+         *
+         * @return the checksum
+         */
+        public String getChecksum() {
+            return loaded.checksum;
+        }
+
+        @Override
+        public void close() {
+            synchronized (DictionaryRegistry.this) {
+                if (closed) return;
+                closed = true;
+                release(entry);
+            }
+        }
+    }
+}
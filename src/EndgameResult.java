@@ -0,0 +1,76 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of an {@link EndgameSolver} search: the best sequence of moves found
+ * for both sides and the spread it gains for the player to move.
+ */
+public class EndgameResult {
+    private final List<Move> moves;
+    private final int spread;
+    private final int depth;
+    private final boolean solved;
+    private final long nodes;
+
+    /**
+     * Constructs an EndgameResult.
+     *
+     * @param moves the principal variation, starting with the move to play now
+     * @param spread the points gained over the opponent from here to the end of the game
+     * @param depth the depth of the last complete iteration, in plies
+     * @param solved true if the search reached the end of the game on every line
+     * @param nodes the number of positions searched
+     */
+    public EndgameResult(List<Move> moves, int spread, int depth, boolean solved, long nodes) {
+        this.moves = Collections.unmodifiableList(moves);
+        this.spread = spread;
+        this.depth = depth;
+        this.solved = solved;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Returns the move to play now.
+     *
+     * @return the first move of the principal variation, or null if there is none
+     */
+    public Move getBestMove() {
+        return moves.isEmpty() ? null : moves.get(0);
+    }
+
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    public int getSpread() {
+        return spread;
+    }
+
+    /**
+     * Returns the final spread for a game that currently stands at {@code currentSpread}.
+     *
+     * @param currentSpread the mover's score minus the opponent's score now
+     * @return the mover's margin at the end of the game
+     */
+    public int getFinalSpread(int currentSpread) {
+        return currentSpread + spread;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isSolved() {
+        return solved;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%+d after %s (depth %d, %s, %d nodes)",
+                spread, moves, depth, solved ? "solved" : "estimated", nodes);
+    }
+}
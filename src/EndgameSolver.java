@@ -0,0 +1,333 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solves endgames exactly once the bag is empty and both racks are known.
+ *
+ * The search is negamax with alpha-beta pruning and iterative deepening: each
+ * iteration searches one ply deeper until the tree is exhausted, which is the exact
+ * result, or the time budget runs out, which keeps the last complete iteration.
+ * Positions are looked up in a transposition table keyed by {@link Zobrist} hashes of
+ * the board, both racks and the side to move. The table has a fixed size and
+ * two-entry buckets: one keeps the deepest search of a bucket, the other is always
+ * replaced. Moves are tried in the order: best move from the table, moves that go
+ * out, then by score, with passing last.
+ *
+ * The game ends when a player goes out, scoring the other rack twice (once lost,
+ * once gained), or after two passes in a row, when each player loses their own rack.
+ * A solver reuses its table's memory between calls and is not thread-safe.
+ */
+public class EndgameSolver {
+    private static final int MAX_PLY = 64;
+    private static final int INFINITY = 1 << 20;
+    private static final int CHECK_INTERVAL = 1023;
+
+    // Stored depth of a result that did not reach the depth limit anywhere below it
+    private static final int SOLVED_DEPTH = 0xFF;
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+    private static final long ENTRY_BYTES = 2 * Long.BYTES;
+
+    private final MoveGenerator generator;
+    private final long[] keys;
+    private final long[] entries;
+    private final int bucketMask;
+
+    private final Move[][] pv = new Move[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    private final int[][] racks = new int[2][LetterCodes.BLANK + 1];
+    private BoardState board;
+    private long hash;
+    private long nodes;
+    private long deadline;
+    private boolean reachedLimit;
+
+    /**
+     * Constructs a solver with a transposition table of about {@code tableBytes} bytes.
+     *
+     * @param dictionary the dictionary whose words are legal
+     * @param tableBytes the memory budget of the transposition table; 16 bytes per entry
+     */
+    public EndgameSolver(Dictionary dictionary, long tableBytes) {
+        this.generator = new MoveGenerator(dictionary);
+        long buckets = Long.highestOneBit(Math.max(tableBytes / ENTRY_BYTES / 2, 1));
+        int size = (int) Math.min(buckets, 1 << 29) * 2;
+        this.keys = new long[size];
+        this.entries = new long[size];
+        this.bucketMask = size / 2 - 1;
+    }
+
+    /**
+     * Finds the best sequence of moves for the player to move.
+     *
+     * @param position the position; it is not modified
+     * @param moverRack the rack of the player to move, per letter code with blanks at {@link LetterCodes#BLANK}
+     * @param opponentRack the other player's rack, in the same form
+     * @param timeLimitMillis the time budget; the first iteration always completes
+     * @return the principal variation and the spread it gains for the player to move
+     */
+    public EndgameResult solve(BoardState position, int[] moverRack, int[] opponentRack, long timeLimitMillis) {
+        board = position.copy();
+        System.arraycopy(moverRack, 0, racks[0], 0, racks[0].length);
+        System.arraycopy(opponentRack, 0, racks[1], 0, racks[1].length);
+        hash = board.getHash() ^ Zobrist.rack(0, racks[0]) ^ Zobrist.rack(1, racks[1]);
+        nodes = 0;
+        Arrays.fill(keys, 0);
+        Arrays.fill(entries, 0);
+
+        long limit = System.nanoTime() + timeLimitMillis * 1_000_000L;
+        List<Move> best = new ArrayList<>();
+        int spread = 0;
+        int depth = 0;
+        boolean solved = false;
+        deadline = Long.MAX_VALUE;
+        try {
+            for (int d = 1; d <= MAX_PLY && !solved; d++) {
+                reachedLimit = false;
+                spread = search(0, 0, d, -INFINITY, INFINITY, false);
+                depth = d;
+                solved = !reachedLimit;
+                best = principalVariation();
+                deadline = limit;
+            }
+        } catch (Timeout e) {
+            // Keep the last complete iteration
+        }
+        board = null;
+        return new EndgameResult(best, spread, depth, solved, nodes);
+    }
+
+    /**
+     * Returns the value of the position for the side to move, in points gained over
+     * the other side from here to the end of the game.
+     */
+    private int search(int side, int ply, int depth, int alpha, int beta, boolean passed) {
+        if ((++nodes & CHECK_INTERVAL) == 0 && System.nanoTime() > deadline) throw Timeout.INSTANCE;
+        pvLength[ply] = ply;
+        int[] mine = racks[side];
+        int[] theirs = racks[1 - side];
+        long key = hash ^ (side == 1 ? Zobrist.side() : 0) ^ (passed ? Zobrist.passed() : 0);
+
+        int slot = probe(key);
+        int tableMove = -1;
+        if (slot >= 0) {
+            long entry = entries[slot];
+            int value = (int) entry;
+            int storedDepth = (int) (entry >>> 32) & 0xFF;
+            int flag = (int) (entry >>> 40) & 0x3;
+            tableMove = (int) (entry >>> 42) - 1;
+            if (ply > 0 && storedDepth >= depth) {
+                if (flag == EXACT || (flag == LOWER && value >= beta) || (flag == UPPER && value <= alpha)) {
+                    if (storedDepth != SOLVED_DEPTH) reachedLimit = true;
+                    return value;
+                }
+            }
+        }
+        if (depth == 0) {
+            // Horizon: assume neither side plays out its rack
+            reachedLimit = true;
+            return rackValue(theirs) - rackValue(mine);
+        }
+
+        List<Move> moves = generator.generate(board, mine);
+        moves.add(Move.pass());
+        long[] order = order(moves, tableMove, rackSize(mine));
+
+        boolean outerReached = reachedLimit;
+        reachedLimit = false;
+        int originalAlpha = alpha;
+        int bestValue = -INFINITY;
+        int bestIndex = -1;
+        for (int i = order.length - 1; i >= 0; i--) {
+            int index = (int) (order[i] & 0xFFFFF);
+            Move move = moves.get(index);
+            int value;
+            if (!move.isPlacement()) {
+                if (passed) {
+                    pvLength[ply + 1] = ply + 1;
+                    value = rackValue(theirs) - rackValue(mine);
+                } else {
+                    value = -search(1 - side, ply + 1, depth - 1, -beta, -alpha, true);
+                }
+            } else {
+                long saved = hash;
+                int mark = board.mark();
+                takeTiles(move, side);
+                board.makeMove(move);
+                if (rackSize(mine) == 0) {
+                    pvLength[ply + 1] = ply + 1;
+                    value = move.getScore() + 2 * rackValue(theirs);
+                } else {
+                    // The child's window is shifted by the points this move scores
+                    int score = move.getScore();
+                    value = score - search(1 - side, ply + 1, depth - 1, score - beta, score - alpha, false);
+                }
+                board.undoTo(mark);
+                returnTiles(move, side);
+                hash = saved;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                bestIndex = index;
+                pv[ply][ply] = move;
+                System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, pvLength[ply + 1] - ply - 1);
+                pvLength[ply] = pvLength[ply + 1];
+            }
+            if (value > alpha) alpha = value;
+            if (alpha >= beta) break;
+        }
+
+        int flag = bestValue <= originalAlpha ? UPPER : bestValue >= beta ? LOWER : EXACT;
+        store(key, reachedLimit ? depth : SOLVED_DEPTH, flag, bestValue, bestIndex);
+        reachedLimit |= outerReached;
+        return bestValue;
+    }
+
+    /**
+     * Plays out the root's principal variation and continues it from the table's best
+     * moves, since cutoffs on table hits leave the line short. Stops at the end of the
+     * game or where the table has no move. The board and racks are left unchanged.
+     */
+    private List<Move> principalVariation() {
+        List<Move> line = new ArrayList<>();
+        long rootHash = hash;
+        int mark = board.mark();
+        int[][] saved = {racks[0].clone(), racks[1].clone()};
+        int side = 0;
+        boolean passed = false;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            Move move;
+            if (ply < pvLength[0]) {
+                move = pv[0][ply];
+            } else {
+                long key = hash ^ (side == 1 ? Zobrist.side() : 0) ^ (passed ? Zobrist.passed() : 0);
+                int slot = probe(key);
+                int index = slot < 0 ? -1 : (int) (entries[slot] >>> 42) - 1;
+                List<Move> moves = generator.generate(board, racks[side]);
+                moves.add(Move.pass());
+                if (index < 0 || index >= moves.size()) break;
+                move = moves.get(index);
+            }
+            line.add(move);
+            if (!move.isPlacement()) {
+                if (passed) break;
+                passed = true;
+            } else {
+                takeTiles(move, side);
+                board.makeMove(move);
+                if (rackSize(racks[side]) == 0) break;
+                passed = false;
+            }
+            side = 1 - side;
+        }
+        board.undoTo(mark);
+        System.arraycopy(saved[0], 0, racks[0], 0, racks[0].length);
+        System.arraycopy(saved[1], 0, racks[1], 0, racks[1].length);
+        hash = rootHash;
+        return line;
+    }
+
+    /**
+     * Sorts move indices so the best candidates come last; each entry packs a
+     * priority above the index.
+     */
+    private static long[] order(List<Move> moves, int tableMove, int rackSize) {
+        long[] order = new long[moves.size()];
+        for (int i = 0; i < order.length; i++) {
+            Move move = moves.get(i);
+            long priority;
+            if (i == tableMove) priority = 3L << 40;
+            else if (!move.isPlacement()) priority = 0;
+            else if (move.getTilesPlaced() == rackSize) priority = (2L << 40) + move.getScore();
+            else priority = (1L << 40) + move.getScore();
+            // Lower indices sort later, so ties keep generation order
+            order[i] = (priority << 20) | (0xFFFFF - i);
+        }
+        Arrays.sort(order);
+        for (int i = 0; i < order.length; i++) order[i] = 0xFFFFF - (order[i] & 0xFFFFF);
+        return order;
+    }
+
+    private int probe(long key) {
+        int bucket = ((int) key & bucketMask) * 2;
+        if (keys[bucket] == key && entries[bucket] != 0) return bucket;
+        if (keys[bucket + 1] == key && entries[bucket + 1] != 0) return bucket + 1;
+        return -1;
+    }
+
+    private void store(long key, int depth, int flag, int value, int move) {
+        long entry = (value & 0xFFFFFFFFL) | ((long) depth << 32) | ((long) flag << 40) | ((long) (move + 1) << 42);
+        int bucket = ((int) key & bucketMask) * 2;
+        int storedDepth = (int) (entries[bucket] >>> 32) & 0xFF;
+        if (entries[bucket] == 0 || keys[bucket] == key || depth >= storedDepth) {
+            if (keys[bucket] != key && entries[bucket] != 0) {
+                // The displaced entry gets a second chance in the always-replace slot
+                keys[bucket + 1] = keys[bucket];
+                entries[bucket + 1] = entries[bucket];
+            }
+            keys[bucket] = key;
+            entries[bucket] = entry;
+        } else {
+            keys[bucket + 1] = key;
+            entries[bucket + 1] = entry;
+        }
+    }
+
+    private void takeTiles(Move move, int side) {
+        int[] counts = racks[side];
+        String word = move.getWord();
+        int step = move.isHorizontal() ? 1 : BoardState.SIZE;
+        int sq = move.getRow() * BoardState.SIZE + move.getCol();
+        for (int i = 0; i < word.length(); i++, sq += step) {
+            if (!board.isEmpty(sq)) continue;
+            boolean blank = (move.getBlankMask() & (1 << i)) != 0;
+            int letter = LetterCodes.code(word.charAt(i));
+            int code = blank ? LetterCodes.BLANK : letter;
+            counts[code]--;
+            hash ^= Zobrist.rack(side, code, counts[code]) ^ Zobrist.square(sq, letter, blank);
+        }
+    }
+
+    /**
+     * Puts back the tiles of a move after it has been undone; the hash is restored by the caller.
+     */
+    private void returnTiles(Move move, int side) {
+        int[] counts = racks[side];
+        String word = move.getWord();
+        int step = move.isHorizontal() ? 1 : BoardState.SIZE;
+        int sq = move.getRow() * BoardState.SIZE + move.getCol();
+        for (int i = 0; i < word.length(); i++, sq += step) {
+            if (!board.isEmpty(sq)) continue;
+            if ((move.getBlankMask() & (1 << i)) != 0) counts[LetterCodes.BLANK]++;
+            else counts[LetterCodes.code(word.charAt(i))]++;
+        }
+    }
+
+    private static int rackSize(int[] counts) {
+        int size = 0;
+        for (int count : counts) size += count;
+        return size;
+    }
+
+    private static int rackValue(int[] counts) {
+        int value = 0;
+        for (int code = 0; code < counts.length; code++) {
+            value += counts[code] * LetterCodes.points(code);
+        }
+        return value;
+    }
+
+    /**
+     * Unwinds the search when the time budget runs out.
+     */
+    private static final class Timeout extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private static final Timeout INSTANCE = new Timeout();
+
+        private Timeout() {
+            super(null, null, false, false);
+        }
+    }
+}
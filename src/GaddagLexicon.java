@@ -0,0 +1,228 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Lexicon stored as a minimized GADDAG in flat int arrays.
+ * For every word {@code w} and split point {@code i} the graph holds the path
+ * {@code reverse(w[0..i)) + SEPARATOR + w[i..]}, and {@code reverse(w)} itself ends a word.
+ * Starting from any letter of a word, a walk can therefore go left first and then right,
+ * which is what anchor-based move generation needs. Only words made of A–Z are stored.
+ */
+public class GaddagLexicon implements Lexicon {
+    /** Letter code of the separator edge between the reversed prefix and the suffix. */
+    public static final int SEPARATOR = 26;
+
+    private final LetterGraph graph;
+    private final int wordCount;
+
+    private GaddagLexicon(LetterGraph graph, int wordCount) {
+        this.graph = graph;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * Builds a GADDAG from raw word list lines. Each line is trimmed and upper-cased.
+     *
+     * @param words the words to include
+     * @return the lexicon
+     */
+    public static GaddagLexicon build(Iterable<String> words) {
+        TreeSet<String> unique = new TreeSet<>();
+        for (String word : words) {
+            String upper = word.trim().toUpperCase();
+            if (LetterCodes.isLetters(upper)) unique.add(upper);
+        }
+
+        List<byte[]> paths = new ArrayList<>();
+        for (String word : unique) {
+            int n = word.length();
+            for (int split = 1; split <= n; split++) {
+                byte[] path = new byte[split == n ? n : n + 1];
+                int p = 0;
+                for (int i = split - 1; i >= 0; i--) {
+                    path[p++] = (byte) (word.charAt(i) - 'A');
+                }
+                if (split < n) {
+                    path[p++] = SEPARATOR;
+                    for (int i = split; i < n; i++) {
+                        path[p++] = (byte) (word.charAt(i) - 'A');
+                    }
+                }
+                paths.add(path);
+            }
+        }
+        Collections.sort(paths, PATH_ORDER);
+
+        LetterGraph.Builder builder = new LetterGraph.Builder();
+        for (byte[] path : paths) {
+            builder.add(path, path.length);
+        }
+        return new GaddagLexicon(builder.build(), unique.size());
+    }
+
+    private static final Comparator<byte[]> PATH_ORDER = new Comparator<byte[]>() {
+        @Override
+        public int compare(byte[] a, byte[] b) {
+            int n = Math.min(a.length, b.length);
+            for (int i = 0; i < n; i++) {
+                if (a[i] != b[i]) return a[i] - b[i];
+            }
+            return a.length - b.length;
+        }
+    };
+
+    @Override
+    public boolean contains(CharSequence word) {
+        if (word.length() == 0) return false;
+        int node = walkReversed(LetterGraph.ROOT, word);
+        return node >= 0 && graph.isTerminal(node);
+    }
+
+    @Override
+    public boolean contains(char[] chars, int offset, int length) {
+        int node = LetterGraph.ROOT;
+        for (int i = offset + length - 1; i >= offset && node >= 0; i--) {
+            int code = LetterCodes.code(chars[i]);
+            if (code < 0) return false;
+            node = graph.child(node, code);
+        }
+        return node >= 0 && length > 0 && graph.isTerminal(node);
+    }
+
+    @Override
+    public boolean containsCodes(byte[] codes, int offset, int length) {
+        int node = LetterGraph.ROOT;
+        for (int i = offset + length - 1; i >= offset && node >= 0; i--) {
+            int code = codes[i];
+            if (code < 0 || code >= LetterCodes.LETTERS) return false;
+            node = graph.child(node, code);
+        }
+        return node >= 0 && length > 0 && graph.isTerminal(node);
+    }
+
+    @Override
+    public boolean containsPrefix(CharSequence prefix) {
+        if (prefix.length() == 0) return wordCount > 0;
+        int node = walkReversed(LetterGraph.ROOT, prefix);
+        return node >= 0 && (graph.isTerminal(node) || graph.child(node, SEPARATOR) >= 0);
+    }
+
+    @Override
+    public int crossCheck(CharSequence before, CharSequence after) {
+        int mask = 0;
+        int letters = graph.edgeMask(LetterGraph.ROOT) & ~(1 << SEPARATOR);
+        while (letters != 0) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            int node = walkReversed(graph.child(LetterGraph.ROOT, letter), before);
+            if (after.length() > 0) {
+                node = walk(graph.child(node, SEPARATOR), after);
+            }
+            if (node >= 0 && graph.isTerminal(node)) mask |= 1 << letter;
+        }
+        return mask;
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    @Override
+    public void forEachWord(Consumer<? super String> action) {
+        collectReversed(LetterGraph.ROOT, new char[64], 0, action);
+    }
+
+    /**
+     * Visits the separator-free paths; a terminal there spells a whole word backwards.
+     */
+    private void collectReversed(int node, char[] reversed, int length, Consumer<? super String> action) {
+        if (length > 0 && graph.isTerminal(node)) {
+            char[] word = new char[length];
+            for (int i = 0; i < length; i++) {
+                word[i] = reversed[length - 1 - i];
+            }
+            action.accept(new String(word));
+        }
+        if (length == reversed.length) reversed = Arrays.copyOf(reversed, length * 2);
+        int letters = graph.edgeMask(node) & ~(1 << SEPARATOR);
+        while (letters != 0) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            letters &= letters - 1;
+            reversed[length] = LetterCodes.letter(letter);
+            collectReversed(graph.child(node, letter), reversed, length + 1, action);
+        }
+    }
+
+    /**
+     * Returns the root node. Walks start at an anchor letter and go leftwards.
+     *
+     * @return the root node
+     */
+    public int root() {
+        return LetterGraph.ROOT;
+    }
+
+    /**
+     * Follows the edge for a letter code (A=0 .. Z=25) or {@link #SEPARATOR}.
+     *
+     * @param node the current node, or -1
+     * @param letter the letter code
+     * @return the next node, or -1 if there is no such edge
+     */
+    public int child(int node, int letter) {
+        return graph.child(node, letter);
+    }
+
+    /**
+     * Checks if the path to this node spells a complete word.
+     *
+     * @param node the current node
+     * @return true if a word ends here
+     */
+    public boolean isTerminal(int node) {
+        return graph.isTerminal(node);
+    }
+
+    /**
+     * Returns the letter codes (and possibly {@link #SEPARATOR}) with an edge out of the node.
+     *
+     * @param node the current node
+     * @return a 27-bit mask of letter codes
+     */
+    public int edgeMask(int node) {
+        return graph.edgeMask(node);
+    }
+
+    /**
+     * Returns the heap used by the node and edge arrays.
+     *
+     * @return the size in bytes
+     */
+    public long memoryBytes() {
+        return graph.memoryBytes();
+    }
+
+    private int walk(int node, CharSequence letters) {
+        for (int i = 0; i < letters.length() && node >= 0; i++) {
+            int code = LetterCodes.code(letters.charAt(i));
+            if (code < 0) return -1;
+            node = graph.child(node, code);
+        }
+        return node;
+    }
+
+    private int walkReversed(int node, CharSequence letters) {
+        for (int i = letters.length() - 1; i >= 0 && node >= 0; i--) {
+            int code = LetterCodes.code(letters.charAt(i));
+            if (code < 0) return -1;
+            node = graph.child(node, code);
+        }
+        return node;
+    }
+}
@@ -1,3 +1,6 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -9,6 +12,11 @@ public class Game {
     private Dictionary dictionary;
     private List<Player> players;
     private int currentPlayerIndex;
+    private GameLog log; // Null unless the game is being recorded
+    private Path snapshotFile; // Null unless snapshots are taken
+    private int snapshotInterval;
+    private int turns;
+    private long turnStart = Metrics.start();
 
     /**
      * Constructs a new Game instance with a given dictionary.
@@ -17,8 +25,23 @@ public class Game {
      * @param dictionary the dictionary used to validate words
      */
     public Game(Dictionary dictionary) {
-        this.board = new Board();
-        this.tileBag = new TileBag();
+        this(dictionary, new TileBag());
+    }
+
+    /**
+     * Constructs a new Game whose tile draws are fixed by a seed, so the same seed
+     * and the same moves replay the same game.
+     *
+     * @param dictionary the dictionary used to validate words
+     * @param seed the seed for the tile bag
+     */
+    public Game(Dictionary dictionary, long seed) {
+        this(dictionary, new TileBag(seed));
+    }
+
+    private Game(Dictionary dictionary, TileBag tileBag) {
+        this.board = new Board(dictionary);
+        this.tileBag = tileBag;
         this.dictionary = dictionary;
         this.players = new ArrayList<>();
         this.currentPlayerIndex = 0;
@@ -31,12 +54,27 @@ public class Game {
      */
     public void addPlayer(String name) {
         Player player = new Player(name);
+        if (log != null) log.player(name);
         for (int i = 0; i < 7; i++) {
-            player.getRack().add(tileBag.drawTile());
+            Tile tile = tileBag.drawTile();
+            player.getRack().add(tile);
+            if (log != null && tile != null) log.draw(players.size(), Rack.codeOf(tile));
         }
         players.add(player);
     }
 
+    /**
+     * Records the rest of this game to a log: players added from now on, their draws
+     * and every move. Call it before adding players so the log can rebuild the game.
+     *
+     * @param log the log to append to
+     * @param id the id the game is recorded under
+     */
+    public void recordTo(GameLog log, long id) {
+        this.log = log;
+        log.start(id);
+    }
+
     /**
      * Starts the Scrabble game loop.
      * Prompts players for moves, validates input, updates board and scores.
@@ -83,81 +121,144 @@ public class Game {
             System.out.print("> ");
             String input = scanner.nextLine().trim().toUpperCase();
 
-
-            // Handle quitting
-            if (input.equals("QUIT")) {
-                System.out.println("Thanks for playing!");
-                break;
-            }
-
-            // Handle passing
-            if (input.equals("PASS") || input.equals("2")) {
-                System.out.println(currentPlayer.getName() + " passed.");
-                nextPlayer();
-                continue;
-            }
+            // Menu shortcuts; everything else is parsed as a move
             if (input.equals("1")) {
                 handleSwap(currentPlayer, scanner);
                 nextPlayer();
                 continue;
             }
-
-            // Parse move input
-            String[] parts = input.split(" ");
-            if (parts.length != 3) {
-                System.out.println("Invalid input. Please use the format: H8 HORIZONTAL HELLO");
-                System.out.println(" - HORIZONTAL = left to right");
-                System.out.println(" - VERTICAL = top to bottom");
-                continue;
+            if (input.equals("2")) {
+                input = "PASS";
             }
 
-            String coord = parts[0];
-            boolean horizontal = parts[1].equals("HORIZONTAL");
-            String word = parts[2];
-
-            // Validate coordinate format
-            if (coord.length() < 2 || coord.length() > 3) {
-                System.out.println("Invalid coordinate. Use format like H8 or D12.");
-                continue;
-            }
-
-            // Extract row and column from coordinate
-            char colChar = coord.charAt(0);
-            int rowNum;
+            MoveCommand command;
             try {
-                rowNum = Integer.parseInt(coord.substring(1)) - 1;
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid row number in coordinate.");
+                command = MoveCommand.parse(input);
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
                 continue;
             }
 
-            int colNum = colChar - 'A';
-            if (colNum < 0 || colNum >= 15 || rowNum < 0 || rowNum >= 15) {
-                System.out.println("Coordinates out of bounds. Use A–O and 1–15.");
-                continue;
+            // Handle quitting
+            if (command.getKind() == MoveCommand.Kind.QUIT) {
+                System.out.println("Thanks for playing!");
+                break;
             }
 
-            // Validate word against dictionary
-            if (!dictionary.isValid(word)) {
-                System.out.println("Invalid word! Please enter a valid word from the dictionary.");
-                continue;
+            // Handle passing
+            if (command.getKind() == MoveCommand.Kind.PASS) {
+                System.out.println(currentPlayer.getName() + " passed.");
             }
 
-            // Attempt to place the word on the board
-            boolean success = board.placeWord(word, rowNum, colNum, horizontal, currentPlayer);
-            if (success) {
-                refillRack(currentPlayer); // Refill rack after successful move
-                nextPlayer();              // Advance to next player
-            } else {
-                System.out.println("Word placement failed. Make sure it fits and doesn't conflict.");
+            // Validate against the dictionary and place; the first check waits for it to finish loading
+            try {
+                play(command);
+                if (command.getKind() == MoveCommand.Kind.SWAP) {
+                    System.out.println("Tiles swapped. New rack: " + currentPlayer.rackToString());
+                }
+            } catch (UncheckedIOException e) {
+                System.out.println("The dictionary could not be loaded (" + e.getCause().getMessage()
+                        + "). Retrying on your next word.");
+            } catch (IllegalArgumentException e) {
+                System.out.println(e.getMessage());
             }
         }
     }
+
+    /**
+     * Plays a move for the current player without any console input or output.
+     * Placements are checked against the dictionary, scored, and the rack refilled;
+     * the turn then passes to the next player. A rejected move leaves the turn unchanged.
+     *
+     * @param command a placement, swap or pass
+     * @return the points scored
+     * @throws IllegalArgumentException if the move is not allowed; the message says why
+     * @throws UncheckedIOException if the dictionary could not be loaded
+     */
+    public int play(MoveCommand command) {
+        Player player = players.get(currentPlayerIndex);
+        switch (command.getKind()) {
+            case PASS:
+                if (log != null) log.pass(currentPlayerIndex);
+                nextPlayer();
+                return 0;
+            case SWAP:
+                swapTiles(player, command.getIndices());
+                nextPlayer();
+                return 0;
+            case PLACE:
+                if (!dictionary.isValid(command.getWord())) {
+                    throw new IllegalArgumentException("Invalid word! Please enter a valid word from the dictionary.");
+                }
+                Placement placement = board.prepare(command.getWord(), command.getRow(), command.getCol(),
+                        command.isHorizontal(), player);
+                if (placement.getStatus() != PlacementStatus.PLACED) {
+                    throw new IllegalArgumentException("Word placement failed. " + placement.getStatus().getMessage());
+                }
+                board.commit(placement);
+                if (log != null) {
+                    log.place(currentPlayerIndex, placement.getRow(), placement.getCol(), placement.isHorizontal(),
+                            placement.getWord(), placement.getScore());
+                }
+                refillRack(player);
+                nextPlayer();
+                return placement.getScore();
+            default:
+                throw new IllegalArgumentException("QUIT ends the game; it is not a move.");
+        }
+    }
+
+    /**
+     * Returns the player whose turn it is.
+     *
+     * @return the current player
+     */
+    public Player getCurrentPlayer() {
+        return players.get(currentPlayerIndex);
+    }
+
+    /**
+     * Saves a {@link GameSnapshot} to a file after every given number of turns, replacing
+     * the previous one, so a crashed game resumes from its last snapshot.
+     *
+     * @param file the snapshot file
+     * @param interval the number of turns between snapshots
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public void snapshotTo(Path file, int interval) {
+        if (interval <= 0) throw new IllegalArgumentException("interval must be positive");
+        this.snapshotFile = file;
+        this.snapshotInterval = interval;
+    }
+
     /**
      * Advances to the next player's turn.
+     *
+     * @throws UncheckedIOException if a snapshot is due and cannot be saved
      */
     void nextPlayer() {
+        Metrics.increment(Metrics.Counter.TURNS);
+        Metrics.record(Metrics.Timer.TURN, turnStart);
+        turnStart = Metrics.start();
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        if (snapshotFile != null && ++turns % snapshotInterval == 0) {
+            try {
+                GameSnapshot.save(this, snapshotFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Sets whose turn it is without ending a turn: no turn is counted or timed and no
+     * snapshot is saved. For games rebuilt from a snapshot or a log.
+     *
+     * @param index the player's index in turn order
+     */
+    void setCurrentPlayerIndex(int index) {
+        currentPlayerIndex = index;
+        turnStart = Metrics.start();
     }
 
     /**
@@ -172,6 +273,7 @@ public class Game {
             Tile tile = tileBag.drawTile();
             if (tile != null) {
                 player.getRack().add(tile);
+                if (log != null) log.draw(players.indexOf(player), Rack.codeOf(tile));
             }
         }
     }
@@ -205,37 +307,42 @@ public class Game {
             return;
         }
 
-        String[] tokens = input.split(" ");
-        List<Tile> toSwap = new ArrayList<>();
-        List<Integer> indices = new ArrayList<>();
-
-        for (String token : tokens) {
-            try {
-                int index = Integer.parseInt(token);
-                if (index < 0 || index >= player.getRack().size()) {
-                    System.out.println("Invalid index: " + index);
-                    return;
-                }
-                indices.add(index);
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid input: " + token);
-                return;
-            }
+        try {
+            swapTiles(player, MoveCommand.parse("SWAP " + input).getIndices());
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
         }
+        System.out.println("Tiles swapped. New rack: " + player.rackToString());
+    }
 
-        // Collect tiles to swap
-        for (int i : indices) {
-            toSwap.add(player.getRack().get(i));
+    /**
+     * Returns the tiles at the given rack positions to the bag and refills the rack.
+     *
+     * @param player the player swapping
+     * @param indices rack positions, as shown by {@link Player#rackToString()}
+     * @throws IllegalArgumentException if an index is not on the rack
+     */
+    private void swapTiles(Player player, int[] indices) {
+        List<Tile> toSwap = new ArrayList<>();
+        for (int index : indices) {
+            if (index < 0 || index >= player.getRack().size()) {
+                throw new IllegalArgumentException("Invalid index: " + index);
+            }
+            toSwap.add(player.getRack().get(index));
         }
 
         // Remove and replace
+        byte[] codes = new byte[toSwap.size()];
+        int swapped = 0;
         for (Tile t : toSwap) {
-            player.getRack().remove(t);
-            tileBag.getTiles().add(t); // return to bag
+            if (player.getRack().remove(t)) {
+                codes[swapped++] = (byte) Rack.codeOf(t);
+                tileBag.returnTile(t); // return to bag
+            }
         }
-
+        if (log != null) log.swap(players.indexOf(player), codes, swapped);
         refillRack(player);
-        System.out.println("Tiles swapped. New rack: " + player.rackToString());
     }
 
     /// Getters and setters
@@ -0,0 +1,167 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays complete games between {@link PlayerStrategy} instances without any console
+ * input or output, from the deal to the final rack adjustments.
+ *
+ * Games follow the standard rules: 7-tile racks, exchanges only while the bag holds at
+ * least 7 tiles, and the game ends when a player uses their last tile with the bag empty
+ * or after six scoreless turns in a row. Tile draws are fixed by the seed passed to
+ * {@link #play(long)}, so the same strategies and seed replay the same game.
+ * An engine reuses its move generator and is not thread-safe; use one per thread.
+ */
+public class GameEngine {
+    private static final int MAX_SCORELESS_TURNS = 6;
+
+    private final Dictionary dictionary;
+    private final MoveGenerator generator;
+    private final PlayerStrategy[] strategies;
+    private final int[] rackCounts = new int[LetterCodes.BLANK + 1];
+
+    /**
+     * Constructs an engine for the given players.
+     *
+     * @param dictionary the dictionary whose words are legal
+     * @param strategies one strategy per player, in turn order
+     * @throws IllegalArgumentException if there are fewer than 2 or more than 4 players
+     */
+    public GameEngine(Dictionary dictionary, List<? extends PlayerStrategy> strategies) {
+        if (strategies.size() < 2 || strategies.size() > 4) {
+            throw new IllegalArgumentException("A game needs 2 to 4 players");
+        }
+        this.dictionary = dictionary;
+        this.generator = new MoveGenerator(dictionary);
+        this.strategies = strategies.toArray(new PlayerStrategy[0]);
+    }
+
+    /**
+     * Plays one game.
+     *
+     * @param seed the seed for the tile bag
+     * @return the final scores, moves and draws
+     * @throws IllegalStateException if a strategy plays tiles it does not hold,
+     *         or exchanges while fewer than 7 tiles are in the bag
+     */
+    public GameResult play(long seed) {
+        int players = strategies.length;
+        TileBag bag = new TileBag(seed);
+        BoardState board = new BoardState(dictionary.getLexicon());
+        Rack[] racks = new Rack[players];
+        int[] scores = new int[players];
+        List<Move> moves = new ArrayList<>();
+        StringBuilder draws = new StringBuilder();
+        for (int p = 0; p < players; p++) {
+            racks[p] = new Rack();
+            refill(racks[p], bag, draws);
+        }
+
+        int current = 0;
+        int scoreless = 0;
+        while (true) {
+            long turnStart = Metrics.start();
+            Rack rack = racks[current];
+            List<Move> legal = generator.generate(board, rack.copyCounts(rackCounts));
+            Move move = strategies[current].chooseMove(board, rack, legal, bag.remainingTiles());
+            if (move == null) move = Move.pass();
+            moves.add(move);
+
+            if (move.isPlacement()) {
+                int score = place(board, rack, move);
+                scores[current] += score;
+                scoreless = score == 0 ? scoreless + 1 : 0;
+                refill(rack, bag, draws);
+                if (rack.isEmpty()) {
+                    turnEnded(turnStart);
+                    finishOut(racks, scores, current);
+                    break;
+                }
+            } else {
+                if (move.getKind() == Move.Kind.EXCHANGE) exchange(rack, move.getWord(), bag, draws);
+                scoreless++;
+            }
+            turnEnded(turnStart);
+            if (scoreless >= MAX_SCORELESS_TURNS) {
+                for (int p = 0; p < players; p++) {
+                    scores[p] -= rackValue(racks[p]);
+                }
+                break;
+            }
+            current = (current + 1) % players;
+        }
+        return new GameResult(seed, scores, moves, draws.toString());
+    }
+
+    private static void turnEnded(long start) {
+        Metrics.increment(Metrics.Counter.TURNS);
+        Metrics.record(Metrics.Timer.TURN, start);
+    }
+
+    /**
+     * Applies a placement to the board and takes its tiles from the rack.
+     *
+     * @return the score of the move on the board before it was played
+     */
+    private int place(BoardState board, Rack rack, Move move) {
+        long scoring = Metrics.start();
+        int score = ScoreCalculator.score(board, move);
+        Metrics.record(Metrics.Timer.SCORING, scoring);
+        String word = move.getWord();
+        int step = move.isHorizontal() ? 1 : BoardState.SIZE;
+        int sq = move.getRow() * BoardState.SIZE + move.getCol();
+        for (int i = 0; i < word.length(); i++, sq += step) {
+            if (!board.isEmpty(sq)) continue;
+            char letter = (move.getBlankMask() & (1 << i)) != 0 ? LetterCodes.BLANK_CHAR : word.charAt(i);
+            if (rack.removeLetter(letter) == null) {
+                throw new IllegalStateException("Move " + move + " uses a tile not on the rack");
+            }
+        }
+        board.makeMove(move);
+        return score;
+    }
+
+    private void exchange(Rack rack, String letters, TileBag bag, StringBuilder draws) {
+        if (bag.remainingTiles() < ScoreCalculator.RACK_SIZE) {
+            throw new IllegalStateException("Exchanges need at least 7 tiles in the bag");
+        }
+        List<Tile> returned = new ArrayList<>(letters.length());
+        for (int i = 0; i < letters.length(); i++) {
+            Tile tile = rack.removeLetter(letters.charAt(i));
+            if (tile == null) throw new IllegalStateException("Exchange of a tile not on the rack: " + letters);
+            returned.add(tile);
+        }
+        // New tiles are drawn before the old ones go back in the bag
+        refill(rack, bag, draws);
+        for (Tile tile : returned) {
+            bag.returnTile(tile);
+        }
+    }
+
+    private static void refill(Rack rack, TileBag bag, StringBuilder draws) {
+        while (rack.size() < ScoreCalculator.RACK_SIZE && bag.remainingTiles() > 0) {
+            Tile tile = bag.drawTile();
+            rack.add(tile);
+            draws.append(tile.getLetter());
+        }
+    }
+
+    /**
+     * Moves the value of every other rack to the player who went out.
+     */
+    private static void finishOut(Rack[] racks, int[] scores, int out) {
+        for (int p = 0; p < racks.length; p++) {
+            if (p == out) continue;
+            int value = rackValue(racks[p]);
+            scores[p] -= value;
+            scores[out] += value;
+        }
+    }
+
+    private static int rackValue(Rack rack) {
+        int value = 0;
+        for (Tile tile : rack) {
+            value += tile.getPoints();
+        }
+        return value;
+    }
+}
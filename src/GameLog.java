@@ -0,0 +1,447 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary log of game actions, from which any game, or any point in a
+ * game, can be rebuilt.
+ *
+ * A {@link Game} that records to a log writes every player joining, every tile drawn
+ * from the bag, and every placement, swap and pass, in the order they happen. One log
+ * can hold many games in sequence, each opened by a start record with a caller-chosen
+ * id. Records are a one-byte type followed by a few bytes of letter codes and
+ * squares, at most {@value #MAX_RECORD} bytes:
+ * <pre>
+ *   START  type, game id (8)
+ *   PLAYER type, name length, UTF-8 name
+ *   DRAW   type, player, letter code
+ *   PLACE  type, player, square (row * 15 + col), 1 if horizontal, score (2), length, letter codes
+ *   SWAP   type, player, count, letter codes
+ *   PASS   type, player
+ * </pre>
+ * Records are batched in a direct buffer and written when it fills, on {@link #flush()},
+ * or on {@link #sync()}, which also forces them to the disk. A record cut short by a
+ * crash ends the log; everything before it replays, and {@link #open} cuts it off
+ * before appending.
+ *
+ * {@link #read} decodes a log into {@link Listener} callbacks without allocating per
+ * record, for analytics over millions of moves, and {@link #replay} rebuilds a game.
+ */
+public class GameLog implements Closeable {
+    /** The first four bytes of a log file, "SGL1". */
+    public static final int MAGIC = 0x53474C31;
+    /** The longest record: a player with a 255-byte name. */
+    public static final int MAX_RECORD = 257;
+
+    static final byte START = 1;
+    static final byte PLAYER = 2;
+    static final byte DRAW = 3;
+    static final byte PLACE = 4;
+    static final byte SWAP = 5;
+    static final byte PASS = 6;
+
+    private static final int BATCH_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_BYTES);
+
+    /**
+     * Receives the records of a log. Arrays passed to the callbacks are reused for the
+     * next record and must be copied to be kept. Every method does nothing by default.
+     */
+    public interface Listener {
+        default void start(long game) {}
+
+        default void player(String name) {}
+
+        default void draw(int player, int code) {}
+
+        default void place(int player, int row, int col, boolean horizontal, byte[] codes, int length, int score) {}
+
+        default void swap(int player, byte[] codes, int count) {}
+
+        default void pass(int player) {}
+    }
+
+    private GameLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a log for appending, creating it if needed. An existing log is read through
+     * first, and a record cut short at its end is cut off, so new records follow the
+     * last complete one.
+     *
+     * @param file the log file
+     * @return the log
+     * @throws IOException if the file cannot be opened, or exists and is not a game log
+     */
+    public static GameLog open(Path file) throws IOException {
+        long end = -1;
+        if (Files.exists(file) && Files.size(file) > 0) {
+            try (Reader reader = new Reader(file)) {
+                Listener skip = new Listener() {};
+                while (reader.next(skip)) {
+                    // Only the end of the last complete record is needed
+                }
+                end = reader.position();
+            }
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (end >= 0 && channel.size() > end) channel.truncate(end);
+        GameLog log = new GameLog(channel);
+        if (channel.size() == 0) log.batch.putInt(MAGIC);
+        return log;
+    }
+
+    /**
+     * Starts a new game; the records that follow belong to it.
+     *
+     * @param game an id chosen by the caller
+     */
+    public void start(long game) {
+        reserve(9).put(START).putLong(game);
+    }
+
+    /**
+     * Records a player joining, in turn order.
+     *
+     * @param name the player's name; only its first 255 bytes of UTF-8 are kept
+     */
+    public void player(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, 255);
+        reserve(2 + length).put(PLAYER).put((byte) length).put(bytes, 0, length);
+    }
+
+    /**
+     * Records a tile drawn from the bag.
+     *
+     * @param player the player's index in turn order
+     * @param code the letter code, or {@link LetterCodes#BLANK}
+     */
+    public void draw(int player, int code) {
+        reserve(3).put(DRAW).put((byte) player).put((byte) code);
+    }
+
+    /**
+     * Records a word placed on the board.
+     *
+     * @param player the player's index in turn order
+     * @param row the row of the first letter
+     * @param col the column of the first letter
+     * @param horizontal true if the word runs left to right
+     * @param word the whole word, letters A–Z
+     * @param score the points scored
+     */
+    public void place(int player, int row, int col, boolean horizontal, CharSequence word, int score) {
+        ByteBuffer out = reserve(7 + word.length()).put(PLACE).put((byte) player).put((byte) (row * 15 + col))
+                .put((byte) (horizontal ? 1 : 0)).putShort((short) score).put((byte) word.length());
+        for (int i = 0; i < word.length(); i++) {
+            out.put((byte) LetterCodes.code(word.charAt(i)));
+        }
+    }
+
+    /**
+     * Records tiles returned to the bag; the replacements follow as draws.
+     *
+     * @param player the player's index in turn order
+     * @param codes the letter codes returned
+     * @param count the number of codes used
+     */
+    public void swap(int player, byte[] codes, int count) {
+        reserve(3 + count).put(SWAP).put((byte) player).put((byte) count).put(codes, 0, count);
+    }
+
+    /**
+     * Records a pass.
+     *
+     * @param player the player's index in turn order
+     */
+    public void pass(int player) {
+        reserve(2).put(PASS).put((byte) player);
+    }
+
+    /**
+     * Writes the batched records to the file, without waiting for the disk.
+     *
+     * @throws IOException if the write fails
+     */
+    public void flush() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+    }
+
+    /**
+     * Writes the batched records and forces the file to the disk, so they survive a crash.
+     *
+     * @throws IOException if the write fails
+     */
+    public void sync() throws IOException {
+        flush();
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private ByteBuffer reserve(int bytes) {
+        if (batch.remaining() < bytes) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Sends every record of a log to a listener.
+     *
+     * @param file the log file
+     * @param listener the listener
+     * @return the number of records read
+     * @throws IOException if the file cannot be read or is not a game log
+     */
+    public static long read(Path file, Listener listener) throws IOException {
+        try (Reader reader = new Reader(file)) {
+            long records = 0;
+            while (reader.next(listener)) records++;
+            return records;
+        }
+    }
+
+    /**
+     * Rebuilds a game from a log as it stood after a number of its records.
+     *
+     * @param file the log file
+     * @param dictionary the dictionary the game was played with
+     * @param game the id of the game
+     * @param records how many of the game's records to apply after its start;
+     *        {@code Long.MAX_VALUE} for all of them
+     * @return the game, with its players, racks, board, scores, bag and turn
+     * @throws IOException if the file cannot be read or does not hold the game
+     * @throws IllegalStateException if a record does not fit the game rebuilt so far
+     */
+    public static Game replay(Path file, Dictionary dictionary, long game, long records) throws IOException {
+        try (Reader reader = new Reader(file)) {
+            Replayer replayer = new Replayer(dictionary, game);
+            while (replayer.game == null) {
+                if (!reader.next(replayer)) throw new IOException("No game " + game + " in " + file);
+            }
+            for (long applied = 0; applied < records && !replayer.done && reader.next(replayer); applied++) {
+                // Each record is applied by the replayer
+            }
+            return replayer.game;
+        }
+    }
+
+    /**
+     * Reads a log one record at a time.
+     */
+    public static final class Reader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_BYTES);
+        private final byte[] codes = new byte[256];
+        private final byte[] name = new byte[256];
+        private boolean eof;
+
+        /**
+         * Opens a log for reading.
+         *
+         * @param file the log file
+         * @throws IOException if the file cannot be read or is not a game log
+         */
+        public Reader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer.limit(0);
+            if (!fill(4) || buffer.getInt() != MAGIC) {
+                channel.close();
+                throw new IOException("Not a game log: " + file);
+            }
+        }
+
+        /**
+         * Decodes the next record into a listener call.
+         *
+         * @param listener the listener
+         * @return false at the end of the log, or at a record cut short
+         * @throws IOException if the file cannot be read or holds an unknown record
+         */
+        public boolean next(Listener listener) throws IOException {
+            if (!fill(1)) return false;
+            byte type = buffer.get(buffer.position());
+            switch (type) {
+                case START:
+                    if (!fill(9)) return false;
+                    buffer.get();
+                    listener.start(buffer.getLong());
+                    return true;
+                case PLAYER: {
+                    if (!fill(2)) return false;
+                    int length = buffer.get(buffer.position() + 1) & 0xFF;
+                    if (!fill(2 + length)) return false;
+                    buffer.position(buffer.position() + 2);
+                    buffer.get(name, 0, length);
+                    listener.player(new String(name, 0, length, StandardCharsets.UTF_8));
+                    return true;
+                }
+                case DRAW:
+                    if (!fill(3)) return false;
+                    buffer.get();
+                    listener.draw(buffer.get(), buffer.get());
+                    return true;
+                case PLACE: {
+                    if (!fill(7)) return false;
+                    int length = buffer.get(buffer.position() + 6) & 0xFF;
+                    if (!fill(7 + length)) return false;
+                    buffer.get();
+                    int player = buffer.get();
+                    int square = buffer.get() & 0xFF;
+                    boolean horizontal = buffer.get() != 0;
+                    int score = buffer.getShort() & 0xFFFF;
+                    buffer.get();
+                    buffer.get(codes, 0, length);
+                    listener.place(player, square / 15, square % 15, horizontal, codes, length, score);
+                    return true;
+                }
+                case SWAP: {
+                    if (!fill(3)) return false;
+                    int count = buffer.get(buffer.position() + 2) & 0xFF;
+                    if (!fill(3 + count)) return false;
+                    buffer.get();
+                    int player = buffer.get();
+                    buffer.get();
+                    buffer.get(codes, 0, count);
+                    listener.swap(player, codes, count);
+                    return true;
+                }
+                case PASS:
+                    if (!fill(2)) return false;
+                    buffer.get();
+                    listener.pass(buffer.get());
+                    return true;
+                default:
+                    throw new IOException("Unknown record type " + type + " in game log");
+            }
+        }
+
+        /**
+         * Returns the file offset of the next record, just past the last one decoded.
+         */
+        long position() throws IOException {
+            return channel.position() - buffer.remaining();
+        }
+
+        /**
+         * Makes sure the next {@code bytes} bytes are buffered.
+         *
+         * @return false if the file ends first
+         */
+        private boolean fill(int bytes) throws IOException {
+            while (buffer.remaining() < bytes) {
+                if (eof) return false;
+                buffer.compact();
+                eof = channel.read(buffer) < 0;
+                buffer.flip();
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Applies the records of one game to a fresh {@link Game}, taking each recorded
+     * draw out of the bag instead of drawing at random.
+     */
+    private static final class Replayer implements Listener {
+        private final Dictionary dictionary;
+        private final long id;
+        Game game;
+        boolean done;
+
+        Replayer(Dictionary dictionary, long id) {
+            this.dictionary = dictionary;
+            this.id = id;
+        }
+
+        @Override
+        public void start(long game) {
+            if (this.game != null) done = true;
+            else if (game == id) this.game = new Game(dictionary, 0L);
+        }
+
+        @Override
+        public void player(String name) {
+            if (game != null) game.getPlayers().add(new Player(name));
+        }
+
+        @Override
+        public void draw(int player, int code) {
+            if (game == null) return;
+            Tile tile = game.getTileBag().drawTile(code);
+            if (tile == null) throw new IllegalStateException("Log draws a tile the bag does not hold: " + code);
+            game.getPlayers().get(player).getRack().add(tile);
+        }
+
+        @Override
+        public void place(int player, int row, int col, boolean horizontal, byte[] codes, int length, int score) {
+            if (game == null) return;
+            Player current = turn(player);
+            char[] word = new char[length];
+            for (int i = 0; i < length; i++) word[i] = LetterCodes.letter(codes[i]);
+            // Restored without dictionary checks or Metrics; the score check catches a log that does not fit
+            if (game.getBoard().putWord(new String(word), row, col, horizontal, current) != score) {
+                throw new IllegalStateException("Log places " + new String(word) + " where it does not fit");
+            }
+            game.setCurrentPlayerIndex((player + 1) % game.getPlayers().size());
+        }
+
+        @Override
+        public void swap(int player, byte[] codes, int count) {
+            if (game == null) return;
+            Player current = turn(player);
+            for (int i = 0; i < count; i++) {
+                Tile tile = current.getRack().removeLetter(codes[i] == LetterCodes.BLANK
+                        ? LetterCodes.BLANK_CHAR : LetterCodes.letter(codes[i]));
+                if (tile == null) throw new IllegalStateException("Log swaps a tile the rack does not hold");
+                game.getTileBag().returnTile(tile);
+            }
+            game.setCurrentPlayerIndex((player + 1) % game.getPlayers().size());
+        }
+
+        @Override
+        public void pass(int player) {
+            if (game == null) return;
+            turn(player);
+            game.setCurrentPlayerIndex((player + 1) % game.getPlayers().size());
+        }
+
+        private Player turn(int player) {
+            if (player >= game.getPlayers().size()) throw new IllegalStateException("Log names unknown player " + player);
+            game.setCurrentPlayerIndex(player);
+            return game.getPlayers().get(player);
+        }
+    }
+}
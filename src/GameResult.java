@@ -0,0 +1,84 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a game played by the {@link GameEngine}: final scores, every move in
+ * turn order and every tile drawn from the bag. Player 0 moves first, and turn
+ * {@code i} belongs to player {@code i % playerCount}.
+ */
+public class GameResult {
+    private final long seed;
+    private final int[] scores;
+    private final List<Move> moves;
+    private final String draws;
+
+    /**
+     * Constructs a GameResult.
+     *
+     * @param seed the seed the game was played with
+     * @param scores the final score of each player, after rack adjustments
+     * @param moves the moves in turn order
+     * @param draws the letters drawn from the bag in order, {@link LetterCodes#BLANK_CHAR} for a blank
+     */
+    public GameResult(long seed, int[] scores, List<Move> moves, String draws) {
+        this.seed = seed;
+        this.scores = scores.clone();
+        this.moves = Collections.unmodifiableList(moves);
+        this.draws = draws;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getPlayerCount() {
+        return scores.length;
+    }
+
+    /**
+     * Returns a player's final score.
+     *
+     * @param player the player index
+     * @return the score
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    public int[] getScores() {
+        return scores.clone();
+    }
+
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    public String getDraws() {
+        return draws;
+    }
+
+    /**
+     * Returns the player with the highest score.
+     *
+     * @return the player index, or -1 if the top score is shared
+     */
+    public int getWinner() {
+        int winner = 0;
+        boolean tied = false;
+        for (int p = 1; p < scores.length; p++) {
+            if (scores[p] > scores[winner]) {
+                winner = p;
+                tied = false;
+            } else if (scores[p] == scores[winner]) {
+                tied = true;
+            }
+        }
+        return tied ? -1 : winner;
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult{seed=" + seed + ", scores=" + Arrays.toString(scores) + ", turns=" + moves.size() + "}";
+    }
+}
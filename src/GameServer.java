@@ -0,0 +1,512 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Hosts many independent games for TCP clients in one process.
+ *
+ * All connections share one selector thread and one {@link Dictionary}; each session
+ * owns its own {@link Game}, created by its first {@code NEW} request, so an idle
+ * connection costs little more than its socket. Moves are validated in microseconds,
+ * so running them on the event loop keeps thousands of sessions responsive without
+ * a thread per connection. Work that takes longer runs on one worker thread instead.
+ * The loop never waits for the dictionary: until its words have loaded, requests that
+ * play or load a game reply {@code ERR} while the worker waits for the load, starting
+ * it again if it failed, and then builds the GADDAG for hints.
+ *
+ * The protocol is one ASCII line per request and one line per reply:
+ * <ul>
+ *   <li>{@code NEW <players> [seed]} starts a game for 2–4 players in this session</li>
+ *   <li>a move as read by {@link MoveCommand}: {@code H8 H HELLO}, {@code SWAP 0 2}, {@code PASS}</li>
+ *   <li>{@code HINT} suggests the top-scoring word for the player to move</li>
+ *   <li>{@code STATS} reports the open sessions and the server's used heap</li>
+ *   <li>{@code QUIT} ends the session</li>
+ * </ul>
+ * A played move or new game replies {@code OK <points> <next player> <rack>}, where the
+ * next player counts from 1 and the rack lists their letters. Errors reply
+ * {@code ERR <message>}, {@code HINT} replies {@code HINT <square> <H|V> <word> <points>}
+ * (a move that can be sent back as it is) or {@code HINT PASS}, {@code STATS} replies {@code STATS <sessions> <heap bytes> <paged games>}
+ * and {@code QUIT} replies {@code BYE} before the server closes the connection.
+ *
+ * Given a page directory, games idle for longer than a set time are saved there as
+ * {@link GameSnapshot}s and dropped from memory; a session's next request loads its
+ * game back.
+ *
+ * Hints for a position and rack seen before, in any session, come from a shared
+ * {@link PositionCache}. Other hints are searched on the worker, which posts the reply
+ * back to the event loop; the session's next requests are not read until it is sent,
+ * so replies stay in order.
+ *
+ * Usage: {@code java GameServer [port] [word list source] [page directory] [idle seconds]};
+ * with {@code -Dscrabble.metrics=true} the game's {@link Metrics} are recorded and
+ * published over JMX.
+ */
+public class GameServer implements Runnable, Closeable {
+    /** The port used when none is given. */
+    public static final int DEFAULT_PORT = 7015;
+    /** The longest request line accepted; longer lines close the session. */
+    public static final int MAX_LINE = 256;
+
+    private static final int BACKLOG = 4096;
+    private static final long DEFAULT_IDLE_SECONDS = 60;
+    private static final int HINT_CACHE_SIZE = 1 << 16;
+
+    private final Dictionary dictionary;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(16 * 1024);
+    private final Path pageDirectory;
+    private final long idleMillis;
+    private volatile boolean running = true;
+    // Only touched by the event loop
+    private int sessions;
+    private int paged;
+    private long nextSessionId;
+    private long lastSweep;
+    private Future<?> loading; // Waits for the dictionary on the worker
+    private final int[] rackCounts = new int[LetterCodes.BLANK + 1];
+    private final PositionCache<Move> hints = new PositionCache<>(HINT_CACHE_SIZE);
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "game-server-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Replies finished on the worker, sent by the event loop
+    private final Queue<Runnable> completed = new ConcurrentLinkedQueue<>();
+    private MoveGenerator generator; // Only touched by the worker
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Dictionary dictionary = Dictionary.loadAsync(args.length > 1 ? args[1] : Dictionary.DEFAULT_SOURCE);
+        Path pages = args.length > 2 ? Paths.get(args[2]) : null;
+        long idleSeconds = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_IDLE_SECONDS;
+        if (Metrics.isEnabled()) Metrics.registerMBean();
+        try (GameServer server = new GameServer(dictionary, new InetSocketAddress(port), pages, idleSeconds * 1000)) {
+            System.out.println("Scrabble server listening on port " + server.getPort());
+            server.run();
+        }
+    }
+
+    /**
+     * Binds a server; no connection is accepted until {@link #run()} is called.
+     *
+     * @param dictionary the dictionary shared by every game
+     * @param address the address to listen on; port 0 picks a free port
+     * @throws IOException if the address cannot be bound
+     */
+    public GameServer(Dictionary dictionary, SocketAddress address) throws IOException {
+        this(dictionary, address, null, 0);
+    }
+
+    /**
+     * Binds a server that pages idle games out to disk.
+     *
+     * @param dictionary the dictionary shared by every game
+     * @param address the address to listen on; port 0 picks a free port
+     * @param pageDirectory the directory for paged-out games, or null to keep every game in memory
+     * @param idleMillis how long a game goes without requests before it is paged out
+     * @throws IOException if the address cannot be bound or the directory cannot be created
+     */
+    public GameServer(Dictionary dictionary, SocketAddress address, Path pageDirectory, long idleMillis)
+            throws IOException {
+        if (pageDirectory != null) Files.createDirectories(pageDirectory);
+        this.dictionary = dictionary;
+        this.pageDirectory = pageDirectory;
+        this.idleMillis = idleMillis;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        try {
+            server.bind(address, BACKLOG);
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            loading = worker.submit(this::prepareHints);
+        } catch (IOException e) {
+            server.close();
+            selector.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Runs the event loop until {@link #close()} is called, then closes every connection.
+     *
+     * @throws UncheckedIOException if the selector fails
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select(pageDirectory == null ? 0 : Math.max(1, idleMillis / 2));
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) accept();
+                    else if (key.isReadable()) read(key);
+                    else if (key.isWritable()) flush(key);
+                }
+                selector.selectedKeys().clear();
+                Runnable reply;
+                while ((reply = completed.poll()) != null) {
+                    reply.run();
+                }
+                if (pageDirectory != null) pageOutIdleGames();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+            worker.shutdownNow();
+        }
+    }
+
+    /**
+     * Stops the event loop; {@link #run()} returns after closing the connections.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        closeQuietly(server);
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.register(selector, SelectionKey.OP_READ, new Session(nextSessionId++));
+            sessions++;
+        }
+    }
+
+    private void read(SelectionKey key) {
+        Session session = (Session) key.attachment();
+        readBuffer.clear();
+        int read;
+        try {
+            read = ((SocketChannel) key.channel()).read(readBuffer);
+        } catch (IOException e) {
+            read = -1;
+        }
+        if (read < 0) {
+            end(key);
+            return;
+        }
+        readBuffer.flip();
+        consume(key, session, readBuffer);
+    }
+
+    /**
+     * Runs the requests in bytes read from a session. If one is handed to the worker,
+     * the bytes after it are kept until its reply has been sent.
+     */
+    private void consume(SelectionKey key, Session session, ByteBuffer bytes) {
+        while (bytes.hasRemaining() && !session.closing && !session.waiting && key.isValid()) {
+            byte b = bytes.get();
+            if (b == '\n') {
+                String reply = handle(key, session, session.takeLine());
+                if (reply != null) send(key, reply);
+            } else if (b != '\r' && !session.append(b)) {
+                session.closing = true;
+                send(key, "ERR Line longer than " + MAX_LINE + " characters");
+            }
+        }
+        if (session.waiting && bytes.hasRemaining()) {
+            session.unread = ByteBuffer.allocate(bytes.remaining());
+            session.unread.put(bytes).flip();
+        }
+    }
+
+    /**
+     * Runs one request and returns its reply, or null if the worker will send it.
+     */
+    private String handle(SelectionKey key, Session session, String line) {
+        session.lastActive = System.currentTimeMillis();
+        String[] parts = line.trim().toUpperCase().split("\\s+");
+        switch (parts[0]) {
+            case "NEW":
+                return newGame(session, parts);
+            case "STATS":
+                Runtime runtime = Runtime.getRuntime();
+                return "STATS " + sessions + " " + (runtime.totalMemory() - runtime.freeMemory()) + " " + paged;
+            case "QUIT":
+                session.closing = true;
+                return "BYE";
+            default:
+                break;
+        }
+        if (!dictionaryReady()) return "ERR The dictionary is still loading; try again";
+        if (session.paged && !pageIn(session)) return "ERR The game could not be loaded; try again";
+        if (session.game == null) return "ERR No game in progress; send NEW <players> [seed] first";
+        try {
+            if (parts[0].equals("HINT")) return hint(key, session);
+            int points = session.game.play(MoveCommand.parse(line));
+            return "OK " + points + " " + turn(session.game);
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        } catch (UncheckedIOException e) {
+            return "ERR The dictionary could not be loaded; try again";
+        }
+    }
+
+    /**
+     * Checks if the dictionary has loaded, without blocking. If not, makes sure the
+     * worker is waiting for it; a failed load is started again by the next wait.
+     */
+    private boolean dictionaryReady() {
+        if (dictionary.isReady()) return true;
+        if (loading == null || loading.isDone()) loading = worker.submit(this::prepareHints);
+        return false;
+    }
+
+    /**
+     * Waits on the worker for the dictionary and builds the GADDAG, so the first hint
+     * does not pay for it.
+     */
+    private void prepareHints() {
+        if (generator == null) generator = new MoveGenerator(dictionary);
+    }
+
+    private String newGame(Session session, String[] parts) {
+        if (parts.length < 2 || parts.length > 3) return "ERR Use NEW <players> [seed]";
+        int players;
+        long seed;
+        try {
+            players = Integer.parseInt(parts[1]);
+            seed = parts.length == 3 ? Long.parseLong(parts[2]) : System.nanoTime();
+        } catch (NumberFormatException e) {
+            return "ERR Use NEW <players> [seed]";
+        }
+        if (players < 2 || players > 4) return "ERR A game needs 2 to 4 players";
+        Game game = new Game(dictionary, seed);
+        for (int i = 1; i <= players; i++) {
+            game.addPlayer("Player " + i);
+        }
+        discardPage(session);
+        session.game = game;
+        return "OK 0 " + turn(game);
+    }
+
+    /**
+     * Answers a hint from the cache, or searches a copy of the position on the worker
+     * and returns null; the session reads no more requests until that reply is sent.
+     */
+    private String hint(SelectionKey key, Session session) {
+        Game game = session.game;
+        game.getCurrentPlayer().getRack().copyCounts(rackCounts);
+        // Games on the server place letters only, so blanks are left out of hints
+        rackCounts[LetterCodes.BLANK] = 0;
+        BoardState state = game.getBoard().getState();
+        long position = state.getHash() ^ Zobrist.rack(0, rackCounts);
+        Move cached = hints.get(position);
+        if (cached != null) return hintReply(cached);
+
+        BoardState copy = state.copy();
+        int[] counts = rackCounts.clone();
+        session.waiting = true;
+        if (session.pending == null) key.interestOps(0);
+        worker.execute(() -> {
+            String reply;
+            try {
+                prepareHints();
+                Move move = generator.bestMove(copy, counts);
+                if (move == null) move = Move.pass();
+                hints.put(position, move);
+                reply = hintReply(move);
+            } catch (RuntimeException e) {
+                reply = "ERR No hint is available; try again";
+            }
+            String result = reply;
+            completed.add(() -> resume(key, result));
+            selector.wakeup();
+        });
+        return null;
+    }
+
+    private static String hintReply(Move move) {
+        if (!move.isPlacement()) return "HINT PASS";
+        return "HINT " + (char) ('A' + move.getCol()) + (move.getRow() + 1) + " " + (move.isHorizontal() ? "H" : "V")
+                + " " + move.getWord() + " " + move.getScore();
+    }
+
+    /**
+     * Sends a reply from the worker, then runs the requests that arrived behind it.
+     */
+    private void resume(SelectionKey key, String reply) {
+        Session session = (Session) key.attachment();
+        session.waiting = false;
+        if (!key.isValid()) return;
+        send(key, reply);
+        ByteBuffer unread = session.unread;
+        session.unread = null;
+        if (unread != null) consume(key, session, unread);
+    }
+
+    private static String turn(Game game) {
+        StringBuilder turn = new StringBuilder().append(game.getCurrentPlayerIndex() + 1).append(' ');
+        Rack rack = game.getCurrentPlayer().getRack();
+        for (int i = 0; i < rack.size(); i++) {
+            turn.append(rack.get(i).getLetter());
+        }
+        return turn.toString();
+    }
+
+    /**
+     * Writes a reply, queueing whatever the socket does not take at once.
+     */
+    private void send(SelectionKey key, String reply) {
+        Session session = (Session) key.attachment();
+        byte[] bytes = (reply + "\n").getBytes(StandardCharsets.UTF_8);
+        if (session.pending != null) {
+            ByteBuffer joined = ByteBuffer.allocate(session.pending.remaining() + bytes.length);
+            joined.put(session.pending).put(bytes).flip();
+            session.pending = joined;
+        } else {
+            session.pending = ByteBuffer.wrap(bytes);
+        }
+        flush(key);
+    }
+
+    private void flush(SelectionKey key) {
+        Session session = (Session) key.attachment();
+        try {
+            ((SocketChannel) key.channel()).write(session.pending);
+        } catch (IOException e) {
+            end(key);
+            return;
+        }
+        if (session.pending.hasRemaining()) {
+            key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+        session.pending = null;
+        if (session.closing) end(key);
+        else key.interestOps(session.waiting ? 0 : SelectionKey.OP_READ);
+    }
+
+    private void end(SelectionKey key) {
+        if (!key.isValid()) return;
+        key.cancel();
+        closeQuietly(key.channel());
+        sessions--;
+        discardPage((Session) key.attachment());
+    }
+
+    /**
+     * Saves and drops the games of sessions that have been idle for too long.
+     */
+    private void pageOutIdleGames() {
+        long now = System.currentTimeMillis();
+        if (now - lastSweep < idleMillis / 2) return;
+        lastSweep = now;
+        for (SelectionKey key : selector.keys()) {
+            Session session = (Session) key.attachment();
+            if (session == null || session.game == null || now - session.lastActive < idleMillis) continue;
+            try {
+                GameSnapshot.save(session.game, page(session));
+                session.game = null;
+                session.paged = true;
+                paged++;
+            } catch (IOException e) {
+                // Keep the game in memory and try again on the next sweep
+            }
+        }
+    }
+
+    private boolean pageIn(Session session) {
+        try {
+            session.game = GameSnapshot.load(page(session), dictionary);
+        } catch (IOException e) {
+            return false;
+        }
+        discardPage(session);
+        return true;
+    }
+
+    private void discardPage(Session session) {
+        if (!session.paged) return;
+        session.paged = false;
+        paged--;
+        try {
+            Files.deleteIfExists(page(session));
+        } catch (IOException e) {
+            // A stale page is overwritten if the id is ever reused
+        }
+    }
+
+    private Path page(Session session) {
+        return pageDirectory.resolve("session-" + session.id + ".snap");
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing more to release
+        }
+    }
+
+    /**
+     * Per-connection state: the game, or whether it is paged out, the partial request
+     * line, unsent reply bytes and, while the worker searches a hint, the bytes read
+     * after that request.
+     */
+    private static final class Session {
+        final long id;
+        long lastActive = System.currentTimeMillis();
+        Game game;
+        boolean paged;
+        byte[] line;
+        int length;
+        ByteBuffer pending;
+        boolean closing;
+        boolean waiting;
+        ByteBuffer unread;
+
+        Session(long id) {
+            this.id = id;
+        }
+
+        boolean append(byte b) {
+            if (length == MAX_LINE) return false;
+            if (line == null) line = new byte[32];
+            else if (length == line.length) line = Arrays.copyOf(line, Math.min(MAX_LINE, length * 2));
+            line[length++] = b;
+            return true;
+        }
+
+        String takeLine() {
+            String text = length == 0 ? "" : new String(line, 0, length, StandardCharsets.UTF_8);
+            length = 0;
+            return text;
+        }
+    }
+}
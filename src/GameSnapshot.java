@@ -0,0 +1,211 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Binary snapshot of a whole {@link Game}, for resuming a long game without replaying
+ * its {@link GameLog} and for paging idle games out of memory.
+ *
+ * The format is versioned and, apart from the player names at the end, every field
+ * sits at a fixed offset (big-endian):
+ * <pre>
+ *   0    magic "SGS1" (4), version (2)
+ *   6    tile bag generator state (8)
+ *   14   player count, current player
+ *   16   board: 225 letter codes in row-major order, 0xFF for an empty square
+ *   241  tile bag: 27 counts, by letter code with blanks last
+ *   268  per player: score (4), rack size, 7 rack letter codes padded with 0xFF
+ *   ...  per player: name length, UTF-8 name
+ * </pre>
+ * A two-player game takes under 320 bytes, and restoring it only places the board
+ * tiles and refills the racks.
+ */
+public final class GameSnapshot {
+    /** The first four bytes of a snapshot, "SGS1". */
+    public static final int MAGIC = 0x53475331;
+    /** The version written; snapshots of other versions are rejected. */
+    public static final short VERSION = 1;
+
+    private static final int SQUARES = 15 * 15;
+    private static final int HEADER = 16;
+    private static final int PLAYER_BYTES = 4 + 1 + ScoreCalculator.RACK_SIZE;
+    private static final byte NONE = (byte) 0xFF;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Returns the number of bytes a snapshot of a game takes.
+     *
+     * @param game the game
+     * @return the size in bytes
+     */
+    public static int size(Game game) {
+        int size = HEADER + SQUARES + LetterCodes.BLANK + 1;
+        for (Player player : game.getPlayers()) {
+            size += PLAYER_BYTES + 1 + nameBytes(player).length;
+        }
+        return size;
+    }
+
+    /**
+     * Writes a snapshot of a game.
+     *
+     * @param game the game
+     * @param out a buffer with at least {@link #size(Game)} bytes remaining
+     * @throws IllegalStateException if a rack holds more than 7 tiles
+     */
+    public static void write(Game game, ByteBuffer out) {
+        out.putInt(MAGIC).putShort(VERSION).putLong(game.getTileBag().getRandom().getState());
+        out.put((byte) game.getPlayers().size()).put((byte) game.getCurrentPlayerIndex());
+        Board board = game.getBoard();
+        for (int row = 0; row < 15; row++) {
+            for (int col = 0; col < 15; col++) {
+                Tile tile = board.getTile(row, col);
+                out.put(tile == null ? NONE : (byte) Rack.codeOf(tile));
+            }
+        }
+        for (int code = 0; code <= LetterCodes.BLANK; code++) {
+            out.put((byte) game.getTileBag().count(code));
+        }
+        for (Player player : game.getPlayers()) {
+            Rack rack = player.getRack();
+            if (rack.size() > ScoreCalculator.RACK_SIZE) {
+                throw new IllegalStateException(player.getName() + " holds more than " + ScoreCalculator.RACK_SIZE + " tiles");
+            }
+            out.putInt(player.getScore()).put((byte) rack.size());
+            for (int i = 0; i < ScoreCalculator.RACK_SIZE; i++) {
+                out.put(i < rack.size() ? (byte) Rack.codeOf(rack.get(i)) : NONE);
+            }
+        }
+        for (Player player : game.getPlayers()) {
+            byte[] name = nameBytes(player);
+            out.put((byte) name.length).put(name);
+        }
+    }
+
+    /**
+     * Returns a snapshot of a game as a byte array.
+     *
+     * @param game the game
+     * @return the snapshot
+     */
+    public static byte[] toBytes(Game game) {
+        ByteBuffer out = ByteBuffer.allocate(size(game));
+        write(game, out);
+        return out.array();
+    }
+
+    /**
+     * Restores a game from a snapshot. The game continues exactly where it was taken,
+     * including the tiles the bag will draw next.
+     *
+     * @param in the snapshot, from its current position
+     * @param dictionary the dictionary the game is played with
+     * @return the game
+     * @throws IllegalArgumentException if the bytes are not a snapshot of this version
+     */
+    public static Game read(ByteBuffer in, Dictionary dictionary) {
+        try {
+            if (in.getInt() != MAGIC) throw new IllegalArgumentException("Not a game snapshot");
+            short version = in.getShort();
+            if (version != VERSION) throw new IllegalArgumentException("Unsupported snapshot version " + version);
+            // A generator seeded with a state continues from that state
+            Game game = new Game(dictionary, in.getLong());
+            TileBag bag = game.getTileBag();
+            int players = in.get();
+            int current = in.get();
+            if (players < 0 || players > 4 || current < 0 || (current > 0 && current >= players)) {
+                throw new IllegalArgumentException("Bad player count or turn in snapshot");
+            }
+
+            int[] squares = new int[SQUARES];
+            Tile[] tiles = new Tile[SQUARES];
+            int placed = 0;
+            for (int sq = 0; sq < SQUARES; sq++) {
+                byte code = in.get();
+                if (code == NONE) continue;
+                squares[placed] = sq;
+                tiles[placed++] = bag.tileOf(checkCode(code));
+            }
+            if (placed > 0) game.getBoard().putTiles(squares, tiles, placed);
+
+            int[] counts = new int[LetterCodes.BLANK + 1];
+            for (int code = 0; code < counts.length; code++) {
+                counts[code] = in.get() & 0xFF;
+            }
+            bag.setCounts(counts);
+
+            Player[] restored = new Player[players];
+            int racks = in.position();
+            in.position(racks + players * PLAYER_BYTES);
+            for (int p = 0; p < players; p++) {
+                byte[] name = new byte[in.get() & 0xFF];
+                in.get(name);
+                restored[p] = new Player(new String(name, StandardCharsets.UTF_8));
+            }
+            int end = in.position();
+            in.position(racks);
+            for (int p = 0; p < players; p++) {
+                int score = in.getInt();
+                int size = in.get();
+                for (int i = 0; i < ScoreCalculator.RACK_SIZE; i++) {
+                    byte code = in.get();
+                    if (i < size) restored[p].getRack().add(bag.tileOf(checkCode(code)));
+                }
+                restored[p].addScore(score);
+                game.getPlayers().add(restored[p]);
+            }
+            in.position(end);
+            game.setCurrentPlayerIndex(current);
+            return game;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Game snapshot is cut short", e);
+        }
+    }
+
+    /**
+     * Saves a snapshot to a file, replacing it atomically so a crash leaves either the
+     * old snapshot or the new one.
+     *
+     * @param game the game
+     * @param file the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(Game game, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, toBytes(game));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a game saved by {@link #save(Game, Path)}.
+     *
+     * @param file the snapshot file
+     * @param dictionary the dictionary the game is played with
+     * @return the game
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static Game load(Path file, Dictionary dictionary) throws IOException {
+        try {
+            return read(ByteBuffer.wrap(Files.readAllBytes(file)), dictionary);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage() + ": " + file, e);
+        }
+    }
+
+    private static int checkCode(byte code) {
+        if (code < 0 || code > LetterCodes.BLANK) throw new IllegalArgumentException("Bad letter code " + code + " in snapshot");
+        return code;
+    }
+
+    private static byte[] nameBytes(Player player) {
+        byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+        return name.length <= 255 ? name : Arrays.copyOf(name, 255);
+    }
+}
@@ -0,0 +1,23 @@
+import java.util.List;
+
+/**
+ * Plays the highest-scoring placement, keeping the generator's first on ties.
+ * With no placement it exchanges the whole rack if the bag allows, and passes otherwise.
+ */
+public class GreedyStrategy implements PlayerStrategy {
+
+    @Override
+    public Move chooseMove(BoardState board, Rack rack, List<Move> moves, int tilesInBag) {
+        Move best = null;
+        for (Move move : moves) {
+            if (best == null || move.getScore() > best.getScore()) best = move;
+        }
+        if (best != null) return best;
+        if (tilesInBag >= ScoreCalculator.RACK_SIZE && !rack.isEmpty()) {
+            StringBuilder letters = new StringBuilder();
+            for (Tile tile : rack) letters.append(tile.getLetter());
+            return Move.exchange(letters.toString());
+        }
+        return Move.pass();
+    }
+}
@@ -0,0 +1,68 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Lexicon backed by a {@link HashSet} of upper-cased words.
+ * This is the original Dictionary storage; it accepts any characters, but every
+ * query builds an upper-cased String. Prefixes are found by binary search in a
+ * sorted copy of the words, which costs one reference per word where a set of
+ * every prefix would hold several strings per word.
+ */
+public class HashSetLexicon implements Lexicon {
+    private final Set<String> validWords;
+    private final String[] sorted;
+
+    /**
+     * Constructs a lexicon from raw word list lines.
+     * Each line is trimmed and upper-cased.
+     *
+     * @param words the words to include
+     */
+    public HashSetLexicon(Collection<String> words) {
+        validWords = new HashSet<>();
+        for (String word : words) {
+            validWords.add(word.trim().toUpperCase());
+        }
+        sorted = validWords.toArray(new String[0]);
+        Arrays.sort(sorted);
+    }
+
+    @Override
+    public boolean contains(CharSequence word) {
+        return validWords.contains(word.toString().toUpperCase());
+    }
+
+    @Override
+    public boolean containsPrefix(CharSequence prefix) {
+        String upper = prefix.toString().toUpperCase();
+        // The first word not before the prefix starts with it if any word does
+        int i = Arrays.binarySearch(sorted, upper);
+        if (i < 0) i = -i - 1;
+        return i < sorted.length && sorted[i].startsWith(upper);
+    }
+
+    @Override
+    public int crossCheck(CharSequence before, CharSequence after) {
+        StringBuilder sb = new StringBuilder().append(before).append('A').append(after);
+        int gap = before.length();
+        int mask = 0;
+        for (int i = 0; i < 26; i++) {
+            sb.setCharAt(gap, (char) ('A' + i));
+            if (contains(sb)) mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    @Override
+    public int size() {
+        return validWords.size();
+    }
+
+    @Override
+    public void forEachWord(Consumer<? super String> action) {
+        validWords.forEach(action);
+    }
+}
@@ -0,0 +1,162 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Concurrent histogram of durations in nanoseconds, for {@link Metrics}.
+ *
+ * Buckets are log-linear, as in an HDR histogram: values below 32 get a bucket each, and
+ * every power of two above is split into 16 buckets, so a recorded value is known to
+ * within about 6%. Values above about 18 minutes share the last bucket. Counts are
+ * striped by thread, so threads recording at once rarely touch the same cache line.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int HALF = 1 << (SUB_BITS - 1);
+    private static final int MAX_BITS = 40;
+    /** The number of buckets. */
+    static final int BUCKETS = (MAX_BITS - SUB_BITS + 1) * HALF + HALF;
+    private static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+
+    private final int stripeMask;
+    private final AtomicLongArray counts;
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructs an empty histogram with one stripe per processor, up to 16.
+     */
+    public LatencyHistogram() {
+        int stripes = Integer.highestOneBit(Math.min(16, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        stripeMask = stripes - 1;
+        counts = new AtomicLongArray(stripes * BUCKETS);
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration; negative values count as zero
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        counts.incrementAndGet(stripe * BUCKETS + bucket(value));
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the bucket holding a value.
+     *
+     * @param value a value from 0 to 2^40 - 1
+     * @return the bucket index
+     */
+    static int bucket(long value) {
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        if (shift <= 0) return (int) value;
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the largest value that falls in a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the bucket's upper bound
+     */
+    static long upperBound(int bucket) {
+        if (bucket < 2 * HALF) return bucket;
+        int shift = bucket / HALF - 1;
+        long sub = bucket - (long) shift * HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Clears every count. Durations recorded while clearing may be kept or lost.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        max.reset();
+    }
+
+    /**
+     * Returns the counts as they are now. Durations recorded while the snapshot is taken
+     * may or may not be included.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        long[] merged = new long[BUCKETS];
+        for (int i = 0; i < counts.length(); i++) {
+            merged[i % BUCKETS] += counts.get(i);
+        }
+        return new Snapshot(merged, max.get());
+    }
+
+    /**
+     * Counts of a {@link LatencyHistogram} at one moment.
+     */
+    public static final class Snapshot {
+        private final long[] buckets;
+        private final long count;
+        private final long max;
+
+        private Snapshot(long[] buckets, long max) {
+            this.buckets = buckets;
+            long total = 0;
+            for (long c : buckets) total += c;
+            this.count = total;
+            this.max = max;
+        }
+
+        /**
+         * Returns the number of durations recorded.
+         *
+         * @return the count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the longest duration recorded.
+         *
+         * @return the maximum in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the duration that a given fraction of the recorded durations do not exceed,
+         * rounded up to its bucket's upper bound (but never above the maximum).
+         *
+         * @param fraction between 0 and 1, e.g. 0.99 for the 99th percentile
+         * @return the duration in nanoseconds, or 0 if nothing was recorded
+         */
+        public long percentile(double fraction) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int b = 0; b < buckets.length; b++) {
+                seen += buckets[b];
+                if (seen >= rank) return Math.min(upperBound(b), max);
+            }
+            return max;
+        }
+
+        /**
+         * Returns the mean duration, estimated from bucket midpoints.
+         *
+         * @return the mean in nanoseconds, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            if (count == 0) return 0;
+            double sum = 0;
+            for (int b = 0; b < buckets.length; b++) {
+                if (buckets[b] == 0) continue;
+                long low = b == 0 ? 0 : upperBound(b - 1) + 1;
+                sum += buckets[b] * (low + upperBound(b)) / 2.0;
+            }
+            return sum / count;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import java.util.List;
+
+/**
+ * Plays the move with the highest score plus the value of the tiles it keeps, read
+ * from a {@link LeaveTable}. While the bag holds at least 7 tiles, exchanges are
+ * weighed by the value of the tiles they keep. With an empty bag leaves no longer
+ * matter and it plays the top-scoring move. Keeps scratch counts between calls, so
+ * give each thread its own instance.
+ */
+public class LeaveStrategy implements PlayerStrategy {
+    private final LeaveTable leaves;
+    private final int[] rackCounts = new int[LetterCodes.BLANK + 1];
+    private final int[] kept = new int[LetterCodes.BLANK + 1];
+
+    /**
+     * Constructs a strategy on a leave table.
+     *
+     * @param leaves the leave values
+     */
+    public LeaveStrategy(LeaveTable leaves) {
+        this.leaves = leaves;
+    }
+
+    @Override
+    public Move chooseMove(BoardState board, Rack rack, List<Move> moves, int tilesInBag) {
+        rack.copyCounts(rackCounts);
+        Move best = null;
+        double bestEquity = Double.NEGATIVE_INFINITY;
+        for (Move move : moves) {
+            double equity = move.getScore();
+            if (tilesInBag > 0) {
+                System.arraycopy(rackCounts, 0, kept, 0, kept.length);
+                board.removeTiles(move, kept);
+                equity += leaves.value(kept);
+            }
+            if (equity > bestEquity) {
+                best = move;
+                bestEquity = equity;
+            }
+        }
+        if (tilesInBag >= ScoreCalculator.RACK_SIZE && !rack.isEmpty()) {
+            // Bit i of the mask exchanges the tile at rack position i
+            int bestMask = 0;
+            for (int mask = 1; mask < 1 << rack.size(); mask++) {
+                System.arraycopy(rackCounts, 0, kept, 0, kept.length);
+                for (int i = 0; i < rack.size(); i++) {
+                    if ((mask & (1 << i)) != 0) kept[Rack.codeOf(rack.get(i))]--;
+                }
+                double equity = leaves.value(kept);
+                if (equity > bestEquity) {
+                    bestMask = mask;
+                    bestEquity = equity;
+                }
+            }
+            if (bestMask != 0) {
+                StringBuilder letters = new StringBuilder();
+                for (int i = 0; i < rack.size(); i++) {
+                    if ((bestMask & (1 << i)) != 0) letters.append(rack.get(i).getLetter());
+                }
+                return Move.exchange(letters.toString());
+            }
+        }
+        return best != null ? best : Move.pass();
+    }
+}
@@ -0,0 +1,149 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only table of rack leave values: the equity of the tiles a player keeps after
+ * a move, for every multiset of 0 to 6 tiles over the 26 letters and the blank.
+ * Built offline by {@link LeaveTableGenerator} and memory-mapped, so lookups never
+ * copy the table onto the heap.
+ *
+ * Each leave has a combinatorial index: its letter codes in sorted order
+ * c0 &lt;= c1 &lt;= ... are turned into the increasing sequence c_i + i and ranked with
+ * the combinatorial number system, after an offset for the leave size. Indices are
+ * dense, so the 1,107,568 leaves take one float each. Lookups are O(1) and do not allocate.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *   int magic ('SLV1'), int version, int maxTiles, int entryCount
+ *   entryCount x float   the value of the leave with that index
+ * </pre>
+ */
+public class LeaveTable {
+    static final int MAGIC = 0x534C5631;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    /** The largest leave in the table. */
+    public static final int MAX_TILES = ScoreCalculator.RACK_SIZE - 1;
+
+    private static final int CODES = LetterCodes.BLANK + 1;
+    private static final int[][] BINOMIAL = new int[CODES + MAX_TILES][MAX_TILES + 2];
+    private static final int[] OFFSETS = new int[MAX_TILES + 2];
+
+    /** The number of leaves of 0 to {@link #MAX_TILES} tiles. */
+    public static final int SIZE;
+
+    static {
+        for (int n = 0; n < BINOMIAL.length; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int r = 1; r <= Math.min(n, MAX_TILES + 1); r++) {
+                BINOMIAL[n][r] = BINOMIAL[n - 1][r - 1] + BINOMIAL[n - 1][r];
+            }
+        }
+        // There are C(CODES + k - 1, k) leaves of k tiles
+        for (int k = 0; k <= MAX_TILES; k++) {
+            OFFSETS[k + 1] = OFFSETS[k] + BINOMIAL[CODES + k - 1][k];
+        }
+        SIZE = OFFSETS[MAX_TILES + 1];
+    }
+
+    private final FloatBuffer values;
+
+    /**
+     * Maps a leave table file into memory.
+     *
+     * @param file the table written by {@link #write(float[], Path)}
+     * @throws IOException if the file cannot be read or is not a leave table
+     */
+    public LeaveTable(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a leave table: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported leave table version " + buffer.getInt(4) + ": " + file);
+        }
+        if (buffer.getInt(8) != MAX_TILES || buffer.getInt(12) != SIZE
+                || buffer.capacity() < HEADER_BYTES + (long) SIZE * Float.BYTES) {
+            throw new IOException("Leave table has the wrong size: " + file);
+        }
+        buffer.position(HEADER_BYTES);
+        values = buffer.slice().asFloatBuffer();
+    }
+
+    /**
+     * Returns the index of a leave.
+     *
+     * @param counts tiles per letter code, blanks at {@link LetterCodes#BLANK}
+     * @return the index, below {@link #SIZE}, or -1 if the leave has more than {@link #MAX_TILES} tiles
+     */
+    public static int index(int[] counts) {
+        int tiles = 0;
+        int rank = 0;
+        for (int code = 0; code < CODES; code++) {
+            for (int n = counts[code]; n > 0; n--) {
+                if (tiles == MAX_TILES) return -1;
+                rank += BINOMIAL[code + tiles][tiles + 1];
+                tiles++;
+            }
+        }
+        return OFFSETS[tiles] + rank;
+    }
+
+    /**
+     * Returns the value of keeping the given tiles.
+     *
+     * @param counts tiles per letter code, blanks at {@link LetterCodes#BLANK}
+     * @return the leave value in points, or 0 for leaves of more than {@link #MAX_TILES} tiles
+     */
+    public float value(int[] counts) {
+        int index = index(counts);
+        return index < 0 ? 0f : values.get(index);
+    }
+
+    /**
+     * Returns the value stored at an index.
+     *
+     * @param index a leave index from {@link #index(int[])}
+     * @return the leave value in points
+     */
+    public float get(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * Writes a leave table file.
+     *
+     * @param values one value per leave index; exactly {@link #SIZE} entries
+     * @param output the file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if there are not {@link #SIZE} values
+     */
+    public static void write(float[] values, Path output) throws IOException {
+        if (values.length != SIZE) {
+            throw new IllegalArgumentException("A leave table has " + SIZE + " entries, not " + values.length);
+        }
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + SIZE * Float.BYTES);
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(MAX_TILES);
+        out.putInt(SIZE);
+        out.asFloatBuffer().put(values);
+        out.clear();
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Offline tool that builds a {@link LeaveTable} from self-play statistics.
+ *
+ * Two top-score players play games against each other. Whenever a player keeps tiles
+ * with tiles still in the bag, the score of their next turn is recorded against that
+ * leave. A leave's value is how far its next-turn score is above the average for
+ * leaves of the same size, so the table ranks what is kept rather than how much.
+ * Values are shrunk towards the sum of the leave's single-tile values in proportion
+ * to how rarely it was seen, so unseen leaves get the additive estimate and common
+ * leaves their own mean.
+ *
+ * Usage: {@code java LeaveTableGenerator <compiled word list> <games> <output file> [seed]}
+ */
+public class LeaveTableGenerator {
+    private static final int MAX_SCORELESS_TURNS = 6;
+    // Observations a leave needs before its own mean counts as much as the additive estimate
+    private static final double PRIOR_WEIGHT = 20;
+
+    private final Dictionary dictionary;
+    private final MoveGenerator generator;
+    private final double[] sums = new double[LeaveTable.SIZE];
+    private final int[] counts = new int[LeaveTable.SIZE];
+    private final double[] sizeScores = new double[LeaveTable.MAX_TILES + 1];
+    private final long[] sizeTurns = new long[LeaveTable.MAX_TILES + 1];
+    private long turns;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3 || args.length > 4) {
+            System.out.println("Usage: java LeaveTableGenerator <compiled word list> <games> <output file> [seed]");
+            return;
+        }
+        LeaveTableGenerator generator = new LeaveTableGenerator(new Dictionary(Paths.get(args[0])));
+        int games = Integer.parseInt(args[1]);
+        generator.play(games, args.length == 4 ? Long.parseLong(args[3]) : 1L);
+        LeaveTable.write(generator.build(), Paths.get(args[2]));
+        System.out.println("Wrote " + LeaveTable.SIZE + " leaves from " + generator.getTurns()
+                + " turns of " + games + " games into " + args[2]);
+    }
+
+    /**
+     * Constructs a generator with no statistics.
+     *
+     * @param dictionary the dictionary whose words are legal
+     */
+    public LeaveTableGenerator(Dictionary dictionary) {
+        this.dictionary = dictionary;
+        this.generator = new MoveGenerator(dictionary);
+    }
+
+    /**
+     * Plays a number of games; game {@code i} uses the seed {@code Tournament.gameSeed(seed, i)}.
+     *
+     * @param games the number of games
+     * @param seed the master seed
+     */
+    public void play(int games, long seed) {
+        for (int game = 0; game < games; game++) {
+            play(Tournament.gameSeed(seed, game));
+        }
+    }
+
+    /**
+     * Plays one self-play game and records its leaves.
+     *
+     * @param seed the seed for the tile bag
+     */
+    public void play(long seed) {
+        TileBag bag = new TileBag(seed);
+        BoardState board = new BoardState(dictionary.getLexicon());
+        int[][] racks = new int[2][LetterCodes.BLANK + 1];
+        // The leave each player kept last turn, waiting for that player's next score
+        int[] pending = {-1, -1};
+        int[] pendingSize = new int[2];
+        refill(racks[0], bag);
+        refill(racks[1], bag);
+
+        int current = 0;
+        int scoreless = 0;
+        while (scoreless < MAX_SCORELESS_TURNS) {
+            int[] rack = racks[current];
+            Move move = generator.bestMove(board, rack);
+            int score = move == null ? 0 : move.getScore();
+            record(pending[current], pendingSize[current], score);
+            pending[current] = -1;
+
+            if (move != null) {
+                board.removeTiles(move, rack);
+                board.makeMove(move);
+                if (bag.remainingTiles() > 0) {
+                    pending[current] = LeaveTable.index(rack);
+                    pendingSize[current] = size(rack);
+                }
+                refill(rack, bag);
+                if (size(rack) == 0) break;
+            } else if (bag.remainingTiles() >= ScoreCalculator.RACK_SIZE) {
+                // Nothing to play: exchange the whole rack, keeping the empty leave, index 0
+                int[] returned = rack.clone();
+                Arrays.fill(rack, 0);
+                refill(rack, bag);
+                for (int code = 0; code < returned.length; code++) {
+                    for (int n = 0; n < returned[code]; n++) bag.returnTile(tile(code));
+                }
+                pending[current] = 0;
+                pendingSize[current] = 0;
+            }
+            scoreless = score == 0 ? scoreless + 1 : 0;
+            current = 1 - current;
+        }
+    }
+
+    /**
+     * Returns the number of turns recorded so far.
+     *
+     * @return the number of leaves with a known next-turn score
+     */
+    public long getTurns() {
+        return turns;
+    }
+
+    /**
+     * Turns the statistics gathered so far into leave values.
+     *
+     * @return one value per leave index, for {@link LeaveTable#write}
+     */
+    public float[] build() {
+        double[] means = new double[sizeTurns.length];
+        for (int size = 0; size < means.length; size++) {
+            means[size] = sizeTurns[size] == 0 ? 0 : sizeScores[size] / sizeTurns[size];
+        }
+        int[] leave = new int[LetterCodes.BLANK + 1];
+        double[] single = new double[leave.length];
+        for (int code = 0; code < leave.length; code++) {
+            leave[code] = 1;
+            single[code] = shrink(LeaveTable.index(leave), means[1], 0);
+            leave[code] = 0;
+        }
+        float[] values = new float[LeaveTable.SIZE];
+        fill(values, leave, 0, 0, 0, means, single);
+        return values;
+    }
+
+    /**
+     * Visits every leave of up to {@link LeaveTable#MAX_TILES} tiles using codes from {@code code} on.
+     */
+    private void fill(float[] values, int[] leave, int code, int tiles, double additive,
+                      double[] means, double[] single) {
+        if (code == leave.length) {
+            int index = LeaveTable.index(leave);
+            values[index] = (float) shrink(index, means[tiles], additive);
+            return;
+        }
+        for (int n = 0; tiles + n <= LeaveTable.MAX_TILES; n++) {
+            leave[code] = n;
+            fill(values, leave, code + 1, tiles + n, additive + n * single[code], means, single);
+        }
+        leave[code] = 0;
+    }
+
+    private double shrink(int index, double mean, double prior) {
+        return (sums[index] - counts[index] * mean + PRIOR_WEIGHT * prior) / (counts[index] + PRIOR_WEIGHT);
+    }
+
+    private void record(int index, int size, int score) {
+        if (index < 0) return;
+        sums[index] += score;
+        counts[index]++;
+        sizeScores[size] += score;
+        sizeTurns[size]++;
+        turns++;
+    }
+
+    private static void refill(int[] rack, TileBag bag) {
+        for (int size = size(rack); size < ScoreCalculator.RACK_SIZE && bag.remainingTiles() > 0; size++) {
+            rack[Rack.codeOf(bag.drawTile())]++;
+        }
+    }
+
+    private static Tile tile(int code) {
+        return code == LetterCodes.BLANK
+                ? new Tile(LetterCodes.BLANK_CHAR, 0)
+                : new Tile(LetterCodes.letter(code), LetterCodes.points(code));
+    }
+
+    private static int size(int[] rack) {
+        int size = 0;
+        for (int count : rack) size += count;
+        return size;
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Compact letter encoding shared by the lexicons and engines: A=0 .. Z=25, blank=26.
+ * Working on codes instead of chars lets hot paths index arrays directly and
+ * validate words without building Strings.
+ */
+public final class LetterCodes {
+    /** Number of letter codes, A through Z. */
+    public static final int LETTERS = 26;
+    /** Code used for a blank tile. */
+    public static final int BLANK = 26;
+    /** Character used to show a blank tile. */
+    public static final char BLANK_CHAR = '?';
+
+    private static final int[] POINTS = {
+            1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3,   // A–M
+            1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10, // N–Z
+            0                                        // blank
+    };
+
+    private LetterCodes() {
+    }
+
+    /**
+     * Returns the standard tile value for a letter code.
+     *
+     * @param code the letter code (0–25), or {@link #BLANK}
+     * @return the point value; blanks are worth 0
+     */
+    public static int points(int code) {
+        return POINTS[code];
+    }
+
+    /**
+     * Converts a letter to its code, ignoring case.
+     *
+     * @param c the character to convert
+     * @return the letter code (0–25), or -1 if the character is not a letter A–Z
+     */
+    public static int code(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        return -1;
+    }
+
+    /**
+     * Converts a code back to its upper-case letter.
+     *
+     * @param code the letter code (0–25), or {@link #BLANK}
+     * @return the letter, or {@link #BLANK_CHAR} for a blank
+     */
+    public static char letter(int code) {
+        return code == BLANK ? BLANK_CHAR : (char) ('A' + code);
+    }
+
+    /**
+     * Encodes a word into letter codes.
+     *
+     * @param word the word to encode
+     * @param out the array to write codes into, starting at index 0
+     * @return the number of codes written, or -1 if the word has a character outside A–Z
+     *         or does not fit in {@code out}
+     */
+    public static int encode(CharSequence word, byte[] out) {
+        int length = word.length();
+        if (length > out.length) return -1;
+        for (int i = 0; i < length; i++) {
+            int code = code(word.charAt(i));
+            if (code < 0) return -1;
+            out[i] = (byte) code;
+        }
+        return length;
+    }
+
+    /**
+     * Checks if a trimmed, upper-cased word is non-empty and made only of A–Z.
+     *
+     * @param word the word to check
+     * @return true if every character is an upper-case letter
+     */
+    public static boolean isLetters(String word) {
+        if (word.isEmpty()) return false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') return false;
+        }
+        return true;
+    }
+}
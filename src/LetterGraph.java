@@ -0,0 +1,218 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimized letter graph stored in flat int arrays, shared by {@link DawgLexicon}
+ * and {@link GaddagLexicon}.
+ *
+ * Node {@code n} has an edge mask in {@code masks[n]} (bit {@code i} set if there is an
+ * edge for letter code {@code i}, bit 31 set if the node ends a word) and its edges
+ * start at {@code targets[firstEdge[n]]}, ordered by letter. Finding a child is a
+ * popcount, so walks never allocate.
+ */
+final class LetterGraph {
+    static final int TERMINAL = 1 << 31;
+    static final int ROOT = 0;
+
+    private final int[] masks;
+    private final int[] firstEdge;
+    private final int[] targets;
+
+    private LetterGraph(int[] masks, int[] firstEdge, int[] targets) {
+        this.masks = masks;
+        this.firstEdge = firstEdge;
+        this.targets = targets;
+    }
+
+    /**
+     * Follows the edge for a letter code.
+     *
+     * @param node the node to leave, or -1
+     * @param letter the letter code of the edge
+     * @return the target node, or -1 if there is no such edge
+     */
+    int child(int node, int letter) {
+        if (node < 0) return -1;
+        int mask = masks[node];
+        int bit = 1 << letter;
+        if ((mask & bit) == 0) return -1;
+        return targets[firstEdge[node] + Integer.bitCount(mask & (bit - 1))];
+    }
+
+    boolean isTerminal(int node) {
+        return (masks[node] & TERMINAL) != 0;
+    }
+
+    /**
+     * Returns the letter codes that have an edge out of the node.
+     */
+    int edgeMask(int node) {
+        return masks[node] & ~TERMINAL;
+    }
+
+    int nodeCount() {
+        return masks.length;
+    }
+
+    int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the heap used by the node and edge arrays.
+     */
+    long memoryBytes() {
+        return 4L * (masks.length + firstEdge.length + targets.length);
+    }
+
+    /**
+     * Builds a minimized graph from letter-code sequences added in strictly increasing order
+     * (Daciuk's incremental algorithm), so equivalent suffixes are merged as they are completed.
+     */
+    static final class Builder {
+        private final State root = new State();
+        private final Map<State, State> register = new HashMap<>();
+        private byte[] previous = new byte[0];
+        private int previousLength;
+
+        /**
+         * Adds a sequence of letter codes. Sequences must arrive in increasing order;
+         * an exact repeat of the previous sequence is ignored.
+         *
+         * @param codes the letter codes
+         * @param length the number of codes to use
+         * @throws IllegalArgumentException if the sequence is out of order
+         */
+        void add(byte[] codes, int length) {
+            int order = compare(codes, length, previous, previousLength);
+            if (order < 0) {
+                throw new IllegalArgumentException("Sequences must be added in sorted order");
+            }
+            if (order == 0 && length == previousLength && previousLength > 0) return;
+
+            State node = root;
+            int i = 0;
+            while (i < length && node.count > 0 && node.letters[node.count - 1] == codes[i]) {
+                node = node.children[node.count - 1];
+                i++;
+            }
+            if (node.count > 0) replaceOrRegister(node);
+            for (; i < length; i++) {
+                State next = new State();
+                node.append(codes[i], next);
+                node = next;
+            }
+            node.terminal = true;
+
+            if (previous.length < length) previous = new byte[Math.max(length, previous.length * 2)];
+            System.arraycopy(codes, 0, previous, 0, length);
+            previousLength = length;
+        }
+
+        /**
+         * Finishes minimization and packs the graph into flat arrays.
+         *
+         * @return the packed graph
+         */
+        LetterGraph build() {
+            if (root.count > 0) replaceOrRegister(root);
+
+            // Number nodes breadth-first so the root is 0
+            State[] order = new State[register.size() + 1];
+            int nodeCount = 0;
+            int edgeCount = 0;
+            root.id = nodeCount;
+            order[nodeCount++] = root;
+            for (int head = 0; head < nodeCount; head++) {
+                State state = order[head];
+                edgeCount += state.count;
+                for (int e = 0; e < state.count; e++) {
+                    State child = state.children[e];
+                    if (child.id < 0) {
+                        child.id = nodeCount;
+                        order[nodeCount++] = child;
+                    }
+                }
+            }
+
+            int[] masks = new int[nodeCount];
+            int[] firstEdge = new int[nodeCount];
+            int[] targets = new int[edgeCount];
+            int edge = 0;
+            for (int n = 0; n < nodeCount; n++) {
+                State state = order[n];
+                int mask = state.terminal ? TERMINAL : 0;
+                firstEdge[n] = edge;
+                for (int e = 0; e < state.count; e++) {
+                    mask |= 1 << state.letters[e];
+                    targets[edge++] = state.children[e].id;
+                }
+                masks[n] = mask;
+            }
+            return new LetterGraph(masks, firstEdge, targets);
+        }
+
+        private void replaceOrRegister(State state) {
+            State child = state.children[state.count - 1];
+            if (child.count > 0) replaceOrRegister(child);
+            State existing = register.get(child);
+            if (existing != null) {
+                state.children[state.count - 1] = existing;
+            } else {
+                register.put(child, child);
+            }
+        }
+
+        private static int compare(byte[] a, int aLength, byte[] b, int bLength) {
+            int n = Math.min(aLength, bLength);
+            for (int i = 0; i < n; i++) {
+                if (a[i] != b[i]) return a[i] - b[i];
+            }
+            return aLength - bLength;
+        }
+    }
+
+    /**
+     * Mutable node used only while building. Once registered a state is never
+     * modified again, so equality by terminal flag and child identity is stable.
+     */
+    private static final class State {
+        boolean terminal;
+        byte[] letters = new byte[2];
+        State[] children = new State[2];
+        int count;
+        int id = -1;
+
+        void append(byte letter, State child) {
+            if (count == letters.length) {
+                letters = Arrays.copyOf(letters, count * 2);
+                children = Arrays.copyOf(children, count * 2);
+            }
+            letters[count] = letter;
+            children[count] = child;
+            count++;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof State)) return false;
+            State other = (State) o;
+            if (terminal != other.terminal || count != other.count) return false;
+            for (int i = 0; i < count; i++) {
+                if (letters[i] != other.letters[i] || children[i] != other.children[i]) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = terminal ? 1 : 0;
+            for (int i = 0; i < count; i++) {
+                h = 31 * h + letters[i];
+                h = 31 * h + System.identityHashCode(children[i]);
+            }
+            return h;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+import java.util.function.Consumer;
+
+/**
+ * A set of valid words that can answer the questions a move generator or hint
+ * feature needs: full-word checks, prefix checks and hooks.
+ * Implementations are immutable and safe to share between threads.
+ */
+public interface Lexicon {
+
+    /**
+     * Checks if the lexicon contains the given word, ignoring case.
+     *
+     * @param word the word to check
+     * @return true if the word is valid, false otherwise
+     */
+    boolean contains(CharSequence word);
+
+    /**
+     * Checks if the lexicon contains the word held in a slice of a char array, ignoring case.
+     * The graph-based and mapped lexicons answer without allocating.
+     *
+     * @param chars the characters
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return true if the word is valid, false otherwise
+     */
+    default boolean contains(char[] chars, int offset, int length) {
+        return contains(new String(chars, offset, length));
+    }
+
+    /**
+     * Checks if the lexicon contains the word held in a slice of letter codes
+     * (see {@link LetterCodes}). The graph-based and mapped lexicons answer without allocating.
+     *
+     * @param codes the letter codes, A=0 .. Z=25
+     * @param offset the index of the first code
+     * @param length the number of codes
+     * @return true if the word is valid, false otherwise
+     */
+    default boolean containsCodes(byte[] codes, int offset, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            int code = codes[offset + i];
+            if (code < 0 || code >= LetterCodes.LETTERS) return false;
+            chars[i] = LetterCodes.letter(code);
+        }
+        return contains(new String(chars));
+    }
+
+    /**
+     * Checks if at least one word starts with the given prefix, ignoring case.
+     * A complete word counts as a prefix of itself.
+     *
+     * @param prefix the prefix to check
+     * @return true if some word starts with the prefix
+     */
+    boolean containsPrefix(CharSequence prefix);
+
+    /**
+     * Returns the letters that can be placed between two fragments to form a word.
+     * Bit {@code i} of the result is set if {@code before + ('A' + i) + after} is valid.
+     *
+     * @param before the letters preceding the gap (may be empty)
+     * @param after the letters following the gap (may be empty)
+     * @return a 26-bit mask of letters A–Z
+     */
+    int crossCheck(CharSequence before, CharSequence after);
+
+    /**
+     * Returns the number of words in the lexicon.
+     *
+     * @return the word count
+     */
+    int size();
+
+    /**
+     * Passes every word in the lexicon, upper-cased, to the given action.
+     *
+     * @param action the action to run for each word
+     */
+    void forEachWord(Consumer<? super String> action);
+
+    /**
+     * Returns the letters that can be added in front of a word to form another word.
+     *
+     * @param word the word to hook
+     * @return a 26-bit mask of letters A–Z
+     */
+    default int frontHooks(CharSequence word) {
+        return crossCheck("", word);
+    }
+
+    /**
+     * Returns the letters that can be added after a word to form another word.
+     *
+     * @param word the word to hook
+     * @return a 26-bit mask of letters A–Z
+     */
+    default int backHooks(CharSequence word) {
+        return crossCheck(word, "");
+    }
+}
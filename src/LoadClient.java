@@ -0,0 +1,229 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load generator for {@link GameServer}. Opens many sessions from one selector thread,
+ * starts a game in each, asks for a hint and plays it as the first move, then passes
+ * for the rest, timing every request, so every game holds a placement. The
+ * sessions are then held open and idle while the server is asked for its session
+ * count and heap, which shows the cost of an idle session.
+ *
+ * Usage: {@code java LoadClient <host> <port> <sessions> [moves per session] [idle seconds]}
+ */
+public class LoadClient {
+    // Connections still in the handshake; keeps the server's accept backlog from overflowing
+    private static final int MAX_CONNECTING = 512;
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    private final InetSocketAddress address;
+    private final int sessions;
+    private final int moves;
+    private final long[] latencies;
+    private int requests;
+    private int errors;
+    private long elapsedNanos;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3 || args.length > 5) {
+            System.out.println("Usage: java LoadClient <host> <port> <sessions> [moves per session] [idle seconds]");
+            return;
+        }
+        LoadClient client = new LoadClient(new InetSocketAddress(args[0], Integer.parseInt(args[1])),
+                Integer.parseInt(args[2]), args.length > 3 ? Integer.parseInt(args[3]) : 10);
+        long idleMillis = args.length > 4 ? Long.parseLong(args[4]) * 1000 : 0;
+        client.run(idleMillis);
+    }
+
+    /**
+     * Constructs a client; nothing is sent until {@link #run(long)}.
+     *
+     * @param address the server address
+     * @param sessions the number of concurrent sessions to open
+     * @param moves the moves each session plays after starting its game: the hinted
+     *        placement, then passes
+     */
+    public LoadClient(InetSocketAddress address, int sessions, int moves) {
+        this.address = address;
+        this.sessions = sessions;
+        this.moves = moves;
+        this.latencies = new long[sessions * (moves + 2)];
+    }
+
+    /**
+     * Opens every session, plays the moves, holds the sessions idle, asks the server
+     * for its statistics, prints a report and closes the sessions.
+     *
+     * @param idleMillis how long to hold the sessions open once all moves are played
+     * @return the server's {@code STATS} reply, taken while the sessions were open
+     * @throws IOException if a connection fails or the run times out
+     */
+    public String run(long idleMillis) throws IOException {
+        List<SocketChannel> channels = new ArrayList<>(sessions);
+        try (Selector selector = Selector.open()) {
+            long start = System.nanoTime();
+            play(selector, channels);
+            elapsedNanos = System.nanoTime() - start;
+            sleep(idleMillis);
+            String stats = stats();
+            System.out.println(report(stats));
+            return stats;
+        } finally {
+            for (SocketChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    private void play(Selector selector, List<SocketChannel> channels) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        int connecting = 0;
+        int finished = 0;
+        while (finished < sessions) {
+            while (channels.size() < sessions && connecting < MAX_CONNECTING) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.connect(address);
+                channel.register(selector, SelectionKey.OP_CONNECT, new Connection(channels.size()));
+                channels.add(channel);
+                connecting++;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Timed out with " + finished + " of " + sessions + " sessions finished");
+            }
+            selector.select(1000);
+            for (SelectionKey key : selector.selectedKeys()) {
+                SocketChannel channel = (SocketChannel) key.channel();
+                Connection connection = (Connection) key.attachment();
+                if (key.isConnectable()) {
+                    channel.finishConnect();
+                    connecting--;
+                    key.interestOps(SelectionKey.OP_READ);
+                    send(channel, connection, "NEW 2 " + connection.id);
+                } else if (key.isReadable()) {
+                    buffer.clear();
+                    if (channel.read(buffer) < 0) throw new IOException("Server closed session " + connection.id);
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        char c = (char) buffer.get();
+                        if (c != '\n') {
+                            connection.line.append(c);
+                            continue;
+                        }
+                        latencies[requests++] = System.nanoTime() - connection.sentAt;
+                        if (connection.line.indexOf("ERR") == 0) errors++;
+                        String reply = connection.line.toString();
+                        connection.line.setLength(0);
+                        if (connection.played == 0 && moves > 0 && !connection.hinted) {
+                            connection.hinted = true;
+                            send(channel, connection, "HINT");
+                        } else if (connection.played < moves) {
+                            send(channel, connection, connection.played == 0 ? hinted(reply) : "PASS");
+                            connection.played++;
+                        } else {
+                            // Done; the session stays open and idle
+                            key.interestOps(0);
+                            finished++;
+                        }
+                    }
+                }
+            }
+            selector.selectedKeys().clear();
+        }
+    }
+
+    /**
+     * Returns the move in a {@code HINT} reply, or PASS if the hint is to pass.
+     */
+    private static String hinted(String reply) {
+        if (!reply.startsWith("HINT ") || reply.equals("HINT PASS")) return "PASS";
+        // Drop the points; the rest is the move as the server reads it
+        return reply.substring("HINT ".length(), reply.lastIndexOf(' '));
+    }
+
+    private static void send(SocketChannel channel, Connection connection, String request) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap((request + "\n").getBytes(StandardCharsets.US_ASCII));
+        connection.sentAt = System.nanoTime();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private String stats() throws IOException {
+        try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write("STATS\nQUIT\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            return in.readLine();
+        }
+    }
+
+    private String report(String stats) {
+        long[] sorted = Arrays.copyOf(latencies, requests);
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+        return String.format("%d sessions, %d requests in %.2f s (%.0f/s), %d errors%n"
+                        + "latency p50 %.2f ms, p99 %.2f ms, max %.2f ms%n"
+                        + "server: %s",
+                sessions, requests, seconds, requests / seconds, errors,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, percentile(sorted, 1.0) / 1e6,
+                stats);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) return 0;
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while holding sessions open", e);
+        }
+    }
+
+    /**
+     * Returns the number of replies received.
+     *
+     * @return the requests completed
+     */
+    public int getRequests() {
+        return requests;
+    }
+
+    /**
+     * Returns the number of {@code ERR} replies.
+     *
+     * @return the error count
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    private static final class Connection {
+        final int id;
+        final StringBuilder line = new StringBuilder();
+        long sentAt;
+        boolean hinted;
+        int played;
+
+        Connection(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import java.util.Scanner;
  */
 public class Main {
     public static void main(String[] args) {
+        // Start loading the word list now so it is ready by the first move
+        Dictionary dictionary = Dictionary.loadAsync(Dictionary.DEFAULT_SOURCE);
         try {
             Scanner scanner = new Scanner(System.in);
             System.out.println("Welcome to the game of Scrabble!");
@@ -26,8 +28,7 @@ public class Main {
                 }
             }
 
-            // Create game and dictionary
-            Dictionary dictionary = new Dictionary();
+            // Create game
             Game game = new Game(dictionary);
 
             // Prompt for each player's name
@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Read-only view of a word list compiled by {@link WordListCompiler}.
+ * The file is memory-mapped, so lookups never build a heap copy of the words and
+ * every JVM on the host shares the same page-cache pages.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *   int magic ('SWL1'), int version, int wordCount, int maxLength
+ *   (maxLength + 1) x { int offset, int count }   one block per word length
+ *   word bytes: each block holds count fixed-width records of that length, sorted
+ * </pre>
+ * Words are stored upper-cased as ISO-8859-1 bytes.
+ */
+public class MappedWordList implements Lexicon {
+    static final int MAGIC = 0x53574C31;
+    static final int VERSION = 1;
+
+    private final MappedByteBuffer buffer;
+    private final int wordCount;
+    private final int maxLength;
+    private final int[] blockOffsets;
+    private final int[] blockCounts;
+
+    /**
+     * Maps a compiled word list file into memory.
+     *
+     * @param file the compiled word list
+     * @throws IOException if the file cannot be read or is not a compiled word list
+     */
+    public MappedWordList(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < 16 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a compiled word list: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported word list version " + buffer.getInt(4) + ": " + file);
+        }
+        wordCount = buffer.getInt(8);
+        maxLength = buffer.getInt(12);
+        blockOffsets = new int[maxLength + 1];
+        blockCounts = new int[maxLength + 1];
+        for (int len = 0; len <= maxLength; len++) {
+            blockOffsets[len] = buffer.getInt(16 + len * 8);
+            blockCounts[len] = buffer.getInt(20 + len * 8);
+        }
+    }
+
+    /**
+     * Checks if the word list contains the given word, ignoring case.
+     * Answers match {@code Set.contains(word.toUpperCase())} on the source list.
+     *
+     * @param word the word to look up
+     * @return true if the word is in the list, false otherwise
+     */
+    @Override
+    public boolean contains(CharSequence word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) >= 0x80) {
+                // Non-ASCII case mapping can change the length, so defer to String.toUpperCase
+                String upper = word.toString().toUpperCase();
+                return indexOf(upper, upper.length()) >= 0;
+            }
+        }
+        return indexOf(word, word.length()) >= 0;
+    }
+
+    @Override
+    public boolean contains(char[] chars, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (chars[i] >= 0x80) return contains(new String(chars, offset, length));
+        }
+        if (length > maxLength) return false;
+        int base = blockOffsets[length];
+        int low = 0;
+        int high = blockCounts[length] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = base + mid * length;
+            int cmp = 0;
+            for (int i = 0; i < length && cmp == 0; i++) {
+                char c = chars[offset + i];
+                if (c >= 'a' && c <= 'z') c -= 'a' - 'A';
+                cmp = c - (buffer.get(position + i) & 0xFF);
+            }
+            if (cmp == 0) return true;
+            if (cmp < 0) high = mid - 1;
+            else low = mid + 1;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsCodes(byte[] codes, int offset, int length) {
+        if (length > maxLength) return false;
+        int base = blockOffsets[length];
+        int low = 0;
+        int high = blockCounts[length] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = base + mid * length;
+            int cmp = 0;
+            for (int i = 0; i < length && cmp == 0; i++) {
+                int code = codes[offset + i];
+                if (code < 0 || code >= LetterCodes.LETTERS) return false;
+                cmp = ('A' + code) - (buffer.get(position + i) & 0xFF);
+            }
+            if (cmp == 0) return true;
+            if (cmp < 0) high = mid - 1;
+            else low = mid + 1;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsPrefix(CharSequence prefix) {
+        String upper = prefix.toString().toUpperCase();
+        for (int len = upper.length(); len <= maxLength; len++) {
+            if (indexOf(upper, len) >= 0) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int crossCheck(CharSequence before, CharSequence after) {
+        StringBuilder sb = new StringBuilder().append(before).append('A').append(after);
+        int gap = before.length();
+        int mask = 0;
+        for (int i = 0; i < 26; i++) {
+            sb.setCharAt(gap, (char) ('A' + i));
+            if (contains(sb)) mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the number of words in the list.
+     *
+     * @return the word count
+     */
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    @Override
+    public void forEachWord(Consumer<? super String> action) {
+        for (int len = 0; len <= maxLength; len++) {
+            byte[] record = new byte[len];
+            for (int i = 0; i < blockCounts[len]; i++) {
+                int position = blockOffsets[len] + i * len;
+                for (int j = 0; j < len; j++) {
+                    record[j] = buffer.get(position + j);
+                }
+                action.accept(new String(record, StandardCharsets.ISO_8859_1));
+            }
+        }
+    }
+
+    /**
+     * Binary searches the block of words of the given length for a record starting with the key.
+     *
+     * @param key the word or prefix to find; ASCII letters are compared upper-cased
+     * @param len the length of the words to search, at least the key length
+     * @return the record index within its block, or -1 if absent
+     */
+    private int indexOf(CharSequence key, int len) {
+        if (len > maxLength) return -1;
+        int base = blockOffsets[len];
+        int low = 0;
+        int high = blockCounts[len] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(key, base + mid * len);
+            if (cmp == 0) return mid;
+            if (cmp < 0) high = mid - 1;
+            else low = mid + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the key with the leading bytes of the record at the given buffer position.
+     */
+    private int compare(CharSequence key, int position) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= 'a' && c <= 'z') c -= 'a' - 'A';
+            int stored = buffer.get(position + i) & 0xFF;
+            if (c != stored) return c - stored;
+        }
+        return 0;
+    }
+}
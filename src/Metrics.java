@@ -0,0 +1,323 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * Process-wide counters and latency histograms for the game's hot paths: word checks,
+ * placement attempts by outcome, scoring, tile draws and turns.
+ *
+ * Recording is off unless the {@code scrabble.metrics} system property is true or
+ * {@link #setEnabled(boolean)} turns it on. While off, an event costs one read of a
+ * volatile flag. While on, counters are {@link LongAdder}s and durations go into
+ * {@link LatencyHistogram}s, so many threads can record without contending.
+ *
+ * Read the values with {@link #snapshot()}, or over JMX as {@code scrabble:type=Metrics}
+ * after {@link #registerMBean()}.
+ */
+public final class Metrics {
+    /** Events that are counted. */
+    public enum Counter { VALIDATIONS, INVALID_WORDS, TILE_DRAWS, EMPTY_DRAWS, TURNS }
+
+    /** Operations that are timed. */
+    public enum Timer { VALIDATION, PLACEMENT, SCORING, TURN }
+
+    /** The name the JMX bean is registered under. */
+    public static final String OBJECT_NAME = "scrabble:type=Metrics";
+
+    private static volatile boolean enabled = Boolean.getBoolean("scrabble.metrics");
+
+    private static final LongAdder[] COUNTERS = adders(Counter.values().length);
+    private static final LongAdder[] PLACEMENTS = adders(PlacementStatus.values().length);
+    private static final LatencyHistogram[] TIMERS = new LatencyHistogram[Timer.values().length];
+
+    static {
+        for (int i = 0; i < TIMERS.length; i++) {
+            TIMERS[i] = new LatencyHistogram();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Checks whether events are being recorded.
+     *
+     * @return true if recording is on
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Values already recorded are kept.
+     *
+     * @param on true to record events
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Returns a start time for a timed operation, to pass to {@link #record(Timer, long)}.
+     *
+     * @return the current {@link System#nanoTime()}, or 0 while recording is off
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the duration of an operation begun at {@link #start()}.
+     *
+     * @param timer the operation
+     * @param start the value {@link #start()} returned; 0 records nothing
+     */
+    public static void record(Timer timer, long start) {
+        if (start != 0 && enabled) TIMERS[timer.ordinal()].record(System.nanoTime() - start);
+    }
+
+    /**
+     * Counts one event.
+     *
+     * @param counter the event
+     */
+    public static void increment(Counter counter) {
+        if (enabled) COUNTERS[counter.ordinal()].increment();
+    }
+
+    /**
+     * Records a word check and its duration.
+     *
+     * @param valid whether the word was in the dictionary
+     * @param start the value {@link #start()} returned before the check
+     */
+    static void validation(boolean valid, long start) {
+        if (start == 0 || !enabled) return;
+        TIMERS[Timer.VALIDATION.ordinal()].record(System.nanoTime() - start);
+        COUNTERS[Counter.VALIDATIONS.ordinal()].increment();
+        if (!valid) COUNTERS[Counter.INVALID_WORDS.ordinal()].increment();
+    }
+
+    /**
+     * Records a placement attempt, its outcome and its duration.
+     *
+     * @param status the outcome
+     * @param start the value {@link #start()} returned before the attempt
+     */
+    static void placement(PlacementStatus status, long start) {
+        if (!enabled) return;
+        PLACEMENTS[status.ordinal()].increment();
+        if (start != 0) TIMERS[Timer.PLACEMENT.ordinal()].record(System.nanoTime() - start);
+    }
+
+    /**
+     * Clears every counter and histogram.
+     */
+    public static void reset() {
+        for (LongAdder adder : COUNTERS) adder.reset();
+        for (LongAdder adder : PLACEMENTS) adder.reset();
+        for (LatencyHistogram histogram : TIMERS) histogram.reset();
+    }
+
+    /**
+     * Returns the values recorded so far.
+     *
+     * @return the snapshot
+     */
+    public static Snapshot snapshot() {
+        Map<Counter, Long> counters = new EnumMap<>(Counter.class);
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, COUNTERS[counter.ordinal()].sum());
+        }
+        Map<PlacementStatus, Long> placements = new EnumMap<>(PlacementStatus.class);
+        for (PlacementStatus status : PlacementStatus.values()) {
+            placements.put(status, PLACEMENTS[status.ordinal()].sum());
+        }
+        Map<Timer, LatencyHistogram.Snapshot> timers = new EnumMap<>(Timer.class);
+        for (Timer timer : Timer.values()) {
+            timers.put(timer, TIMERS[timer.ordinal()].snapshot());
+        }
+        return new Snapshot(counters, placements, timers);
+    }
+
+    /**
+     * Registers a JMX bean named {@link #OBJECT_NAME} whose attributes are the values of
+     * {@link Snapshot#toMap()}, read fresh on every request. Does nothing if it is already registered.
+     *
+     * @throws IllegalStateException if the bean cannot be registered
+     */
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) server.registerMBean(new MetricsBean(), name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * The values of {@link Metrics} at one moment.
+     */
+    public static final class Snapshot {
+        private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+        private static final String[] PERCENTILE_NAMES = {"p50", "p99", "p999"};
+
+        private final Map<Counter, Long> counters;
+        private final Map<PlacementStatus, Long> placements;
+        private final Map<Timer, LatencyHistogram.Snapshot> timers;
+
+        private Snapshot(Map<Counter, Long> counters, Map<PlacementStatus, Long> placements,
+                         Map<Timer, LatencyHistogram.Snapshot> timers) {
+            this.counters = counters;
+            this.placements = placements;
+            this.timers = timers;
+        }
+
+        /**
+         * Returns the number of times an event was counted.
+         *
+         * @param counter the event
+         * @return the count
+         */
+        public long getCount(Counter counter) {
+            return counters.get(counter);
+        }
+
+        /**
+         * Returns the number of placement attempts with a given outcome.
+         *
+         * @param status the outcome
+         * @return the count
+         */
+        public long getPlacements(PlacementStatus status) {
+            return placements.get(status);
+        }
+
+        /**
+         * Returns the durations of an operation.
+         *
+         * @param timer the operation
+         * @return the histogram snapshot
+         */
+        public LatencyHistogram.Snapshot getTimer(Timer timer) {
+            return timers.get(timer);
+        }
+
+        /**
+         * Returns every value under a flat name, such as {@code placements.not_connected}
+         * or {@code placement.p99_ns}, in a fixed order.
+         *
+         * @return the values by name
+         */
+        public Map<String, Number> toMap() {
+            Map<String, Number> values = new LinkedHashMap<>();
+            for (Counter counter : Counter.values()) {
+                values.put(counter.name().toLowerCase(), getCount(counter));
+            }
+            for (PlacementStatus status : PlacementStatus.values()) {
+                values.put("placements." + status.name().toLowerCase(), getPlacements(status));
+            }
+            for (Timer timer : Timer.values()) {
+                LatencyHistogram.Snapshot histogram = getTimer(timer);
+                String prefix = timer.name().toLowerCase() + ".";
+                values.put(prefix + "count", histogram.getCount());
+                values.put(prefix + "mean_ns", Math.round(histogram.getMean()));
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    values.put(prefix + PERCENTILE_NAMES[i] + "_ns", histogram.percentile(PERCENTILES[i]));
+                }
+                values.put(prefix + "max_ns", histogram.getMax());
+            }
+            return values;
+        }
+
+        /**
+         * Returns the values as text, one {@code name value} pair per line.
+         *
+         * @return the text
+         */
+        public String toText() {
+            StringBuilder text = new StringBuilder();
+            for (Map.Entry<String, Number> entry : toMap().entrySet()) {
+                text.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+            }
+            return text.toString();
+        }
+
+        @Override
+        public String toString() {
+            return toText();
+        }
+    }
+
+    /**
+     * Read-only JMX view of the metrics, one long attribute per value of {@link Snapshot#toMap()}.
+     */
+    private static final class MetricsBean implements DynamicMBean {
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Number value = snapshot().toMap().get(attribute);
+            if (value == null) throw new AttributeNotFoundException(attribute);
+            return value.longValue();
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            Map<String, Number> values = snapshot().toMap();
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                Number value = values.get(attribute);
+                if (value != null) list.add(new Attribute(attribute, value.longValue()));
+            }
+            return list;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String action, Object[] params, String[] signature) throws ReflectionException {
+            throw new ReflectionException(new NoSuchMethodException(action));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            for (String name : snapshot().toMap().keySet()) {
+                attributes.add(new MBeanAttributeInfo(name, "long", name, true, false, false));
+            }
+            return new MBeanInfo(Metrics.class.getName(), "Game hot-path counters and latencies",
+                    attributes.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[0], null);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estimates the equity of candidate moves by simulation.
+ *
+ * Each iteration plays a candidate, deals the opponent a random rack from the unseen
+ * tiles, refills the player's rack from what is left and plays out a number of plies
+ * with a fast static player that always makes the top-scoring move. The equity of an
+ * iteration is the candidate's score plus the player's later points minus the opponent's.
+ *
+ * Iteration {@code i} deals the same tiles for every candidate, so candidates are compared
+ * on the same draws. Runs use several worker threads, each with its own board copy and
+ * move generator, and stop at the iteration count or the time limit, whichever is first.
+ * Without a time limit a run is reproducible from its seed.
+ */
+public class MonteCarloSimulator {
+    private final Dictionary dictionary;
+    private final int threads;
+
+    /**
+     * Constructs a simulator that uses every available core.
+     *
+     * @param dictionary the dictionary whose words are legal
+     */
+    public MonteCarloSimulator(Dictionary dictionary) {
+        this(dictionary, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a simulator.
+     *
+     * @param dictionary the dictionary whose words are legal
+     * @param threads the number of worker threads
+     */
+    public MonteCarloSimulator(Dictionary dictionary, int threads) {
+        this.dictionary = dictionary;
+        this.threads = threads;
+    }
+
+    /**
+     * Counts the tiles a player cannot see: the standard tile set minus the board and
+     * their own rack. These are in the bag or on the opponent's rack.
+     *
+     * @param position the current position
+     * @param rack the player's rack
+     * @return the unseen tiles per letter code, blanks at {@link LetterCodes#BLANK}
+     */
+    public static int[] unseenTiles(BoardState position, Rack rack) {
+        int[] unseen = new TileBag(0L).copyCounts(new int[LetterCodes.BLANK + 1]);
+        for (int sq = 0; sq < BoardState.SQUARES; sq++) {
+            if (!position.isEmpty(sq)) unseen[position.isBlank(sq) ? LetterCodes.BLANK : position.get(sq)]--;
+        }
+        for (int code = 0; code <= LetterCodes.BLANK; code++) {
+            unseen[code] = Math.max(0, unseen[code] - rack.count(code));
+        }
+        return unseen;
+    }
+
+    /**
+     * Simulates candidate moves for the player holding {@code rack}.
+     *
+     * @param position the current position; it is not modified
+     * @param rack the player's rack
+     * @param candidates the moves to compare
+     * @param plies the number of moves to play out after the candidate, starting with the opponent's
+     * @param iterations the maximum number of iterations per candidate
+     * @param timeLimitMillis stop after this many milliseconds, or 0 for no limit
+     * @param seed the seed for the simulated draws
+     * @return one result per candidate, best equity first
+     */
+    public List<SimulationResult> simulate(BoardState position, Rack rack, List<Move> candidates,
+                                           int plies, int iterations, long timeLimitMillis, long seed) {
+        return simulate(position, rack.copyCounts(new int[LetterCodes.BLANK + 1]), unseenTiles(position, rack),
+                candidates, plies, iterations, timeLimitMillis, seed);
+    }
+
+    /**
+     * Simulates candidate moves from explicit tile counts.
+     *
+     * @param position the current position; it is not modified
+     * @param rackCounts the player's tiles per letter code
+     * @param unseen the tiles in the bag and on the opponent's rack, per letter code
+     * @param candidates the moves to compare
+     * @param plies the number of moves to play out after the candidate, starting with the opponent's
+     * @param iterations the maximum number of iterations per candidate
+     * @param timeLimitMillis stop after this many milliseconds, or 0 for no limit
+     * @param seed the seed for the simulated draws
+     * @return one result per candidate, best equity first
+     */
+    public List<SimulationResult> simulate(BoardState position, int[] rackCounts, int[] unseen, List<Move> candidates,
+                                           int plies, int iterations, long timeLimitMillis, long seed) {
+        int n = candidates.size();
+        long deadline = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1_000_000L : Long.MAX_VALUE;
+        AtomicLong next = new AtomicLong();
+        long total = (long) n * iterations;
+        dictionary.getGaddag();
+
+        List<Callable<long[][]>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Worker(position, rackCounts, unseen, candidates, plies, seed, next, total, deadline));
+        }
+        long[] counts = new long[n];
+        long[] sums = new long[n];
+        long[] squares = new long[n];
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<long[][]> future : pool.invokeAll(workers)) {
+                long[][] tally = future.get();
+                for (int c = 0; c < n; c++) {
+                    counts[c] += tally[0][c];
+                    sums[c] += tally[1][c];
+                    squares[c] += tally[2][c];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        List<SimulationResult> results = new ArrayList<>(n);
+        for (int c = 0; c < n; c++) {
+            long count = counts[c];
+            double mean = count == 0 ? 0 : (double) sums[c] / count;
+            double error = Double.POSITIVE_INFINITY;
+            if (count > 1) {
+                double variance = (squares[c] - count * mean * mean) / (count - 1);
+                error = Math.sqrt(Math.max(variance, 0) / count);
+            }
+            results.add(new SimulationResult(candidates.get(c), count, mean, error));
+        }
+        Collections.sort(results, Comparator.comparingDouble(SimulationResult::getMeanEquity).reversed());
+        return results;
+    }
+
+    /**
+     * Takes iterations from the shared counter until they run out or time is up.
+     * Returns the count, sum and sum of squares of the spreads per candidate.
+     */
+    private class Worker implements Callable<long[][]> {
+        private final BoardState board;
+        private final MoveGenerator generator = new MoveGenerator(dictionary);
+        private final SeededRandom random = new SeededRandom(0L);
+        private final int[] rackCounts;
+        private final int[] unseenPool;
+        private final List<Move> candidates;
+        private final int plies;
+        private final long seed;
+        private final AtomicLong next;
+        private final long total;
+        private final long deadline;
+
+        private final int[] pool;
+        private int poolTop;
+        private int poolEnd;
+        private final int[] mine = new int[LetterCodes.BLANK + 1];
+        private final int[] theirs = new int[LetterCodes.BLANK + 1];
+
+        Worker(BoardState position, int[] rackCounts, int[] unseen, List<Move> candidates, int plies,
+               long seed, AtomicLong next, long total, long deadline) {
+            this.board = position.copy();
+            this.rackCounts = rackCounts.clone();
+            this.candidates = candidates;
+            this.plies = plies;
+            this.seed = seed;
+            this.next = next;
+            this.total = total;
+            this.deadline = deadline;
+            int size = 0;
+            for (int count : unseen) size += count;
+            unseenPool = new int[size];
+            int i = 0;
+            for (int code = 0; code < unseen.length; code++) {
+                for (int k = 0; k < unseen[code]; k++) unseenPool[i++] = code;
+            }
+            // Room for exchanged tiles going back in the bag
+            pool = new int[size + ScoreCalculator.RACK_SIZE];
+        }
+
+        @Override
+        public long[][] call() {
+            int n = candidates.size();
+            long[][] tally = new long[3][n];
+            long k;
+            while ((k = next.getAndIncrement()) < total && System.nanoTime() < deadline) {
+                int c = (int) (k % n);
+                long spread = playout(candidates.get(c), k / n);
+                tally[0][c]++;
+                tally[1][c] += spread;
+                tally[2][c] += spread * spread;
+            }
+            return tally;
+        }
+
+        private int playout(Move candidate, long iteration) {
+            random.setState(SeededRandom.mix(seed, iteration));
+            System.arraycopy(unseenPool, 0, pool, 0, unseenPool.length);
+            poolTop = 0;
+            poolEnd = unseenPool.length;
+            System.arraycopy(rackCounts, 0, mine, 0, mine.length);
+            Arrays.fill(theirs, 0);
+            // The opponent's rack comes from the unseen tiles before anything else
+            refill(theirs);
+
+            int mark = board.mark();
+            int spread = 0;
+            if (candidate.isPlacement()) {
+                spread += ScoreCalculator.score(board, candidate);
+                takeTiles(candidate, mine);
+                board.makeMove(candidate);
+                refill(mine);
+            } else if (candidate.getKind() == Move.Kind.EXCHANGE) {
+                exchange(candidate.getWord());
+            }
+
+            int passes = candidate.isPlacement() ? 0 : 1;
+            for (int ply = 0; ply < plies && passes < 2; ply++) {
+                boolean opponent = ply % 2 == 0;
+                int[] mover = opponent ? theirs : mine;
+                Move best = generator.bestMove(board, mover);
+                if (best == null) {
+                    passes++;
+                    continue;
+                }
+                passes = 0;
+                spread += opponent ? -best.getScore() : best.getScore();
+                takeTiles(best, mover);
+                board.makeMove(best);
+                refill(mover);
+                if (isEmpty(mover)) {
+                    // Going out scores the other rack twice: once lost, once gained
+                    int left = 2 * rackValue(opponent ? mine : theirs);
+                    spread += opponent ? -left : left;
+                    break;
+                }
+            }
+            board.undoTo(mark);
+            return spread;
+        }
+
+        private void exchange(String letters) {
+            int[] returned = new int[letters.length()];
+            for (int i = 0; i < letters.length(); i++) {
+                char letter = letters.charAt(i);
+                int code = letter == LetterCodes.BLANK_CHAR ? LetterCodes.BLANK : LetterCodes.code(letter);
+                mine[code]--;
+                returned[i] = code;
+            }
+            refill(mine);
+            for (int code : returned) pool[poolEnd++] = code;
+        }
+
+        /**
+         * Removes the tiles a placement puts on empty squares from a rack.
+         */
+        private void takeTiles(Move move, int[] counts) {
+            String word = move.getWord();
+            int step = move.isHorizontal() ? 1 : BoardState.SIZE;
+            int sq = move.getRow() * BoardState.SIZE + move.getCol();
+            for (int i = 0; i < word.length(); i++, sq += step) {
+                if (!board.isEmpty(sq)) continue;
+                if ((move.getBlankMask() & (1 << i)) != 0) counts[LetterCodes.BLANK]--;
+                else counts[LetterCodes.code(word.charAt(i))]--;
+            }
+        }
+
+        /**
+         * Draws random tiles from the pool until the rack has 7 or the pool is empty.
+         * Each draw swaps a random remaining tile to the front, so drawing is O(1).
+         */
+        private void refill(int[] counts) {
+            int size = 0;
+            for (int count : counts) size += count;
+            while (size < ScoreCalculator.RACK_SIZE && poolTop < poolEnd) {
+                int j = poolTop + random.nextInt(poolEnd - poolTop);
+                int code = pool[j];
+                pool[j] = pool[poolTop];
+                pool[poolTop++] = code;
+                counts[code]++;
+                size++;
+            }
+        }
+
+        private boolean isEmpty(int[] counts) {
+            for (int count : counts) {
+                if (count > 0) return false;
+            }
+            return true;
+        }
+
+        private int rackValue(int[] counts) {
+            int value = 0;
+            for (int code = 0; code < counts.length; code++) {
+                value += counts[code] * LetterCodes.points(code);
+            }
+            return value;
+        }
+    }
+}
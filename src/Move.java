@@ -0,0 +1,130 @@
+/**
+ * A turn: a word placement found by the {@link MoveGenerator}, an exchange or a pass.
+ * A placement holds the full word (including tiles already on the board), where it starts,
+ * its direction, which letters are played with blanks and the score. An exchange holds
+ * the letters given back, with {@link LetterCodes#BLANK_CHAR} for a blank.
+ */
+public class Move {
+    /** The kinds of turn a player can take. */
+    public enum Kind { PLACE, EXCHANGE, PASS }
+
+    private static final Move PASS = new Move(Kind.PASS, "");
+
+    private final Kind kind;
+    private final int row;
+    private final int col;
+    private final boolean horizontal;
+    private final String word;
+    private final int blankMask;
+    private final int tilesPlaced;
+    private final int score;
+
+    /**
+     * Constructs a Move.
+     *
+     * @param row starting row index (0–14)
+     * @param col starting column index (0–14)
+     * @param horizontal true for left to right, false for top to bottom
+     * @param word the full upper-case word formed along the direction of play
+     * @param blankMask bit {@code i} set if letter {@code i} of the word is played with a blank
+     * @param tilesPlaced the number of tiles taken from the rack
+     * @param score the points scored by the move
+     */
+    public Move(int row, int col, boolean horizontal, String word, int blankMask, int tilesPlaced, int score) {
+        this.kind = Kind.PLACE;
+        this.row = row;
+        this.col = col;
+        this.horizontal = horizontal;
+        this.word = word;
+        this.blankMask = blankMask;
+        this.tilesPlaced = tilesPlaced;
+        this.score = score;
+    }
+
+    private Move(Kind kind, String letters) {
+        this.kind = kind;
+        this.row = -1;
+        this.col = -1;
+        this.horizontal = false;
+        this.word = letters;
+        this.blankMask = 0;
+        this.tilesPlaced = 0;
+        this.score = 0;
+    }
+
+    /**
+     * Returns a move that passes the turn.
+     *
+     * @return the pass move
+     */
+    public static Move pass() {
+        return PASS;
+    }
+
+    /**
+     * Returns a move that exchanges tiles with the bag.
+     *
+     * @param letters the letters of the tiles to give back, {@link LetterCodes#BLANK_CHAR} for a blank
+     * @return the exchange move
+     */
+    public static Move exchange(String letters) {
+        return new Move(Kind.EXCHANGE, letters.toUpperCase());
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isPlacement() {
+        return kind == Kind.PLACE;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public boolean isHorizontal() {
+        return horizontal;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getBlankMask() {
+        return blankMask;
+    }
+
+    public int getTilesPlaced() {
+        return tilesPlaced;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the move in the console input format, e.g. "H8 HORIZONTAL HELLO (8)".
+     * Letters played with a blank are shown in lower case. Other turns show as
+     * "PASS" or "EXCHANGE" and the letters given back.
+     *
+     * @return the move as text
+     */
+    @Override
+    public String toString() {
+        if (kind == Kind.PASS) return "PASS";
+        if (kind == Kind.EXCHANGE) return "EXCHANGE " + word;
+        StringBuilder sb = new StringBuilder();
+        sb.append((char) ('A' + col)).append(row + 1).append(' ');
+        sb.append(horizontal ? "HORIZONTAL " : "VERTICAL ");
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            sb.append((blankMask & (1 << i)) != 0 ? Character.toLowerCase(c) : c);
+        }
+        return sb.append(" (").append(score).append(')').toString();
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * A move typed as one line of text, shared by the console game and {@link GameServer}.
+ *
+ * The forms are {@code H8 HORIZONTAL HELLO} (the direction may be shortened to
+ * {@code H} or {@code V}), {@code SWAP 0 2 5} with distinct rack indices, {@code PASS} and
+ * {@code QUIT}. Case and repeated spaces are ignored.
+ */
+public class MoveCommand {
+    public enum Kind { PLACE, SWAP, PASS, QUIT }
+
+    private static final MoveCommand PASS = new MoveCommand(Kind.PASS, 0, 0, true, null, null);
+    private static final MoveCommand QUIT = new MoveCommand(Kind.QUIT, 0, 0, true, null, null);
+
+    private final Kind kind;
+    private final int row;
+    private final int col;
+    private final boolean horizontal;
+    private final String word;
+    private final int[] indices;
+
+    private MoveCommand(Kind kind, int row, int col, boolean horizontal, String word, int[] indices) {
+        this.kind = kind;
+        this.row = row;
+        this.col = col;
+        this.horizontal = horizontal;
+        this.word = word;
+        this.indices = indices;
+    }
+
+    /**
+     * Parses a line of input.
+     *
+     * @param line the line, in either case
+     * @return the command
+     * @throws IllegalArgumentException if the line is not a move; the message says what is wrong
+     */
+    public static MoveCommand parse(String line) {
+        String[] parts = line.trim().toUpperCase().split("\\s+");
+        if (parts.length == 1 && parts[0].equals("PASS")) return PASS;
+        if (parts.length == 1 && parts[0].equals("QUIT")) return QUIT;
+        if (parts[0].equals("SWAP")) {
+            if (parts.length == 1) throw new IllegalArgumentException("Name the rack indices to swap, e.g. SWAP 0 2 5");
+            int[] indices = new int[parts.length - 1];
+            for (int i = 1; i < parts.length; i++) {
+                try {
+                    indices[i - 1] = Integer.parseInt(parts[i]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid input: " + parts[i]);
+                }
+                // Racks share one tile object per letter, so a repeated index would swap two tiles
+                for (int j = 0; j < i - 1; j++) {
+                    if (indices[j] == indices[i - 1]) throw new IllegalArgumentException("Duplicate index: " + parts[i]);
+                }
+            }
+            return new MoveCommand(Kind.SWAP, 0, 0, true, null, indices);
+        }
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid input. Please use the format: H8 HORIZONTAL HELLO");
+        }
+
+        String coord = parts[0];
+        if (coord.length() < 2 || coord.length() > 3) {
+            throw new IllegalArgumentException("Invalid coordinate. Use format like H8 or D12.");
+        }
+        int row;
+        try {
+            row = Integer.parseInt(coord.substring(1)) - 1;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid row number in coordinate.");
+        }
+        int col = coord.charAt(0) - 'A';
+        if (col < 0 || col >= 15 || row < 0 || row >= 15) {
+            throw new IllegalArgumentException("Coordinates out of bounds. Use A–O and 1–15.");
+        }
+
+        boolean horizontal;
+        if (parts[1].equals("HORIZONTAL") || parts[1].equals("H")) {
+            horizontal = true;
+        } else if (parts[1].equals("VERTICAL") || parts[1].equals("V")) {
+            horizontal = false;
+        } else {
+            throw new IllegalArgumentException("Direction must be HORIZONTAL or VERTICAL.");
+        }
+        return new MoveCommand(Kind.PLACE, row, col, horizontal, parts[2], null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the row of the first letter of a placement.
+     *
+     * @return the row index (0–14)
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Returns the column of the first letter of a placement.
+     *
+     * @return the column index (0–14)
+     */
+    public int getCol() {
+        return col;
+    }
+
+    public boolean isHorizontal() {
+        return horizontal;
+    }
+
+    /**
+     * Returns the word of a placement, in upper case.
+     *
+     * @return the word, or null for other kinds
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Returns the rack indices of a swap, as typed.
+     *
+     * @return the indices, or null for other kinds
+     */
+    public int[] getIndices() {
+        return indices == null ? null : indices.clone();
+    }
+}
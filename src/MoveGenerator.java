@@ -0,0 +1,340 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lists every legal placement for a rack on a board, using Gordon's GADDAG
+ * algorithm over anchor squares with cross-check masks.
+ *
+ * Each move is generated from the leftmost (or topmost) anchor it covers, so no
+ * placement is reported twice. Placements must form words of at least two letters,
+ * every cross-word must be valid, and the first move must cover the center square.
+ * Scores follow {@link ScoreCalculator} and are accumulated while the word is built.
+ * A generator keeps scratch buffers between calls and is not thread-safe; use one
+ * per thread and share the {@link Dictionary}.
+ */
+public class MoveGenerator {
+    private static final int SIZE = 15;
+    private static final int CENTER = 7;
+    private static final int ALL_LETTERS = (1 << LetterCodes.LETTERS) - 1;
+    private static final int MID = 16;
+
+    private final GaddagLexicon gaddag;
+    private final Dictionary dictionary;
+
+    // Board seen along the current direction: index line * SIZE + pos, letter code or -1
+    private final byte[] cells = new byte[SIZE * SIZE];
+    private final int[] crossChecks = new int[SIZE * SIZE];
+    private final int[] crossSums = new int[SIZE * SIZE];
+    private final int[] cellPoints = new int[SIZE * SIZE];
+    private final int[] letterMultipliers = new int[SIZE * SIZE];
+    private final int[] wordMultipliers = new int[SIZE * SIZE];
+    private final boolean[] hasCrossWord = new boolean[SIZE * SIZE];
+    private final boolean[] anchors = new boolean[SIZE * SIZE];
+
+    private final int[] rack = new int[LetterCodes.BLANK + 1];
+    private final char[] letters = new char[2 * MID];
+    private final boolean[] blanks = new boolean[2 * MID];
+    private final StringBuilder before = new StringBuilder();
+    private final StringBuilder after = new StringBuilder();
+
+    private boolean horizontal;
+    private int line;
+    private int anchor;
+    private int tilesPlaced;
+    private int rackLetters;
+    private List<Move> results;
+    private Move best;
+
+    /**
+     * Constructs a generator for the words of a dictionary.
+     *
+     * @param dictionary the dictionary whose words are legal
+     */
+    public MoveGenerator(Dictionary dictionary) {
+        this.gaddag = dictionary.getGaddag();
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Constructs a generator on a GADDAG.
+     *
+     * @param gaddag the words that are legal
+     */
+    public MoveGenerator(GaddagLexicon gaddag) {
+        this.gaddag = gaddag;
+        this.dictionary = null;
+    }
+
+    /**
+     * Lists every legal placement of tiles from the rack on the board.
+     * Tiles whose letter is {@link LetterCodes#BLANK_CHAR} are treated as blanks.
+     *
+     * @param board the current board; it is not modified
+     * @param rackTiles the tiles available to play
+     * @return the legal moves with their scores, in no particular order
+     */
+    public List<Move> generate(Board board, List<Tile> rackTiles) {
+        int[] counts = new int[LetterCodes.BLANK + 1];
+        if (rackTiles instanceof Rack) {
+            return generate(board.getState(), ((Rack) rackTiles).copyCounts(counts));
+        }
+        for (Tile tile : rackTiles) {
+            int code = tile.getLetter() == LetterCodes.BLANK_CHAR ? LetterCodes.BLANK : LetterCodes.code(tile.getLetter());
+            if (code >= 0) counts[code]++;
+        }
+        return generate(board.getState(), counts);
+    }
+
+    /**
+     * Lists every legal placement of the given tiles on a board state.
+     *
+     * @param state the position; it is not modified
+     * @param rackCounts the number of tiles held per letter code, with blanks at {@link LetterCodes#BLANK}
+     * @return the legal moves with their scores, in no particular order
+     */
+    public List<Move> generate(BoardState state, int[] rackCounts) {
+        results = new ArrayList<>();
+        search(state, rackCounts);
+        List<Move> moves = results;
+        results = null;
+        return moves;
+    }
+
+    /**
+     * Lists every legal placement as {@link #generate(BoardState, int[])} does, reusing the
+     * list cached for the same position and rack. The key is {@code state.getHash()} XOR
+     * the rack's {@link Zobrist} hash, so a {@link Rack#getHash()} matches it.
+     *
+     * @param state the position; it is not modified
+     * @param rackCounts the number of tiles held per letter code, with blanks at {@link LetterCodes#BLANK}
+     * @param cache lists generated with this generator's dictionary
+     * @return the legal moves; the list is shared through the cache and cannot be changed
+     */
+    public List<Move> generate(BoardState state, int[] rackCounts, PositionCache<List<Move>> cache) {
+        long key = state.getHash() ^ Zobrist.rack(0, rackCounts);
+        List<Move> moves = cache.get(key);
+        if (moves == null) {
+            moves = Collections.unmodifiableList(generate(state, rackCounts));
+            cache.put(key, moves);
+        }
+        return moves;
+    }
+
+    /**
+     * Finds the highest-scoring placement without building the others, for fast
+     * static players. Ties go to the first found, in the same order as {@link #generate}.
+     *
+     * @param state the position; it is not modified
+     * @param rackCounts the number of tiles held per letter code, with blanks at {@link LetterCodes#BLANK}
+     * @return the best move, or null if there is no legal placement
+     */
+    public Move bestMove(BoardState state, int[] rackCounts) {
+        best = null;
+        search(state, rackCounts);
+        Move move = best;
+        best = null;
+        return move;
+    }
+
+    /**
+     * Finds the highest-scoring placement as {@link #bestMove(BoardState, int[])} does,
+     * reusing the move cached for the same position and rack (keyed as for
+     * {@link #generate(BoardState, int[], PositionCache)}).
+     *
+     * @param state the position; it is not modified
+     * @param rackCounts the number of tiles held per letter code, with blanks at {@link LetterCodes#BLANK}
+     * @param cache best moves found with this generator's dictionary; a position with no
+     *              placement is cached as {@link Move#pass()}
+     * @return the best move, or null if there is no legal placement
+     */
+    public Move bestMove(BoardState state, int[] rackCounts, PositionCache<Move> cache) {
+        long key = state.getHash() ^ Zobrist.rack(0, rackCounts);
+        Move move = cache.get(key);
+        if (move == null) {
+            move = bestMove(state, rackCounts);
+            if (move == null) move = Move.pass();
+            cache.put(key, move);
+        }
+        return move.isPlacement() ? move : null;
+    }
+
+    private void search(BoardState state, int[] rackCounts) {
+        System.arraycopy(rackCounts, 0, rack, 0, rack.length);
+        rackLetters = 0;
+        for (int letter = 0; letter < LetterCodes.LETTERS; letter++) {
+            if (rack[letter] > 0) rackLetters |= 1 << letter;
+        }
+        for (int pass = 0; pass < 2; pass++) {
+            horizontal = pass == 0;
+            loadBoard(state);
+            for (line = 0; line < SIZE; line++) {
+                for (anchor = 0; anchor < SIZE; anchor++) {
+                    if (anchors[line * SIZE + anchor]) {
+                        tilesPlaced = 0;
+                        gen(0, gaddag.root(), 0, 0, 1, 0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the board into the line view for the current direction, with its anchors
+     * and cross-checks. In the vertical pass lines are columns. Cross-checks come from
+     * the state when it tracks them for this generator's words, and are computed
+     * here otherwise. Cross-sums and tile values always come from the state.
+     */
+    private void loadBoard(BoardState state) {
+        for (int l = 0; l < SIZE; l++) {
+            for (int p = 0; p < SIZE; p++) {
+                int boardSq = horizontal ? l * SIZE + p : p * SIZE + l;
+                cells[l * SIZE + p] = (byte) state.get(boardSq);
+            }
+        }
+        Lexicon tracked = state.getLexicon();
+        boolean useTracked = tracked != null
+                && (tracked == gaddag || (dictionary != null && tracked == dictionary.getLexicon()));
+        for (int l = 0; l < SIZE; l++) {
+            for (int p = 0; p < SIZE; p++) {
+                int sq = l * SIZE + p;
+                int boardSq = horizontal ? sq : p * SIZE + l;
+                anchors[sq] = state.isAnchor(boardSq);
+                letterMultipliers[sq] = ScoreCalculator.letterMultiplier(boardSq);
+                wordMultipliers[sq] = ScoreCalculator.wordMultiplier(boardSq);
+                cellPoints[sq] = cells[sq] >= 0 ? state.points(boardSq) : 0;
+                crossSums[sq] = cells[sq] >= 0 ? -1 : state.getCrossSum(boardSq, horizontal);
+                hasCrossWord[sq] = cells[sq] < 0 && ((l > 0 && cells[sq - SIZE] >= 0)
+                        || (l < SIZE - 1 && cells[sq + SIZE] >= 0));
+                if (useTracked) {
+                    crossChecks[sq] = cells[sq] < 0 ? state.getCrossCheck(boardSq, horizontal) : 0;
+                } else {
+                    crossChecks[sq] = computeCrossCheck(l, p);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the cross-check of a square in the line view from the tiles in the
+     * neighbouring lines.
+     */
+    private int computeCrossCheck(int l, int p) {
+        int sq = l * SIZE + p;
+        if (cells[sq] >= 0) return 0;
+        if (!hasCrossWord[sq]) return ALL_LETTERS;
+        before.setLength(0);
+        after.setLength(0);
+        int start = l;
+        while (start > 0 && cells[(start - 1) * SIZE + p] >= 0) start--;
+        for (int k = start; k < l; k++) before.append(LetterCodes.letter(cells[k * SIZE + p]));
+        for (int k = l + 1; k < SIZE && cells[k * SIZE + p] >= 0; k++) {
+            after.append(LetterCodes.letter(cells[k * SIZE + p]));
+        }
+        return gaddag.crossCheck(before, after);
+    }
+
+    /**
+     * Extends the partial word at offset {@code pos} from the anchor.
+     * Offsets up to 0 are built leftwards, positive offsets rightwards after the separator.
+     * The main word's letter total, its word multiplier and the cross-word total are
+     * carried along so a recorded move is scored without rescanning.
+     */
+    private void gen(int pos, int node, int leftmost, int mainSum, int wordMultiplier, int crossScore) {
+        int sq = line * SIZE + anchor + pos;
+        int existing = cells[sq];
+        if (existing >= 0) {
+            goOn(pos, existing, false, node, leftmost, mainSum + cellPoints[sq], wordMultiplier, crossScore);
+            return;
+        }
+        int letterMultiplier = letterMultipliers[sq];
+        int squareMultiplier = wordMultipliers[sq];
+        int crossSum = crossSums[sq];
+        int playable = rack[LetterCodes.BLANK] > 0 ? ALL_LETTERS : rackLetters;
+        int allowed = crossChecks[sq] & gaddag.edgeMask(node) & playable;
+        while (allowed != 0) {
+            int letter = Integer.numberOfTrailingZeros(allowed);
+            allowed &= allowed - 1;
+            if (rack[letter] > 0) {
+                if (--rack[letter] == 0) rackLetters &= ~(1 << letter);
+                tilesPlaced++;
+                int letterScore = LetterCodes.points(letter) * letterMultiplier;
+                goOn(pos, letter, false, node, leftmost, mainSum + letterScore, wordMultiplier * squareMultiplier,
+                        crossSum < 0 ? crossScore : crossScore + (crossSum + letterScore) * squareMultiplier);
+                tilesPlaced--;
+                rack[letter]++;
+                rackLetters |= 1 << letter;
+            }
+            if (rack[LetterCodes.BLANK] > 0) {
+                rack[LetterCodes.BLANK]--;
+                tilesPlaced++;
+                goOn(pos, letter, true, node, leftmost, mainSum, wordMultiplier * squareMultiplier,
+                        crossSum < 0 ? crossScore : crossScore + crossSum * squareMultiplier);
+                tilesPlaced--;
+                rack[LetterCodes.BLANK]++;
+            }
+        }
+    }
+
+    private void goOn(int pos, int letter, boolean blank, int oldNode, int leftmost,
+                      int mainSum, int wordMultiplier, int crossScore) {
+        int next = gaddag.child(oldNode, letter);
+        if (next < 0) return;
+        int col = anchor + pos;
+        letters[MID + pos] = LetterCodes.letter(letter);
+        blanks[MID + pos] = blank;
+
+        if (pos <= 0) {
+            boolean clearLeft = col == 0 || cells[line * SIZE + col - 1] < 0;
+            boolean clearRightOfAnchor = anchor == SIZE - 1 || cells[line * SIZE + anchor + 1] < 0;
+            if (gaddag.isTerminal(next) && clearLeft && clearRightOfAnchor) {
+                record(pos, 0, mainSum, wordMultiplier, crossScore);
+            }
+            if (col > 0 && canExtendLeft(col - 1)) {
+                gen(pos - 1, next, pos - 1, mainSum, wordMultiplier, crossScore);
+            }
+            int separator = gaddag.child(next, GaddagLexicon.SEPARATOR);
+            if (separator >= 0 && clearLeft && anchor < SIZE - 1) {
+                gen(1, separator, pos, mainSum, wordMultiplier, crossScore);
+            }
+        } else {
+            boolean clearRight = col == SIZE - 1 || cells[line * SIZE + col + 1] < 0;
+            if (gaddag.isTerminal(next) && clearRight) {
+                record(leftmost, pos, mainSum, wordMultiplier, crossScore);
+            }
+            if (col < SIZE - 1) {
+                gen(pos + 1, next, leftmost, mainSum, wordMultiplier, crossScore);
+            }
+        }
+    }
+
+    /**
+     * A leftward walk may cross tiles and empty squares, but not an empty anchor:
+     * moves covering that anchor are generated from it instead.
+     */
+    private boolean canExtendLeft(int col) {
+        int sq = line * SIZE + col;
+        return cells[sq] >= 0 || !anchors[sq];
+    }
+
+    private void record(int left, int right, int mainSum, int wordMultiplier, int crossScore) {
+        int length = right - left + 1;
+        if (length < 2) return;
+        // A single tile forming words both ways is reported once, by the horizontal pass
+        if (!horizontal && tilesPlaced == 1 && hasCrossWord[line * SIZE + anchor]) return;
+        int score = ScoreCalculator.total(mainSum, wordMultiplier, crossScore, tilesPlaced);
+        if (results == null && best != null && score <= best.getScore()) return;
+
+        int blankMask = 0;
+        for (int i = 0; i < length; i++) {
+            if (blanks[MID + left + i] && cells[line * SIZE + anchor + left + i] < 0) blankMask |= 1 << i;
+        }
+        String word = new String(letters, MID + left, length);
+        int start = anchor + left;
+        Move move = horizontal
+                ? new Move(line, start, true, word, blankMask, tilesPlaced, score)
+                : new Move(start, line, false, word, blankMask, tilesPlaced, score);
+        if (results != null) results.add(move);
+        else best = move;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * A word placement worked out by {@link Board#prepare} without touching the board or the
+ * player's rack: the squares it fills, their letters and its score. A legal placement is
+ * applied all at once by {@link Board#commit(Placement)} and can be taken back with
+ * {@link Board#undo(Placement)}; either way the board never holds half a word.
+ */
+public class Placement {
+    final Board board; // The board that prepared it; only that board commits or undoes it
+    private final Player player;
+    private final String word;
+    private final int row;
+    private final int col;
+    private final boolean horizontal;
+    private final PlacementStatus status;
+    private final int score;
+    private final int[] squares;
+    private final byte[] codes;
+    private final int count;
+    private final Tile[] tiles;
+    final long version; // The board version the placement was checked against
+    long committedVersion = -1; // The board version its commit produced, or -1
+
+    Placement(Board board, Player player, String word, int row, int col, boolean horizontal, PlacementStatus status,
+              int score, int[] squares, byte[] codes, int count, long version) {
+        this.board = board;
+        this.player = player;
+        this.word = word;
+        this.row = row;
+        this.col = col;
+        this.horizontal = horizontal;
+        this.status = status;
+        this.score = score;
+        this.squares = squares;
+        this.codes = codes;
+        this.count = count;
+        this.tiles = new Tile[count];
+        this.version = version;
+    }
+
+    /**
+     * Returns whether the placement is legal, or the first rule it breaks.
+     *
+     * @return the status; only {@link PlacementStatus#PLACED} placements can be committed
+     */
+    public PlacementStatus getStatus() {
+        return status;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public boolean isHorizontal() {
+        return horizontal;
+    }
+
+    /**
+     * Returns the points the placement scores, including cross-words and the bingo bonus.
+     *
+     * @return the score, or 0 if the placement is not legal
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the number of tiles the placement takes from the rack.
+     *
+     * @return the tile count, or 0 if the placement is not legal
+     */
+    public int getTileCount() {
+        return count;
+    }
+
+    /**
+     * Returns a square the placement fills.
+     *
+     * @param i the tile index, from 0 to {@link #getTileCount()} - 1, in word order
+     * @return the square, {@code row * 15 + col}
+     */
+    public int getSquare(int i) {
+        return squares[i];
+    }
+
+    /**
+     * Returns the letter code placed on a square.
+     *
+     * @param i the tile index, as for {@link #getSquare(int)}
+     * @return the letter code (0–25)
+     */
+    public int getCode(int i) {
+        return codes[i];
+    }
+
+    /**
+     * Checks whether the placement is on the board.
+     *
+     * @return true between {@link Board#commit} and {@link Board#undo}
+     */
+    public boolean isCommitted() {
+        return committedVersion >= 0;
+    }
+
+    int[] squares() {
+        return squares;
+    }
+
+    byte[] codes() {
+        return codes;
+    }
+
+    Tile[] tiles() {
+        return tiles;
+    }
+}
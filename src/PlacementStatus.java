@@ -0,0 +1,29 @@
+/**
+ * The outcome of trying to place a word with {@link Board#tryPlaceWord}: placed, or the
+ * first rule the placement broke. Rules are checked in the order listed.
+ */
+public enum PlacementStatus {
+    PLACED("Word placed."),
+    OUT_OF_BOUNDS("The word does not fit on the board there."),
+    NOT_LETTERS("Only letters A–Z can be placed."),
+    CONFLICT("The word conflicts with tiles already on the board."),
+    NOT_CONNECTED("Word must connect to existing tiles."),
+    MISSING_TILES("You don't have the tiles to play that word."),
+    /** Only reported by {@link Board#checkPlacements}; {@link Board#tryPlaceWord} does not look words up. */
+    NOT_A_WORD("Invalid word! Please enter a valid word from the dictionary.");
+
+    private final String message;
+
+    PlacementStatus(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns a sentence describing the outcome, suitable for showing to the player.
+     *
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -1,13 +1,10 @@
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Represents a player in the Scrabble game.
  * Each player has a name, a rack of letter tiles, and a score.
  */
 public class Player {
     private String name;
-    private List<Tile> rack;
+    private Rack rack;
     private int score;
 
     /**
@@ -18,7 +15,7 @@ public class Player {
      */
     public Player(String name) {
         this.name = name;
-        this.rack = new ArrayList<>();
+        this.rack = new Rack();
         this.score = 0;
     }
 
@@ -36,7 +33,7 @@ public class Player {
      *
      * @return the player's rack of tiles
      */
-    public List<Tile> getRack() {
+    public Rack getRack() {
         return rack;
     }
 
@@ -65,14 +62,8 @@ public class Player {
      * @param word the word to remove tiles for
      */
     public void useTilesForWord(String word) {
-        word = word.toUpperCase();
-        for (char c : word.toCharArray()) {
-            for (int i = 0; i < rack.size(); i++) {
-                if (rack.get(i).getLetter() == c) {
-                    rack.remove(i);
-                    break;
-                }
-            }
+        for (int i = 0; i < word.length(); i++) {
+            rack.removeLetter(word.charAt(i));
         }
     }
 
@@ -109,36 +100,20 @@ public class Player {
      * @return the matching Tile object, or null if not found
      */
     public Tile findTileInRack(char letter) {
-        for (Tile tile : rack) {
-            if (tile.getLetter() == Character.toUpperCase(letter)) {
-                return tile;
-            }
-        }
-        return null;
+        return rack.find(letter);
     }
 
 
 
     /**
      * Checks if the player has the necessary tiles to form the given word.
-     * Does not account for blank tiles yet (Milestone 3).
+     * Blank tiles stand in for missing letters.
      *
      * @param word the word to check
      * @return true if the player can form the word, false otherwise
      */
     public boolean canFormWord(String word) {
-        word = word.toUpperCase();
-        List<Character> rackLetters = new ArrayList<>();
-        for (Tile t : rack) {
-            rackLetters.add(t.getLetter());
-        }
-
-        for (char c : word.toCharArray()) {
-            if (!rackLetters.remove((Character) c)) {
-                return false;
-            }
-        }
-        return true;
+        return rack.canForm(word);
     }
 
 
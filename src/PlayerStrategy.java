@@ -0,0 +1,19 @@
+import java.util.List;
+
+/**
+ * Chooses the move a player makes on their turn in a {@link GameEngine} game.
+ * Strategies must not change the board or rack they are given.
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Chooses a move for the current turn.
+     *
+     * @param board the current position
+     * @param rack the player's tiles
+     * @param moves every legal placement for the rack, in the generator's order
+     * @param tilesInBag the number of tiles left in the bag; exchanges need at least 7
+     * @return one of {@code moves}, {@link Move#exchange(String)} or {@link Move#pass()}
+     */
+    Move chooseMove(BoardState board, Rack rack, List<Move> moves, int tilesInBag);
+}
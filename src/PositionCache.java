@@ -0,0 +1,238 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of analysis results keyed by 64-bit {@link Zobrist} position hashes, such
+ * as {@code board.getHash() ^ rack.getHash()}: move lists, hints, evaluations or solver
+ * results. Repeated requests for the same position then skip the search.
+ *
+ * The cache is split into segments, each behind its own lock, so threads working on
+ * different positions rarely wait for each other. A full segment evicts with the CLOCK
+ * algorithm: entries read since the hand last passed get a second chance, so positions
+ * asked for again and again stay while one-off positions make room. Each segment keeps
+ * its keys in primitive arrays with an open-addressing index, so lookups do not allocate.
+ *
+ * Keys are trusted: two positions with the same hash share an entry. A cache should only
+ * hold results computed with one dictionary.
+ *
+ * @param <V> the type of the cached results
+ */
+public class PositionCache<V> {
+    private static final int MIN_SEGMENT = 16;
+
+    private final Segment<V>[] segments;
+    private final int segmentShift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity the most results held at once
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PositionCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        int wanted = Runtime.getRuntime().availableProcessors() * 4;
+        int count = 1;
+        while (count < wanted && capacity / (count * 2) >= MIN_SEGMENT) count *= 2;
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(capacity / count + (i < capacity % count ? 1 : 0));
+        }
+        segmentShift = 64 - Integer.numberOfTrailingZeros(count);
+    }
+
+    private Segment<V> segment(long key) {
+        // The index uses the low bits of the key, so segments are picked by the high ones
+        return segments.length == 1 ? segments[0] : segments[(int) (key >>> segmentShift)];
+    }
+
+    /**
+     * Returns the result cached for a position and marks it as recently used.
+     *
+     * @param key the position hash
+     * @return the result, or null if none is cached
+     */
+    public V get(long key) {
+        V value = segment(key).get(key);
+        if (value == null) misses.increment();
+        else hits.increment();
+        return value;
+    }
+
+    /**
+     * Caches a result, replacing any result for the same position. If the cache is full
+     * a result that has not been read recently is evicted.
+     *
+     * @param key the position hash
+     * @param value the result
+     * @throws NullPointerException if the value is null
+     */
+    public void put(long key, V value) {
+        if (value == null) throw new NullPointerException("value");
+        segment(key).put(key, value);
+    }
+
+    /**
+     * Removes every result and resets the hit and miss counts.
+     */
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Returns the number of results cached.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the most results the cache holds.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        int capacity = 0;
+        for (Segment<V> segment : segments) {
+            capacity += segment.keys.length;
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns the number of lookups that found a result.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found nothing.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * A fixed number of slots with a CLOCK hand, and an index from key to slot.
+     */
+    private static final class Segment<V> {
+        final long[] keys;
+        private final Object[] values;
+        private final boolean[] referenced;
+        // Slot + 1 for each key, by linear probing from the key's low bits; 0 marks a free entry
+        private final int[] index;
+        private final int mask;
+        private int size;
+        private int hand;
+
+        Segment(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+            referenced = new boolean[capacity];
+            index = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+            mask = index.length - 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V get(long key) {
+            int slot = find(key);
+            if (slot < 0) return null;
+            referenced[slot] = true;
+            return (V) values[slot];
+        }
+
+        synchronized void put(long key, Object value) {
+            int slot = find(key);
+            if (slot >= 0) {
+                values[slot] = value;
+                referenced[slot] = true;
+                return;
+            }
+            if (size < keys.length) {
+                slot = size++;
+            } else {
+                slot = evict();
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            referenced[slot] = false;
+            int i = (int) key & mask;
+            while (index[i] != 0) i = (i + 1) & mask;
+            index[i] = slot + 1;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(values, null);
+            Arrays.fill(referenced, false);
+            Arrays.fill(index, 0);
+            size = 0;
+            hand = 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private int find(long key) {
+            for (int i = (int) key & mask; index[i] != 0; i = (i + 1) & mask) {
+                int slot = index[i] - 1;
+                if (keys[slot] == key) return slot;
+            }
+            return -1;
+        }
+
+        /**
+         * Advances the hand past recently read slots, clearing their marks, and frees the
+         * first slot that was not read since the hand last passed it.
+         */
+        private int evict() {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = hand + 1 == keys.length ? 0 : hand + 1;
+            }
+            int slot = hand;
+            hand = hand + 1 == keys.length ? 0 : hand + 1;
+            unindex(keys[slot]);
+            values[slot] = null;
+            return slot;
+        }
+
+        /**
+         * Removes a key from the index, moving later entries of its probe run back so
+         * lookups never stop early at the gap.
+         */
+        private void unindex(long key) {
+            int gap = (int) key & mask;
+            while (keys[index[gap] - 1] != key) gap = (gap + 1) & mask;
+            index[gap] = 0;
+            for (int i = (gap + 1) & mask; index[i] != 0; i = (i + 1) & mask) {
+                int home = (int) keys[index[i] - 1] & mask;
+                // The entry at i may move to the gap unless its home lies cyclically in (gap, i]
+                boolean stays = gap < i ? home > gap && home <= i : home > gap || home <= i;
+                if (!stays) {
+                    index[gap] = index[i];
+                    index[i] = 0;
+                    gap = i;
+                }
+            }
+        }
+    }
+}
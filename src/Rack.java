@@ -0,0 +1,214 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A player's rack of tiles. Keeps the tiles in order, as a list, together with a
+ * count per letter code (A–Z plus blank) that is updated on every change, so letter
+ * checks are O(1) and {@link #canForm(CharSequence)} runs without allocating.
+ * Tiles whose letter is {@link LetterCodes#BLANK_CHAR} count as blanks.
+ */
+public class Rack extends AbstractList<Tile> implements RandomAccess {
+    private static final int KEY_BITS = 5;
+    private static final int KEY_TILES = Long.SIZE / KEY_BITS;
+
+    private Tile[] tiles = new Tile[ScoreCalculator.RACK_SIZE];
+    private int size;
+    private final int[] counts = new int[LetterCodes.BLANK + 1];
+    private long hash;
+
+    /**
+     * Returns the letter code a tile is counted under.
+     *
+     * @param tile the tile
+     * @return the letter code, {@link LetterCodes#BLANK} for a blank, or -1 for any other character
+     */
+    static int codeOf(Tile tile) {
+        return tile.getLetter() == LetterCodes.BLANK_CHAR ? LetterCodes.BLANK : LetterCodes.code(tile.getLetter());
+    }
+
+    @Override
+    public Tile get(int index) {
+        checkIndex(index, size);
+        return tiles[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Tile set(int index, Tile tile) {
+        checkIndex(index, size);
+        Tile old = tiles[index];
+        uncount(old);
+        tiles[index] = tile;
+        count(tile);
+        return old;
+    }
+
+    @Override
+    public void add(int index, Tile tile) {
+        checkIndex(index, size + 1);
+        if (size == tiles.length) tiles = Arrays.copyOf(tiles, size * 2);
+        System.arraycopy(tiles, index, tiles, index + 1, size - index);
+        tiles[index] = tile;
+        size++;
+        count(tile);
+        modCount++;
+    }
+
+    @Override
+    public Tile remove(int index) {
+        checkIndex(index, size);
+        Tile old = tiles[index];
+        System.arraycopy(tiles, index + 1, tiles, index, size - index - 1);
+        tiles[--size] = null;
+        uncount(old);
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(tiles, 0, size, null);
+        Arrays.fill(counts, 0);
+        hash = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns how many tiles of a letter code the rack holds.
+     *
+     * @param code the letter code (0–25), or {@link LetterCodes#BLANK}
+     * @return the number of tiles
+     */
+    public int count(int code) {
+        return counts[code];
+    }
+
+    /**
+     * Checks if the rack holds a tile with the given letter.
+     *
+     * @param letter the letter, in either case, or {@link LetterCodes#BLANK_CHAR}
+     * @return true if at least one such tile is on the rack
+     */
+    public boolean hasLetter(char letter) {
+        int code = letter == LetterCodes.BLANK_CHAR ? LetterCodes.BLANK : LetterCodes.code(letter);
+        return code >= 0 && counts[code] > 0;
+    }
+
+    /**
+     * Returns the first tile with the given letter.
+     *
+     * @param letter the letter, in either case, or {@link LetterCodes#BLANK_CHAR}
+     * @return the tile, or null if the rack has none
+     */
+    public Tile find(char letter) {
+        if (!hasLetter(letter)) return null;
+        char upper = Character.toUpperCase(letter);
+        for (int i = 0; i < size; i++) {
+            if (tiles[i] != null && tiles[i].getLetter() == upper) return tiles[i];
+        }
+        return null;
+    }
+
+    /**
+     * Removes the first tile with the given letter.
+     *
+     * @param letter the letter, in either case, or {@link LetterCodes#BLANK_CHAR}
+     * @return the removed tile, or null if the rack has none
+     */
+    public Tile removeLetter(char letter) {
+        if (!hasLetter(letter)) return null;
+        char upper = Character.toUpperCase(letter);
+        for (int i = 0; i < size; i++) {
+            if (tiles[i] != null && tiles[i].getLetter() == upper) return remove(i);
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the rack holds the tiles to spell a word, using blanks for any
+     * missing letters. Does not allocate.
+     *
+     * @param word the word, in either case
+     * @return true if every letter is covered by a tile or a blank
+     */
+    public boolean canForm(CharSequence word) {
+        int shortfall = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int code = LetterCodes.code(word.charAt(i));
+            if (code < 0) return false;
+            // This is occurrence number 'seen' of the letter; past the rack's count it needs a blank
+            int seen = 1;
+            for (int j = 0; j < i; j++) {
+                if (LetterCodes.code(word.charAt(j)) == code) seen++;
+            }
+            if (seen > counts[code]) shortfall++;
+        }
+        return shortfall <= counts[LetterCodes.BLANK];
+    }
+
+    /**
+     * Copies the per-letter counts, indexed by letter code with blanks at {@link LetterCodes#BLANK}.
+     *
+     * @param out an array of at least 27 entries
+     * @return {@code out}
+     */
+    public int[] copyCounts(int[] out) {
+        System.arraycopy(counts, 0, out, 0, counts.length);
+        return out;
+    }
+
+    /**
+     * Returns a key for the multiset of letters on the rack, independent of tile order.
+     * Letter codes are packed in sorted order, 5 bits each, so racks of up to 12 tiles
+     * get distinct keys; longer racks share keys with their first 12 letters.
+     *
+     * @return the rack key
+     */
+    public long key() {
+        long key = 0;
+        int packed = 0;
+        for (int code = 0; code < counts.length && packed < KEY_TILES; code++) {
+            for (int n = counts[code]; n > 0 && packed < KEY_TILES; n--, packed++) {
+                key = (key << KEY_BITS) | (code + 1);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Returns the {@link Zobrist} hash of the letters on the rack, as
+     * {@code Zobrist.rack(0, counts)} would compute it, kept up to date on every change.
+     * Racks with the same letters in any order have the same hash.
+     *
+     * @return the hash, 0 for an empty rack
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    private void count(Tile tile) {
+        int code = tile == null ? -1 : codeOf(tile);
+        if (code < 0) return;
+        int n = counts[code]++;
+        if (n < Zobrist.MAX_COUNT) hash ^= Zobrist.rack(0, code, n);
+    }
+
+    private void uncount(Tile tile) {
+        int code = tile == null ? -1 : codeOf(tile);
+        if (code < 0) return;
+        int n = --counts[code];
+        if (n < Zobrist.MAX_COUNT) hash ^= Zobrist.rack(0, code, n);
+    }
+
+    private void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Scores placements with the standard premium squares, every cross-word formed and
+ * the bingo bonus for playing a full rack.
+ *
+ * Premium squares are read from precomputed per-square multiplier tables and letter
+ * values from {@link LetterCodes#points(int)}. Premiums only count for tiles placed by
+ * the move. Cross-words are scored from the cross-sums kept by {@link BoardState},
+ * so the tiles already on the board are never rescanned and scoring allocates nothing.
+ */
+public final class ScoreCalculator {
+    /** Bonus for placing all the tiles of a full rack in one move. */
+    public static final int BINGO_BONUS = 50;
+    /** Number of tiles that must be placed for the bingo bonus. */
+    public static final int RACK_SIZE = 7;
+
+    private static final int SIZE = BoardState.SIZE;
+
+    // T = triple word, D = double word, t = triple letter, d = double letter
+    private static final String[] LAYOUT = {
+            "T..d...T...d..T",
+            ".D...t...t...D.",
+            "..D...d.d...D..",
+            "d..D...d...D..d",
+            "....D.....D....",
+            ".t...t...t...t.",
+            "..d...d.d...d..",
+            "T..d...D...d..T",
+            "..d...d.d...d..",
+            ".t...t...t...t.",
+            "....D.....D....",
+            "d..D...d...D..d",
+            "..D...d.d...D..",
+            ".D...t...t...D.",
+            "T..d...T...d..T",
+    };
+
+    private static final byte[] LETTER_MULTIPLIER = new byte[BoardState.SQUARES];
+    private static final byte[] WORD_MULTIPLIER = new byte[BoardState.SQUARES];
+
+    static {
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                char premium = LAYOUT[r].charAt(c);
+                int sq = r * SIZE + c;
+                LETTER_MULTIPLIER[sq] = (byte) (premium == 't' ? 3 : premium == 'd' ? 2 : 1);
+                WORD_MULTIPLIER[sq] = (byte) (premium == 'T' ? 3 : premium == 'D' ? 2 : 1);
+            }
+        }
+    }
+
+    private ScoreCalculator() {
+    }
+
+    /**
+     * Returns the letter multiplier of a square.
+     *
+     * @param sq the square index, {@code row * 15 + col}
+     * @return 1, 2 or 3
+     */
+    public static int letterMultiplier(int sq) {
+        return LETTER_MULTIPLIER[sq];
+    }
+
+    /**
+     * Returns the word multiplier of a square.
+     *
+     * @param sq the square index, {@code row * 15 + col}
+     * @return 1, 2 or 3
+     */
+    public static int wordMultiplier(int sq) {
+        return WORD_MULTIPLIER[sq];
+    }
+
+    /**
+     * Scores a move on the position before it is played.
+     *
+     * @param state the position the move is played on
+     * @param move the move to score
+     * @return the points the move scores
+     */
+    public static int score(BoardState state, Move move) {
+        return score(state, move.getWord(), move.getRow(), move.getCol(), move.isHorizontal(), move.getBlankMask());
+    }
+
+    /**
+     * Scores a word placed on the position before it is played. Squares already holding
+     * a tile keep that tile's value, without premiums; empty squares receive the word's letter.
+     *
+     * @param state the position the word is played on
+     * @param word the full word along the direction of play, letters A–Z only
+     * @param row starting row index (0–14)
+     * @param col starting column index (0–14)
+     * @param horizontal true for left to right, false for top to bottom
+     * @param blankMask bit {@code i} set if letter {@code i} is played with a blank
+     * @return the points the word and its cross-words score
+     */
+    public static int score(BoardState state, CharSequence word, int row, int col, boolean horizontal, int blankMask) {
+        int step = horizontal ? 1 : SIZE;
+        int sq = row * SIZE + col;
+        int mainSum = 0;
+        int wordMultiplier = 1;
+        int crossScore = 0;
+        int placed = 0;
+        for (int i = 0; i < word.length(); i++, sq += step) {
+            if (!state.isEmpty(sq)) {
+                mainSum += state.points(sq);
+                continue;
+            }
+            int value = (blankMask & (1 << i)) != 0 ? 0 : LetterCodes.points(LetterCodes.code(word.charAt(i)));
+            int letterScore = value * LETTER_MULTIPLIER[sq];
+            mainSum += letterScore;
+            wordMultiplier *= WORD_MULTIPLIER[sq];
+            int crossSum = state.getCrossSum(sq, horizontal);
+            if (crossSum >= 0) crossScore += (crossSum + letterScore) * WORD_MULTIPLIER[sq];
+            placed++;
+        }
+        return total(mainSum, wordMultiplier, crossScore, placed);
+    }
+
+    /**
+     * Combines the running totals of a placement into its score.
+     *
+     * @param mainSum the main word's letter values, with letter premiums applied
+     * @param wordMultiplier the product of the word premiums under the placed tiles
+     * @param crossScore the total of the cross-words, premiums applied
+     * @param tilesPlaced the number of tiles placed
+     * @return the score, with the bingo bonus if a full rack was placed
+     */
+    public static int total(int mainSum, int wordMultiplier, int crossScore, int tilesPlaced) {
+        return mainSum * wordMultiplier + crossScore + (tilesPlaced == RACK_SIZE ? BINGO_BONUS : 0);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Small, fast, seedable random number generator (SplitMix64).
+ *
+ * The same seed always gives the same sequence, so a game or simulation can be
+ * replayed exactly. Instances are not thread-safe; give each thread its own,
+ * for example from {@link #split()}. The full state is a single long that can be
+ * saved with {@link #getState()} and restored with {@link #setState(long)}.
+ */
+public final class SeededRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static long seedUniquifier = System.nanoTime();
+
+    private long state;
+
+    /**
+     * Constructs a generator with the given seed.
+     *
+     * @param seed the seed
+     */
+    public SeededRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Constructs a generator with a seed that differs on every call.
+     */
+    public SeededRandom() {
+        this(nextSeed());
+    }
+
+    private static synchronized long nextSeed() {
+        seedUniquifier += GOLDEN_GAMMA;
+        return mix(seedUniquifier ^ System.nanoTime());
+    }
+
+    /**
+     * Returns the next pseudo-random long.
+     *
+     * @return a uniformly distributed long
+     */
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * Returns a pseudo-random int between 0 (inclusive) and {@code bound} (exclusive),
+     * without modulo bias.
+     *
+     * @param bound the upper bound; must be positive
+     * @return a uniformly distributed value in {@code [0, bound)}
+     * @throws IllegalArgumentException if bound is not positive
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound must be positive");
+        int r = (int) (nextLong() >>> 33);
+        int m = bound - 1;
+        if ((bound & m) == 0) return (int) ((bound * (long) r) >> 31);
+        for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong() >>> 33)) {
+            // Reject values from the incomplete last interval
+        }
+        return r;
+    }
+
+    /**
+     * Returns a pseudo-random double between 0 (inclusive) and 1 (exclusive).
+     *
+     * @return a uniformly distributed double
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Returns a new generator seeded from this one, for use on another thread.
+     *
+     * @return an independent generator
+     */
+    public SeededRandom split() {
+        return new SeededRandom(nextLong());
+    }
+
+    /**
+     * Returns the current state; a generator set to it continues the same sequence.
+     *
+     * @return the state
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state returned by {@link #getState()}.
+     *
+     * @param state the state
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * Derives the seed of one item of a seeded run, such as one game of a tournament or
+     * one playout of a simulation, so any item can be rerun on its own. Equal to the
+     * first {@link #nextLong()} of a generator started {@code index} steps into the
+     * sequence of {@code seed}.
+     *
+     * @param seed the seed of the run
+     * @param index the item's index, any long
+     * @return the item's seed
+     */
+    public static long mix(long seed, long index) {
+        return mix(seed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
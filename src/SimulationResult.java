@@ -0,0 +1,46 @@
+/**
+ * The estimated equity of one candidate move from a {@link MonteCarloSimulator} run:
+ * the mean point spread over the simulated playouts, with its standard error.
+ */
+public class SimulationResult {
+    private final Move move;
+    private final long iterations;
+    private final double meanEquity;
+    private final double standardError;
+
+    /**
+     * Constructs a SimulationResult.
+     *
+     * @param move the candidate move
+     * @param iterations the number of playouts simulated
+     * @param meanEquity the mean spread, including the move's own score
+     * @param standardError the standard error of the mean
+     */
+    public SimulationResult(Move move, long iterations, double meanEquity, double standardError) {
+        this.move = move;
+        this.iterations = iterations;
+        this.meanEquity = meanEquity;
+        this.standardError = standardError;
+    }
+
+    public Move getMove() {
+        return move;
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    public double getMeanEquity() {
+        return meanEquity;
+    }
+
+    public double getStandardError() {
+        return standardError;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s equity %+.2f +/- %.2f (%d iterations)", move, meanEquity, standardError, iterations);
+    }
+}
@@ -0,0 +1,216 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class BoardStateTest {
+
+    private static final DawgLexicon WORDS = DawgLexicon.build(Arrays.asList("cat", "cats", "scat", "at", "as", "ta"));
+
+    private void assertSameState(BoardState expected, BoardState actual) {
+        assertEquals(expected.getTileCount(), actual.getTileCount());
+        for (int sq = 0; sq < BoardState.SQUARES; sq++) {
+            assertEquals(expected.get(sq), actual.get(sq));
+            assertEquals(expected.isBlank(sq), actual.isBlank(sq));
+            assertEquals(expected.isAnchor(sq), actual.isAnchor(sq));
+            assertEquals(expected.getCrossCheck(sq, true), actual.getCrossCheck(sq, true));
+            assertEquals(expected.getCrossCheck(sq, false), actual.getCrossCheck(sq, false));
+        }
+    }
+
+    @Test
+    public void testEmptyState() {
+        BoardState state = new BoardState(WORDS);
+        assertEquals(0, state.getTileCount());
+        assertTrue(state.isEmpty(BoardState.CENTER));
+        assertTrue(state.isAnchor(BoardState.CENTER));
+        assertEquals(BoardState.ALL_LETTERS, state.getCrossCheck(0, true));
+    }
+
+    @Test
+    public void testMakeMove() {
+        BoardState state = new BoardState(WORDS);
+        state.makeMove(new Move(7, 7, true, "CAT", 1 << 2, 3, 4));
+        assertEquals(3, state.getTileCount());
+        assertEquals(LetterCodes.code('C'), state.get(7, 7));
+        assertEquals(LetterCodes.code('T'), state.get(7, 9));
+        assertTrue(state.isBlank(7 * BoardState.SIZE + 9));
+        assertFalse(state.isBlank(7 * BoardState.SIZE + 8));
+        assertFalse(state.isAnchor(BoardState.CENTER));
+        assertTrue(state.isAnchor(7 * BoardState.SIZE + 10));
+        int s = 1 << LetterCodes.code('S');
+        assertEquals(s, state.getCrossCheck(7 * BoardState.SIZE + 10, false));
+        assertEquals(s, state.getCrossCheck(7 * BoardState.SIZE + 6, false));
+    }
+
+    @Test
+    public void testUnmakeRestoresPosition() {
+        BoardState state = new BoardState(WORDS);
+        state.makeMove(new Move(7, 7, true, "CAT", 0, 3, 5));
+        BoardState before = state.copy();
+        state.makeMove(new Move(7, 7, true, "CATS", 0, 1, 6));
+        state.makeMove(new Move(6, 8, false, "AT", 0, 1, 2));
+        assertEquals(3, state.depth());
+        state.unmakeMove();
+        state.unmakeMove();
+        assertSameState(before, state);
+    }
+
+    @Test
+    public void testUndoToMark() {
+        BoardState state = new BoardState(WORDS);
+        BoardState empty = state.copy();
+        int mark = state.mark();
+        state.makeMove(new Move(7, 7, false, "AT", 0, 2, 2));
+        state.makeMove(new Move(8, 6, true, "AT", 0, 1, 2));
+        state.undoTo(mark);
+        assertEquals(0, state.depth());
+        assertSameState(empty, state);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnmakeWithoutMoveFails() {
+        new BoardState(null).unmakeMove();
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        BoardState state = new BoardState(null);
+        BoardState copy = state.copy();
+        copy.placeTiles(new int[] {BoardState.CENTER}, new byte[] {0}, 0, 1);
+        assertEquals(1, copy.getTileCount());
+        assertEquals(0, state.getTileCount());
+        assertTrue(state.isEmpty(BoardState.CENTER));
+    }
+
+    @Test
+    public void testBoardKeepsStateInStep() {
+        Dictionary dict = new Dictionary(WORDS);
+        Board board = new Board(dict);
+        Player player = new Player("Alex");
+        player.addTile(new Tile('C', 3));
+        player.addTile(new Tile('A', 1));
+        player.addTile(new Tile('T', 1));
+        assertTrue(board.placeWord("CAT", 7, 7, true, player));
+
+        BoardState expected = new BoardState(WORDS);
+        expected.makeMove(new Move(7, 7, true, "CAT", 0, 3, 5));
+        assertSameState(expected, board.getState());
+
+        BoardState search = board.getState().copy();
+        List<Move> moves = new MoveGenerator(dict).generate(search, new int[LetterCodes.BLANK + 1]);
+        assertTrue(moves.isEmpty());
+    }
+
+    @Test
+    public void testUndoStacksGrowPastTheirInitialSize() {
+        BoardState state = new BoardState(WORDS);
+        BoardState empty = state.copy();
+        byte a = (byte) LetterCodes.code('A');
+        for (int row = 0; row < BoardState.SIZE; row++) {
+            // Seven tiles a frame, with every cross-check read so each frame saves its checks
+            for (int start = 0; start + 7 <= BoardState.SIZE; start += 8) {
+                int[] squares = new int[7];
+                for (int i = 0; i < 7; i++) squares[i] = row * BoardState.SIZE + start + i;
+                state.placeTiles(squares, new byte[] {a, a, a, a, a, a, a}, 0, 7);
+                for (int sq = 0; sq < BoardState.SQUARES; sq++) {
+                    state.getCrossCheck(sq, true);
+                    state.getCrossCheck(sq, false);
+                }
+            }
+        }
+        assertEquals(2 * BoardState.SIZE, state.depth());
+        state.undoTo(0);
+        assertSameState(empty, state);
+    }
+
+    @Test
+    public void testHashFollowsMovesAndUndo() {
+        BoardState state = new BoardState(WORDS);
+        assertEquals(0, state.getHash());
+        int mark = state.mark();
+        state.makeMove(new Move(7, 7, true, "CAT", 1 << 2, 3, 4));
+        long afterCat = state.getHash();
+        assertEquals(Zobrist.board(state), afterCat);
+        state.makeMove(new Move(7, 7, true, "CATS", 0, 1, 6));
+        assertEquals(Zobrist.board(state), state.getHash());
+        assertEquals(state.getHash(), state.copy().getHash());
+        state.unmakeMove();
+        assertEquals(afterCat, state.getHash());
+        state.undoTo(mark);
+        assertEquals(0, state.getHash());
+
+        // The same tiles placed in another order give the same hash
+        BoardState other = new BoardState(WORDS);
+        other.placeTiles(new int[] {7 * 15 + 9, 7 * 15 + 7, 7 * 15 + 8},
+                new byte[] {(byte) LetterCodes.code('T'), (byte) LetterCodes.code('C'), (byte) LetterCodes.code('A')}, 1, 3);
+        assertEquals(afterCat, other.getHash());
+    }
+
+    @Test
+    public void testUndoDropsChecksReadWhileSquareWasStale() {
+        DawgLexicon words = DawgLexicon.build(Arrays.asList("at", "cat", "cats", "ta"));
+        BoardState state = new BoardState(words);
+        int above = 6 * BoardState.SIZE + 7;
+        state.placeTiles(new int[] {7 * BoardState.SIZE + 7}, new byte[] {(byte) LetterCodes.code('A')}, 0, 1);
+        // (6,7) is now stale and unread
+        int mark = state.mark();
+        state.placeTiles(new int[] {8 * BoardState.SIZE + 7}, new byte[] {(byte) LetterCodes.code('T')}, 0, 1);
+        assertEquals(2, state.getCrossSum(above, true));
+        assertEquals(1 << LetterCodes.code('C'), state.getCrossCheck(above, true));
+        state.undoTo(mark);
+        assertEquals(1, state.getCrossSum(above, true));
+        assertEquals(1 << LetterCodes.code('T'), state.getCrossCheck(above, true));
+    }
+
+    @Test
+    public void testReadsBetweenMakeAndUndoMatchFreshState() {
+        Random random = new Random(11);
+        for (int round = 0; round < 40; round++) {
+            BoardState state = new BoardState(WORDS);
+            // Tiles placed one at a time, leaving stale squares nobody has read
+            for (int t = 0; t < 6; t++) placeRandomTile(state, random);
+            int mark = state.mark();
+            for (int t = 0; t < 3; t++) {
+                placeRandomTile(state, random);
+                for (int sq = 0; sq < BoardState.SQUARES; sq++) {
+                    if (random.nextInt(4) == 0) state.getCrossSum(sq, random.nextBoolean());
+                }
+            }
+            state.undoTo(mark);
+            assertSameState(rebuild(state), state);
+            for (int sq = 0; sq < BoardState.SQUARES; sq++) {
+                if (!state.isEmpty(sq)) continue;
+                assertEquals(rebuild(state).getCrossSum(sq, true), state.getCrossSum(sq, true));
+                assertEquals(rebuild(state).getCrossSum(sq, false), state.getCrossSum(sq, false));
+            }
+        }
+    }
+
+    private static void placeRandomTile(BoardState state, Random random) {
+        int sq;
+        do {
+            sq = BoardState.CENTER + (random.nextInt(5) - 2) * BoardState.SIZE + random.nextInt(5) - 2;
+        } while (!state.isEmpty(sq));
+        byte code = (byte) LetterCodes.code("CATS".charAt(random.nextInt(4)));
+        state.placeTiles(new int[] {sq}, new byte[] {code}, 0, 1);
+    }
+
+    /**
+     * Builds a state with the same tiles in one move, so nothing is cached from earlier moves.
+     */
+    private static BoardState rebuild(BoardState state) {
+        int[] squares = new int[BoardState.SQUARES];
+        byte[] codes = new byte[BoardState.SQUARES];
+        int count = 0;
+        for (int sq = 0; sq < BoardState.SQUARES; sq++) {
+            if (state.isEmpty(sq)) continue;
+            squares[count] = sq;
+            codes[count++] = (byte) state.get(sq);
+        }
+        BoardState fresh = new BoardState(state.getLexicon());
+        fresh.placeTiles(squares, codes, 0, count);
+        return fresh;
+    }
+}
@@ -1,5 +1,6 @@
 import org.junit.Test;
 import static org.junit.Assert.*;
+import java.util.Arrays;
 
 public class BoardTest {
 
@@ -65,4 +66,262 @@ public class BoardTest {
         assertFalse(result);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testAnchorsFollowPlacement() {
+        Board board = new Board();
+        assertTrue(board.isAnchor(7, 7));
+        assertFalse(board.isAnchor(7, 8));
+        Player player = new Player("Alex");
+        player.addTile(new Tile('C', 3));
+        player.addTile(new Tile('A', 1));
+        player.addTile(new Tile('T', 1));
+        board.placeWord("CAT", 7, 7, true, player);
+        assertEquals(3, board.getTileCount());
+        assertFalse(board.isAnchor(7, 7));
+        assertTrue(board.isAnchor(7, 6));
+        assertTrue(board.isAnchor(7, 10));
+        assertTrue(board.isAnchor(6, 8));
+        assertTrue(board.isAnchor(8, 9));
+        assertFalse(board.isAnchor(6, 6));
+    }
+
+    @Test
+    public void testCrossChecksFollowPlacement() {
+        Dictionary dict = new Dictionary(DawgLexicon.build(Arrays.asList("cat", "cats", "scat", "at", "as")));
+        Board board = new Board(dict);
+        Player player = new Player("Alex");
+        player.addTile(new Tile('C', 3));
+        player.addTile(new Tile('A', 1));
+        player.addTile(new Tile('T', 1));
+        board.placeWord("CAT", 7, 7, true, player);
+
+        int s = 1 << ('S' - 'A');
+        // Vertical words through the ends of CAT: only S hooks on either side
+        assertEquals(s, board.getCrossCheck(7, 10, false));
+        assertEquals(s, board.getCrossCheck(7, 6, false));
+        // Below the A, a horizontal play must form A? downwards: AT or AS
+        assertEquals(s | (1 << ('T' - 'A')), board.getCrossCheck(8, 8, true));
+        // Squares with no neighbours along the other axis allow every letter
+        assertEquals((1 << 26) - 1, board.getCrossCheck(7, 10, true));
+    }
+
+    @Test
+    public void testTryPlaceWordReportsReason() {
+        Board board = new Board();
+        Player player = new Player("Alex");
+        player.addTile(new Tile('C', 3));
+        player.addTile(new Tile('A', 1));
+        player.addTile(new Tile('T', 1));
+        assertEquals(PlacementStatus.OUT_OF_BOUNDS, board.tryPlaceWord("CAT", 7, 13, true, player));
+        assertEquals(PlacementStatus.NOT_LETTERS, board.tryPlaceWord("C4T", 7, 7, true, player));
+        assertEquals(PlacementStatus.PLACED, board.tryPlaceWord("CAT", 7, 7, true, player));
+
+        player.addTile(new Tile('D', 2));
+        player.addTile(new Tile('O', 1));
+        player.addTile(new Tile('G', 2));
+        assertEquals(PlacementStatus.CONFLICT, board.tryPlaceWord("DOG", 7, 7, true, player));
+        assertEquals(PlacementStatus.NOT_CONNECTED, board.tryPlaceWord("DOG", 0, 0, true, player));
+        assertEquals(PlacementStatus.MISSING_TILES, board.tryPlaceWord("XAT", 5, 9, false, player));
+    }
+
+    @Test
+    public void testCheckPlacementsLeavesBoardAndRackAlone() {
+        Dictionary dict = new Dictionary(DawgLexicon.build(Arrays.asList("cat", "cats", "at", "tax", "ta")));
+        Board board = new Board(dict);
+        Player player = new Player("Alex");
+        for (char c : "CATSAXT".toCharArray()) player.addTile(new Tile(c, LetterCodes.points(LetterCodes.code(c))));
+        assertTrue(board.placeWord("CAT", 7, 7, true, player));
+        String rack = player.rackToString();
+
+        Move[] candidates = {
+                new Move(7, 7, true, "CATS", 0, 0, 0),
+                new Move(5, 9, false, "ZAT", 0, 0, 0),
+                new Move(6, 9, false, "AT", 0, 0, 0),
+                new Move(7, 14, true, "AT", 0, 0, 0),
+                new Move(0, 0, true, "TA", 0, 0, 0),
+                new Move(7, 7, true, "DOG", 0, 0, 0),
+                new Move(8, 7, true, "TAX", 0, 0, 0),
+                new Move(8, 7, true, "AXT", 0, 0, 0),
+                new Move(8, 7, true, "T-X", 0, 0, 0),
+        };
+        PlacementStatus[] statuses = new PlacementStatus[candidates.length];
+        int[] scores = new int[candidates.length];
+        assertEquals(3, board.checkPlacements(candidates, player.getRack(), statuses, scores));
+        assertEquals(Arrays.asList(PlacementStatus.PLACED, PlacementStatus.MISSING_TILES, PlacementStatus.PLACED,
+                PlacementStatus.OUT_OF_BOUNDS, PlacementStatus.NOT_CONNECTED, PlacementStatus.CONFLICT,
+                PlacementStatus.PLACED, PlacementStatus.NOT_A_WORD, PlacementStatus.NOT_LETTERS), Arrays.asList(statuses));
+        assertEquals(3, board.getTileCount());
+        assertEquals(rack, player.rackToString());
+        assertEquals(0, scores[1]);
+    }
+
+    @Test
+    public void testCheckPlacementsAgreesWithTryPlaceWord() {
+        java.util.List<String> words = Arrays.asList("cat", "at", "tax", "ta", "act", "scat", "cats", "as");
+        Dictionary dict = new Dictionary(DawgLexicon.build(words));
+        String letters = "CATSAXTZ";
+        java.util.Random random = new java.util.Random(3);
+        Move[] candidates = new Move[400];
+        for (int k = 0; k < candidates.length; k++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(4);
+            for (int i = 0; i < length; i++) word.append(letters.charAt(random.nextInt(letters.length())));
+            if (random.nextInt(3) == 0) word = new StringBuilder(words.get(random.nextInt(words.size())).toUpperCase());
+            candidates[k] = new Move(5 + random.nextInt(6), 4 + random.nextInt(12), random.nextBoolean(), word.toString(), 0, 0, 0);
+        }
+        Board board = boardWithCat(dict);
+        Player player = playerWith("CATSAXT");
+        PlacementStatus[] statuses = new PlacementStatus[candidates.length];
+        int[] scores = new int[candidates.length];
+        board.checkPlacements(candidates, player.getRack(), statuses, scores);
+
+        for (int k = 0; k < candidates.length; k++) {
+            Move candidate = candidates[k];
+            Board fresh = boardWithCat(dict);
+            Player mover = playerWith("CATSAXT");
+            PlacementStatus expected = fresh.tryPlaceWord(candidate.getWord(), candidate.getRow(), candidate.getCol(),
+                    candidate.isHorizontal(), mover);
+            if (expected == PlacementStatus.PLACED && !dict.isValid(candidate.getWord())) {
+                expected = PlacementStatus.NOT_A_WORD;
+            }
+            assertEquals(candidate.toString(), expected, statuses[k]);
+            if (expected == PlacementStatus.PLACED) assertEquals(candidate.toString(), mover.getScore(), scores[k]);
+        }
+    }
+
+    @Test
+    public void testMissingTileLeavesBoardAndRackUnchanged() {
+        Board board = boardWithCat(null);
+        Player player = playerWith("SAX");
+        assertEquals(PlacementStatus.MISSING_TILES, board.tryPlaceWord("SAXT", 6, 10, false, player));
+        assertEquals(3, board.getTileCount());
+        assertNull(board.getTile(6, 10));
+        assertEquals(3, player.getRack().size());
+        assertEquals(0, player.getScore());
+    }
+
+    @Test
+    public void testPrepareCommitAndUndo() {
+        Board board = boardWithCat(null);
+        Player player = playerWith("SAX");
+        Placement placement = board.prepare("CATS", 7, 7, true, player);
+        assertEquals(PlacementStatus.PLACED, placement.getStatus());
+        assertEquals(1, placement.getTileCount());
+        assertEquals(7 * 15 + 10, placement.getSquare(0));
+        assertTrue(placement.getScore() > 0);
+        assertNull(board.getTile(7, 10));
+        assertEquals(3, player.getRack().size());
+
+        board.commit(placement);
+        assertEquals('S', board.getTile(7, 10).getLetter());
+        assertEquals(4, board.getTileCount());
+        assertEquals(2, player.getRack().size());
+        assertEquals(placement.getScore(), player.getScore());
+        try {
+            board.commit(placement);
+            fail("A placement commits once");
+        } catch (IllegalStateException expected) {
+        }
+
+        board.undo(placement);
+        assertNull(board.getTile(7, 10));
+        assertEquals(3, board.getTileCount());
+        assertTrue(board.isAnchor(7, 10));
+        assertEquals(3, player.getRack().size());
+        assertTrue(player.getRack().hasLetter('S'));
+        assertEquals(0, player.getScore());
+    }
+
+    @Test
+    public void testStalePlacementIsRefused() {
+        Board board = boardWithCat(null);
+        Player player = playerWith("SAXT");
+        Placement first = board.prepare("CATS", 7, 7, true, player);
+        Placement second = board.prepare("AT", 8, 8, true, player);
+        board.commit(second);
+        try {
+            board.commit(first);
+            fail("The board changed after the placement was prepared");
+        } catch (IllegalStateException expected) {
+        }
+        assertNull(board.getTile(7, 10));
+
+        Placement rejected = board.prepare("DOG", 0, 0, true, player);
+        try {
+            board.commit(rejected);
+            fail("Rejected placements cannot be committed");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testPlacementOnlyCommitsOnItsOwnBoard() {
+        // Both boards are at the same version, so only the owner check tells them apart
+        Board board = boardWithCat(null);
+        Board other = boardWithCat(null);
+        Player player = playerWith("S");
+        Placement cats = board.prepare("CATS", 7, 7, true, player);
+        try {
+            other.commit(cats);
+            fail("A placement cannot be committed on another board");
+        } catch (IllegalStateException expected) {
+        }
+        assertNull(other.getTile(7, 10));
+        assertEquals(1, player.getRack().size());
+
+        board.commit(cats);
+        try {
+            other.undo(cats);
+            fail("A placement cannot be undone on another board");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals('S', board.getTile(7, 10).getLetter());
+        board.undo(cats);
+        assertNull(board.getTile(7, 10));
+    }
+
+    @Test
+    public void testUndoAfterChecksAgreesWithFreshBoard() {
+        java.util.Random random = new java.util.Random(5);
+        Move[] candidates = new Move[400];
+        for (int k = 0; k < candidates.length; k++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(4);
+            for (int i = 0; i < length; i++) word.append("CATSX".charAt(random.nextInt(5)));
+            candidates[k] = new Move(4 + random.nextInt(7), 4 + random.nextInt(9), random.nextBoolean(), word.toString(), 0, 0, 0);
+        }
+        Board board = boardWithCat(null);
+        Player player = playerWith("SATCATSX");
+        board.commit(board.prepare("CATS", 7, 7, true, player));
+        Placement below = board.prepare("AT", 8, 8, true, player);
+        board.commit(below);
+        // Scoring reads cross-sums the second placement changed
+        board.checkPlacements(candidates, player.getRack(), new PlacementStatus[candidates.length], new int[candidates.length]);
+        board.undo(below);
+
+        Board fresh = boardWithCat(null);
+        fresh.commit(fresh.prepare("CATS", 7, 7, true, playerWith("S")));
+        PlacementStatus[] expected = new PlacementStatus[candidates.length];
+        int[] expectedScores = new int[candidates.length];
+        fresh.checkPlacements(candidates, player.getRack(), expected, expectedScores);
+        PlacementStatus[] statuses = new PlacementStatus[candidates.length];
+        int[] scores = new int[candidates.length];
+        board.checkPlacements(candidates, player.getRack(), statuses, scores);
+        for (int k = 0; k < candidates.length; k++) {
+            assertEquals(candidates[k].toString(), expected[k], statuses[k]);
+            assertEquals(candidates[k].toString(), expectedScores[k], scores[k]);
+        }
+    }
+
+    private static Board boardWithCat(Dictionary dict) {
+        Board board = new Board(dict);
+        board.placeWord("CAT", 7, 7, true, playerWith("CAT"));
+        return board;
+    }
+
+    private static Player playerWith(String letters) {
+        Player player = new Player("Alex");
+        for (char c : letters.toCharArray()) player.addTile(new Tile(c, LetterCodes.points(LetterCodes.code(c))));
+        return player;
+    }
+}
@@ -0,0 +1,157 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class DictionaryRegistryTest {
+
+    private String wordList(String... words) throws IOException {
+        Path file = Files.createTempFile("words", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, Arrays.asList(words), StandardCharsets.UTF_8);
+        return file.toString();
+    }
+
+    @Test
+    public void testSameSourceSharesOneDictionary() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry(2);
+        String source = wordList("hello", "world");
+        try (DictionaryRegistry.Lease first = registry.acquire(source);
+             DictionaryRegistry.Lease second = registry.acquire(source)) {
+            assertSame(first.getDictionary(), second.getDictionary());
+            assertTrue(first.getDictionary().isValid("HELLO"));
+            assertEquals(64, first.getChecksum().length());
+        }
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testConcurrentRequestsWaitOnOneLoad() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry(2);
+        String source = wordList("alpha", "beta", "gamma");
+        List<CompletableFuture<DictionaryRegistry.Lease>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> registry.acquireAsync(source)).thenCompose(f -> f));
+        }
+        Dictionary shared = futures.get(0).get().getDictionary();
+        for (CompletableFuture<DictionaryRegistry.Lease> future : futures) {
+            DictionaryRegistry.Lease lease = future.get();
+            assertSame(shared, lease.getDictionary());
+            lease.close();
+        }
+    }
+
+    @Test
+    public void testIdenticalContentsShareByChecksum() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry(2);
+        try (DictionaryRegistry.Lease first = registry.acquire(wordList("cat", "dog"));
+             DictionaryRegistry.Lease second = registry.acquire(wordList("cat", "dog"))) {
+            assertNotEquals(first.getSource(), second.getSource());
+            assertEquals(first.getChecksum(), second.getChecksum());
+            assertSame(first.getDictionary(), second.getDictionary());
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyReleasedIsEvicted() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry(1);
+        String a = wordList("apple");
+        String b = wordList("banana");
+        String c = wordList("cherry");
+        DictionaryRegistry.Lease held = registry.acquire(a);
+        registry.acquire(b).close();
+        registry.acquire(c).close();
+        // a is leased, so only the idle b is evicted to make room for c
+        assertTrue(registry.isCached(a));
+        assertFalse(registry.isCached(b));
+        assertTrue(registry.isCached(c));
+        held.close();
+        held.close();
+        assertFalse(registry.isCached(c));
+        assertTrue(registry.isCached(a));
+        assertTrue(held.getDictionary().isValid("apple"));
+    }
+
+    @Test
+    public void testFailedLoadIsRetried() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry(2);
+        String missing = Files.createTempDirectory("words").resolve("missing.txt").toString();
+        try {
+            registry.acquire(missing);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // The failed load is not cached
+        }
+        assertFalse(registry.isCached(missing));
+    }
+
+    @Test
+    public void testCompiledWordListIsMapped() throws Exception {
+        Path file = Files.createTempFile("words", ".swl");
+        file.toFile().deleteOnExit();
+        WordListCompiler.compile(Arrays.asList("zebra", "yak"), file);
+        Dictionary dictionary = new DictionaryRegistry(1).get(file.toString());
+        assertTrue(dictionary.getLexicon() instanceof MappedWordList);
+        assertTrue(dictionary.isValid("YAK"));
+    }
+
+    @Test
+    public void testParallelBuildMatchesSequentialBuild() throws Exception {
+        String source = wordList("pear", "apple", "Plum", "apple", " fig ", "");
+        Dictionary sequential = new DictionaryRegistry(1, false).get(source);
+        Dictionary parallel = new DictionaryRegistry(1, true).get(source);
+        assertEquals(sequential.getLexicon().size(), parallel.getLexicon().size());
+        for (String word : new String[] {"APPLE", "PEAR", "PLUM", "FIG", "APP", "PEARS"}) {
+            assertEquals(word, sequential.isValid(word), parallel.isValid(word));
+        }
+        assertTrue(parallel.isValid("FIG"));
+    }
+
+    @Test
+    public void testChangedFileIsLoadedAgain() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry(2);
+        String source = wordList("cat");
+        Dictionary before = registry.get(source);
+        Files.write(Paths.get(source), Arrays.asList("cat", "dog"), StandardCharsets.UTF_8);
+        Dictionary after = registry.get(source);
+        assertNotSame(before, after);
+        assertTrue(after.isValid("DOG"));
+        assertFalse(before.isValid("DOG"));
+        assertSame(after, registry.get(source));
+    }
+
+    @Test
+    public void testInterruptedAcquireGivesTheLeaseBack() throws Exception {
+        DictionaryRegistry registry = new DictionaryRegistry(0);
+        String source = wordList("owl");
+        Thread.currentThread().interrupt();
+        try {
+            registry.acquire(source);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            assertTrue(Thread.interrupted());
+        }
+        // With no idle entries kept, the source leaves the cache once its only lease is closed
+        long deadline = System.currentTimeMillis() + 5000;
+        while (registry.isCached(source) && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertFalse(registry.isCached(source));
+    }
+
+    @Test
+    public void testDictionariesFromTheRegistryShareIndexes() throws Exception {
+        String source = wordList("stone", "notes", "tones");
+        Dictionary first = Dictionary.loadAsync(source);
+        Dictionary second = Dictionary.loadAsync(source);
+        assertNotSame(first, second);
+        assertSame(first.getGaddag(), second.getGaddag());
+        assertSame(first.getWordIndex(), second.getWordIndex());
+        assertSame(DictionaryRegistry.shared().get(source).getGaddag(), first.getGaddag());
+    }
+}
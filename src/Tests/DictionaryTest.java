@@ -1,5 +1,11 @@
 import org.junit.Test;
 import static org.junit.Assert.*;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 public class DictionaryTest {
 
@@ -33,5 +39,39 @@ public class DictionaryTest {
         assertFalse(dict.isValid(""));
     }
 
+    @Test
+    public void testLoadAsyncReturnsAtOnceAndBecomesReady() throws Exception {
+        Path file = Files.createTempFile("words", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, Arrays.asList("quartz", "jinx"), StandardCharsets.UTF_8);
+        Dictionary dict = Dictionary.loadAsync(file.toString());
+        assertSame(dict, dict.whenReady().get(10, TimeUnit.SECONDS));
+        assertTrue(dict.isReady());
+        assertTrue(dict.isValid("JINX"));
+        assertFalse(dict.isValid("JINXES"));
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void testFailedLoadIsRetriedOnNextQuery() throws Exception {
+        Path file = Files.createTempDirectory("words").resolve("later.txt");
+        file.toFile().deleteOnExit();
+        Dictionary dict = Dictionary.loadAsync(file.toString());
+        try {
+            dict.isValid("FJORD");
+            fail("Expected UncheckedIOException");
+        } catch (UncheckedIOException expected) {
+            // The query that sees the failure starts a new load
+        }
+        Files.write(file, Arrays.asList("fjord"), StandardCharsets.UTF_8);
+        // The retry may have started before the file existed; keep asking until it sees it
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            try {
+                assertTrue(dict.isValid("FJORD"));
+                break;
+            } catch (UncheckedIOException e) {
+                if (System.currentTimeMillis() > deadline) throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class EndgameSolverTest {
+
+    private static final Dictionary DICTIONARY = GameFixtures.twoLetterDictionary();
+
+    private int[] rack(String letters) {
+        int[] counts = new int[LetterCodes.BLANK + 1];
+        for (char c : letters.toCharArray()) {
+            counts[c == LetterCodes.BLANK_CHAR ? LetterCodes.BLANK : LetterCodes.code(c)]++;
+        }
+        return counts;
+    }
+
+    private BoardState position() {
+        BoardState position = new BoardState(DICTIONARY.getLexicon());
+        position.makeMove(new Move(7, 6, true, "AT", 0, 2, 4));
+        return position;
+    }
+
+    @Test
+    public void testGoingOutScoresOpponentRackTwice() {
+        BoardState position = position();
+        int[] mine = rack("Q");
+        Move best = new MoveGenerator(DICTIONARY).bestMove(position, mine);
+        EndgameResult result = new EndgameSolver(DICTIONARY, 1 << 20).solve(position, mine, rack("ZX"), 1000);
+        assertTrue(result.isSolved());
+        assertEquals(best.getScore() + 2 * (10 + 8), result.getSpread());
+        assertEquals(1, result.getMoves().size());
+        assertEquals(best.getScore(), result.getBestMove().getScore());
+        assertEquals(5 + result.getSpread(), result.getFinalSpread(5));
+    }
+
+    @Test
+    public void testPrincipalVariationPlaysToTheEnd() {
+        BoardState position = position();
+        EndgameResult result = new EndgameSolver(DICTIONARY, 1 << 20).solve(position, rack("EQ"), rack("KZ"), 5000);
+        assertTrue(result.isSolved());
+        // Replaying the line scores the reported spread
+        BoardState board = position.copy();
+        int[][] racks = {rack("EQ"), rack("KZ")};
+        int spread = 0;
+        int side = 0;
+        for (Move move : result.getMoves()) {
+            if (move.isPlacement()) {
+                assertEquals(ScoreCalculator.score(board, move), move.getScore());
+                spread += side == 0 ? move.getScore() : -move.getScore();
+                for (int i = 0; i < move.getWord().length(); i++) {
+                    int sq = (move.getRow() + (move.isHorizontal() ? 0 : i)) * BoardState.SIZE
+                            + move.getCol() + (move.isHorizontal() ? i : 0);
+                    if (board.isEmpty(sq)) racks[side][LetterCodes.code(move.getWord().charAt(i))]--;
+                }
+                board.makeMove(move);
+            }
+            side = 1 - side;
+        }
+        int left = 0;
+        for (int p = 0; p < 2; p++) {
+            for (int code = 0; code < LetterCodes.BLANK; code++) {
+                assertTrue(racks[p][code] >= 0);
+                left += racks[p][code] * LetterCodes.points(code) * (p == 0 ? -1 : 1);
+            }
+        }
+        // Whoever went out gains the other rack twice; passing out loses each rack once
+        Move last = result.getMoves().get(result.getMoves().size() - 1);
+        int ending = last.isPlacement() ? 2 * left : left;
+        assertEquals(result.getSpread(), spread + ending);
+        // The position is left as it was
+        assertEquals(2, position.getTileCount());
+    }
+
+    @Test
+    public void testSameResultEachRun() {
+        EndgameSolver solver = new EndgameSolver(DICTIONARY, 1 << 16);
+        String first = solver.solve(position(), rack("CAT"), rack("DOG"), 5000).toString();
+        String second = solver.solve(position(), rack("CAT"), rack("DOG"), 5000).toString();
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void testTimeLimitKeepsCompletedIteration() {
+        long start = System.currentTimeMillis();
+        EndgameResult result = new EndgameSolver(DICTIONARY, 1 << 20)
+                .solve(position(), rack("EARNEST"), rack("OUTLINE"), 50);
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertTrue(result.getDepth() >= 1);
+        assertNotNull(result.getBestMove());
+    }
+}
@@ -0,0 +1,68 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class GameEngineTest {
+
+    /** Every pair of letters, so games always have moves. */
+    private static final Dictionary DICTIONARY = GameFixtures.twoLetterDictionary();
+
+    private GameEngine greedyEngine() {
+        return new GameEngine(DICTIONARY, Arrays.asList(new GreedyStrategy(), new GreedyStrategy()));
+    }
+
+    @Test
+    public void testSameSeedSameGame() {
+        GameResult first = greedyEngine().play(17L);
+        GameResult second = greedyEngine().play(17L);
+        assertEquals(first.getDraws(), second.getDraws());
+        assertEquals(first.getMoves().toString(), second.getMoves().toString());
+        assertArrayEquals(first.getScores(), second.getScores());
+    }
+
+    @Test
+    public void testGamePlaysToTheEnd() {
+        GameResult result = greedyEngine().play(3L);
+        assertEquals(2, result.getPlayerCount());
+        assertTrue(result.getMoves().get(0).isPlacement());
+        assertTrue(result.getDraws().length() <= 98);
+        int moveTotal = 0;
+        for (Move move : result.getMoves()) {
+            moveTotal += move.getScore();
+        }
+        // Rack adjustments only move points between players or take them away
+        assertTrue(result.getScore(0) + result.getScore(1) <= moveTotal);
+    }
+
+    @Test
+    public void testSixPassesEndTheGame() {
+        PlayerStrategy passer = (board, rack, moves, tilesInBag) -> Move.pass();
+        GameResult result = new GameEngine(DICTIONARY, Collections.nCopies(3, passer)).play(5L);
+        assertEquals(6, result.getMoves().size());
+        assertEquals(21, result.getDraws().length());
+        for (int p = 0; p < 3; p++) {
+            assertTrue(result.getScore(p) < 0);
+        }
+    }
+
+    @Test
+    public void testExchangeDrawsNewTiles() {
+        PlayerStrategy exchanger = (board, rack, moves, tilesInBag) -> Move.exchange("" + rack.get(0).getLetter());
+        GameResult result = new GameEngine(DICTIONARY, Arrays.asList(exchanger, exchanger)).play(9L);
+        assertEquals(6, result.getMoves().size());
+        assertEquals(Move.Kind.EXCHANGE, result.getMoves().get(0).getKind());
+        assertEquals(14 + 6, result.getDraws().length());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTilesNotOnRackRejected() {
+        PlayerStrategy cheat = (board, rack, moves, tilesInBag) -> new Move(7, 7, true, "QQ", 0, 2, 20);
+        new GameEngine(DICTIONARY, Arrays.asList(cheat, cheat)).play(1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNeedsTwoPlayers() {
+        new GameEngine(DICTIONARY, Collections.singletonList(new GreedyStrategy()));
+    }
+}
@@ -0,0 +1,56 @@
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Word lists and assertions shared by the game tests.
+ */
+final class GameFixtures {
+
+    private GameFixtures() {
+    }
+
+    private static List<String> twoLetterWords() {
+        List<String> words = new ArrayList<>();
+        for (char a = 'A'; a <= 'Z'; a++) {
+            for (char b = 'A'; b <= 'Z'; b++) {
+                words.add("" + a + b);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * A dictionary of every two-letter word, so any two tiles from a rack make a legal move.
+     */
+    static Dictionary twoLetterDictionary() {
+        return new Dictionary(DawgLexicon.build(twoLetterWords()));
+    }
+
+    /**
+     * Checks that two games have the same turn, players, racks, board and bag.
+     */
+    static void assertSameGame(Game expected, Game actual) {
+        assertEquals(expected.getCurrentPlayerIndex(), actual.getCurrentPlayerIndex());
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (int p = 0; p < expected.getPlayers().size(); p++) {
+            Player a = expected.getPlayers().get(p);
+            Player b = actual.getPlayers().get(p);
+            assertEquals(a.getName(), b.getName());
+            assertEquals(a.getScore(), b.getScore());
+            assertEquals(a.rackToString(), b.rackToString());
+        }
+        for (int row = 0; row < 15; row++) {
+            for (int col = 0; col < 15; col++) {
+                Tile a = expected.getBoard().getTile(row, col);
+                Tile b = actual.getBoard().getTile(row, col);
+                assertEquals(a == null ? ' ' : a.getLetter(), b == null ? ' ' : b.getLetter());
+                assertEquals(expected.getBoard().isAnchor(row, col), actual.getBoard().isAnchor(row, col));
+                assertEquals(expected.getBoard().getCrossCheck(row, col, true), actual.getBoard().getCrossCheck(row, col, true));
+                assertEquals(expected.getBoard().getCrossCheck(row, col, false), actual.getBoard().getCrossCheck(row, col, false));
+            }
+        }
+        assertArrayEquals(expected.getTileBag().copyCounts(new int[LetterCodes.BLANK + 1]),
+                actual.getTileBag().copyCounts(new int[LetterCodes.BLANK + 1]));
+    }
+}
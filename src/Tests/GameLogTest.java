@@ -0,0 +1,154 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class GameLogTest {
+
+    private static Path tempLog() throws IOException {
+        Path file = Files.createTempFile("game", ".log");
+        file.toFile().deleteOnExit();
+        Files.delete(file);
+        return file;
+    }
+
+    /**
+     * Plays a word from the current player's first two tiles, a swap and a pass.
+     */
+    private static void playSomeMoves(Game game) {
+        Rack rack = game.getCurrentPlayer().getRack();
+        String word = "" + rack.get(0).getLetter() + rack.get(1).getLetter();
+        game.play(MoveCommand.parse("H8 HORIZONTAL " + word));
+        game.play(MoveCommand.parse("SWAP 0 3"));
+        game.play(MoveCommand.parse("PASS"));
+    }
+
+    @Test
+    public void testReplayRebuildsTheGame() throws Exception {
+        Dictionary dictionary = GameFixtures.twoLetterDictionary();
+        Path file = tempLog();
+        Game game = new Game(dictionary, 11L);
+        try (GameLog log = GameLog.open(file)) {
+            game.recordTo(log, 1L);
+            game.addPlayer("Ada");
+            game.addPlayer("Grace");
+            playSomeMoves(game);
+        }
+        GameFixtures.assertSameGame(game, GameLog.replay(file, dictionary, 1L, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testReplayStopsPartWayThroughAGame() throws Exception {
+        Dictionary dictionary = GameFixtures.twoLetterDictionary();
+        Path file = tempLog();
+        Game game = new Game(dictionary, 5L);
+        Game before = new Game(dictionary, 5L);
+        try (GameLog log = GameLog.open(file)) {
+            game.recordTo(log, 9L);
+            game.addPlayer("Ada");
+            game.addPlayer("Grace");
+            before.addPlayer("Ada");
+            before.addPlayer("Grace");
+        }
+        // Two players with seven draws each
+        Game dealt = GameLog.replay(file, dictionary, 9L, 16);
+        try (GameLog log = GameLog.open(file)) {
+            game.recordTo(log, 10L);
+            playSomeMoves(game);
+        }
+        GameFixtures.assertSameGame(before, dealt);
+        GameFixtures.assertSameGame(before, GameLog.replay(file, dictionary, 9L, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testReadsEveryRecordOfManyGames() throws Exception {
+        Dictionary dictionary = GameFixtures.twoLetterDictionary();
+        Path file = tempLog();
+        try (GameLog log = GameLog.open(file)) {
+            for (long id = 0; id < 3; id++) {
+                Game game = new Game(dictionary, id);
+                game.recordTo(log, id);
+                game.addPlayer("Ada");
+                game.addPlayer("Grace");
+                playSomeMoves(game);
+            }
+            log.sync();
+        }
+        int[] counts = new int[7];
+        long records = GameLog.read(file, new GameLog.Listener() {
+            @Override
+            public void start(long game) {
+                counts[GameLog.START]++;
+            }
+
+            @Override
+            public void place(int player, int row, int col, boolean horizontal, byte[] codes, int length, int score) {
+                assertEquals(7, row);
+                assertEquals(2, length);
+                assertTrue(score > 0);
+                counts[GameLog.PLACE]++;
+            }
+
+            @Override
+            public void swap(int player, byte[] codes, int count) {
+                assertEquals(2, count);
+                counts[GameLog.SWAP]++;
+            }
+
+            @Override
+            public void pass(int player) {
+                counts[GameLog.PASS]++;
+            }
+        });
+        assertEquals(3, counts[GameLog.START]);
+        assertEquals(3, counts[GameLog.PLACE]);
+        assertEquals(3, counts[GameLog.SWAP]);
+        assertEquals(3, counts[GameLog.PASS]);
+        // Per game: start, 2 players, 14 deals, place, 2 refills, swap, 2 draws, pass
+        assertEquals(3 * 24, records);
+    }
+
+    @Test
+    public void testRecordCutShortEndsTheLog() throws Exception {
+        Dictionary dictionary = GameFixtures.twoLetterDictionary();
+        Path file = tempLog();
+        Game game = new Game(dictionary, 3L);
+        try (GameLog log = GameLog.open(file)) {
+            game.recordTo(log, 4L);
+            game.addPlayer("Ada");
+            game.addPlayer("Grace");
+            game.play(MoveCommand.parse("PASS"));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Leave the pass record's type byte but not its player
+            channel.truncate(channel.size() - 1);
+        }
+        Game replayed = GameLog.replay(file, dictionary, 4L, Long.MAX_VALUE);
+        assertEquals(0, replayed.getCurrentPlayerIndex());
+        assertEquals(game.getPlayers().get(1).rackToString(), replayed.getPlayers().get(1).rackToString());
+
+        // Reopening drops the cut record, so what is appended next reads back
+        long records = GameLog.read(file, new GameLog.Listener() {});
+        Game next = new Game(dictionary, 8L);
+        try (GameLog log = GameLog.open(file)) {
+            next.recordTo(log, 5L);
+            next.addPlayer("Ada");
+            next.addPlayer("Grace");
+            next.play(MoveCommand.parse("PASS"));
+        }
+        assertTrue(GameLog.read(file, new GameLog.Listener() {}) > records);
+        GameFixtures.assertSameGame(next, GameLog.replay(file, dictionary, 5L, Long.MAX_VALUE));
+        assertEquals(0, GameLog.replay(file, dictionary, 4L, Long.MAX_VALUE).getCurrentPlayerIndex());
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsFilesThatAreNotLogs() throws Exception {
+        Path file = Files.createTempFile("words", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, "hello".getBytes("UTF-8"));
+        GameLog.open(file);
+    }
+}
@@ -0,0 +1,203 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameServerTest {
+    private GameServer server;
+    private Thread loop;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new GameServer(GameFixtures.twoLetterDictionary(), new InetSocketAddress("127.0.0.1", 0));
+        loop = new Thread(server, "game-server-test");
+        loop.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+        loop.join(5000);
+    }
+
+    private static String request(PrintWriter out, BufferedReader in, String line) throws Exception {
+        out.print(line + "\n");
+        out.flush();
+        return in.readLine();
+    }
+
+    @Test
+    public void testPlaysAGameOverTheSocket() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream());
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+
+            assertTrue(request(out, in, "PASS").startsWith("ERR"));
+            String[] turn = request(out, in, "NEW 2 42").split(" ");
+            assertEquals("OK", turn[0]);
+            assertEquals("1", turn[2]);
+            assertEquals(7, turn[3].length());
+
+            String word = "";
+            for (char c : turn[3].toCharArray()) {
+                if (c != LetterCodes.BLANK_CHAR && word.length() < 2) word += c;
+            }
+            String[] played = request(out, in, "H8 H " + word).split(" ");
+            assertEquals("OK", played[0]);
+            assertTrue(Integer.parseInt(played[1]) > 0);
+            assertEquals("2", played[2]);
+
+            assertTrue(request(out, in, "A1 H " + word).startsWith("ERR"));
+            assertTrue(request(out, in, "nonsense").startsWith("ERR"));
+            assertTrue(request(out, in, "SWAP 0 1").startsWith("OK 0 1 "));
+            assertTrue(request(out, in, "PASS").startsWith("OK 0 2 "));
+            assertTrue(request(out, in, "STATS").startsWith("STATS 1 "));
+            assertEquals("BYE", request(out, in, "QUIT"));
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    public void testSessionsAreIsolated() throws Exception {
+        try (Socket first = new Socket("127.0.0.1", server.getPort());
+             Socket second = new Socket("127.0.0.1", server.getPort())) {
+            PrintWriter out1 = new PrintWriter(first.getOutputStream());
+            BufferedReader in1 = new BufferedReader(new InputStreamReader(first.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out2 = new PrintWriter(second.getOutputStream());
+            BufferedReader in2 = new BufferedReader(new InputStreamReader(second.getInputStream(), StandardCharsets.UTF_8));
+            assertEquals(request(out1, in1, "NEW 2 7"), request(out2, in2, "NEW 2 7"));
+            assertTrue(request(out1, in1, "PASS").startsWith("OK 0 2 "));
+            assertTrue(request(out2, in2, "NEW 3 7").startsWith("OK 0 1 "));
+            assertTrue(request(out1, in1, "PASS").startsWith("OK 0 1 "));
+        }
+    }
+
+    @Test
+    public void testRejectsOverlongLines() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream());
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i <= GameServer.MAX_LINE; i++) line.append('X');
+            assertTrue(request(out, in, line.toString()).startsWith("ERR"));
+            assertNull(in.readLine());
+        }
+    }
+
+    @Test
+    public void testLoadClientRunsManyConcurrentSessions() throws Exception {
+        LoadClient client = new LoadClient(new InetSocketAddress("127.0.0.1", server.getPort()), 500, 4);
+        String stats = client.run(0);
+        // NEW, HINT, the hinted placement and three passes
+        assertEquals(500 * 6, client.getRequests());
+        assertEquals(0, client.getErrors());
+        // The load client's 500 sessions plus its own statistics connection
+        assertTrue(stats, stats.startsWith("STATS 501 "));
+    }
+
+    @Test
+    public void testIdleGamesArePagedOutAndBack() throws Exception {
+        Path pages = Files.createTempDirectory("pages");
+        GameServer paging = new GameServer(GameFixtures.twoLetterDictionary(),
+                new InetSocketAddress("127.0.0.1", 0), pages, 50);
+        Thread pagingLoop = new Thread(paging, "game-server-paging-test");
+        pagingLoop.start();
+        try (Socket socket = new Socket("127.0.0.1", paging.getPort())) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream());
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String dealt = request(out, in, "NEW 2 99");
+            String expected = request(out, in, "PASS");
+            request(out, in, "NEW 2 99");
+
+            Thread.sleep(300);
+            assertTrue(request(out, in, "STATS").endsWith(" 1"));
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(pages)) {
+                assertTrue(files.iterator().hasNext());
+            }
+            assertEquals(expected, request(out, in, "PASS"));
+            assertTrue(request(out, in, "STATS").endsWith(" 0"));
+            assertTrue(dealt.startsWith("OK 0 1 "));
+        } finally {
+            paging.close();
+            pagingLoop.join(5000);
+        }
+    }
+
+    @Test
+    public void testAnswersWhileTheDictionaryLoads() throws Exception {
+        Path words = Files.createTempDirectory("words").resolve("words.txt");
+        // The word list does not exist yet, so every load fails until it is written
+        GameServer loading = new GameServer(Dictionary.loadAsync(words.toString()),
+                new InetSocketAddress("127.0.0.1", 0));
+        Thread loadingLoop = new Thread(loading, "game-server-loading-test");
+        loadingLoop.start();
+        try (Socket socket = new Socket("127.0.0.1", loading.getPort())) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream());
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            assertTrue(request(out, in, "NEW 2 42").startsWith("OK 0 1 "));
+            assertTrue(request(out, in, "PASS").startsWith("ERR The dictionary is still loading"));
+            assertTrue(request(out, in, "STATS").startsWith("STATS 1 "));
+
+            List<String> lines = new ArrayList<>();
+            for (char a = 'A'; a <= 'Z'; a++) {
+                for (char b = 'A'; b <= 'Z'; b++) lines.add("" + a + b);
+            }
+            Files.write(words, lines);
+            String reply = request(out, in, "PASS");
+            for (int i = 0; i < 100 && reply.startsWith("ERR"); i++) {
+                Thread.sleep(50);
+                reply = request(out, in, "PASS");
+            }
+            assertTrue(reply, reply.startsWith("OK 0 2 "));
+        } finally {
+            loading.close();
+            loadingLoop.join(5000);
+        }
+    }
+
+    @Test
+    public void testHintIsAPlayableMove() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream());
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            assertTrue(request(out, in, "HINT").startsWith("ERR"));
+            request(out, in, "NEW 2 42");
+            String[] hint = request(out, in, "HINT").split(" ");
+            assertEquals("HINT", hint[0]);
+            assertEquals(5, hint.length);
+            // The same position again comes from the cache
+            assertEquals(String.join(" ", hint), request(out, in, "HINT"));
+            String[] played = request(out, in, hint[1] + " " + hint[2] + " " + hint[3]).split(" ");
+            assertEquals("OK", played[0]);
+            assertEquals(hint[4], played[1]);
+        }
+    }
+
+    @Test
+    public void testRequestsBehindASearchedHintAnswerInOrder() throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream());
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            request(out, in, "NEW 2 5");
+            // Sent together, so the requests after HINT arrive while the worker searches
+            out.print("HINT\nPASS\nHINT\nQUIT\n");
+            out.flush();
+            assertTrue(in.readLine().startsWith("HINT "));
+            assertTrue(in.readLine().startsWith("OK 0 2 "));
+            assertTrue(in.readLine().startsWith("HINT "));
+            assertEquals("BYE", in.readLine());
+            assertNull(in.readLine());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class GameSnapshotTest {
+
+    private static Game playedGame(Dictionary dictionary) {
+        Game game = new Game(dictionary, 21L);
+        game.addPlayer("Ada");
+        game.addPlayer("Grace");
+        game.addPlayer("Édith");
+        Rack rack = game.getCurrentPlayer().getRack();
+        game.play(MoveCommand.parse("H8 HORIZONTAL " + rack.get(0).getLetter() + rack.get(1).getLetter()));
+        game.play(MoveCommand.parse("SWAP 1 2"));
+        return game;
+    }
+
+    @Test
+    public void testRoundTripRestoresTheWholeGame() {
+        Dictionary dictionary = GameFixtures.twoLetterDictionary();
+        Game game = playedGame(dictionary);
+        byte[] bytes = GameSnapshot.toBytes(game);
+        assertEquals(GameSnapshot.size(game), bytes.length);
+        GameFixtures.assertSameGame(game, GameSnapshot.read(ByteBuffer.wrap(bytes), dictionary));
+    }
+
+    @Test
+    public void testRestoredGameDrawsTheSameTiles() {
+        Dictionary dictionary = GameFixtures.twoLetterDictionary();
+        Game game = playedGame(dictionary);
+        Game restored = GameSnapshot.read(ByteBuffer.wrap(GameSnapshot.toBytes(game)), dictionary);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(game.getTileBag().drawTile().getLetter(), restored.getTileBag().drawTile().getLetter());
+        }
+    }
+
+    @Test
+    public void testSnapshotsAreTakenAtTheInterval() throws Exception {
+        Dictionary dictionary = GameFixtures.twoLetterDictionary();
+        Path file = Files.createTempDirectory("snapshots").resolve("game.snap");
+        file.toFile().deleteOnExit();
+        Game game = new Game(dictionary, 8L);
+        game.addPlayer("Ada");
+        game.addPlayer("Grace");
+        game.snapshotTo(file, 3);
+        game.play(MoveCommand.parse("PASS"));
+        game.play(MoveCommand.parse("PASS"));
+        assertFalse(Files.exists(file));
+        game.play(MoveCommand.parse("SWAP 0"));
+        GameFixtures.assertSameGame(game, GameSnapshot.load(file, dictionary));
+        game.play(MoveCommand.parse("PASS"));
+        // Not due again until the sixth turn
+        assertEquals(1, GameSnapshot.load(file, dictionary).getCurrentPlayerIndex());
+    }
+
+    @Test
+    public void testRejectsOtherBytes() throws Exception {
+        Dictionary dictionary = GameFixtures.twoLetterDictionary();
+        byte[] bytes = GameSnapshot.toBytes(playedGame(dictionary));
+        try {
+            GameSnapshot.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 3)), dictionary);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Cut short
+        }
+        bytes[5] = 9;
+        try {
+            GameSnapshot.read(ByteBuffer.wrap(bytes), dictionary);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().contains("version"));
+        }
+        Path file = Files.createTempFile("words", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, Arrays.asList("hello"));
+        try {
+            GameSnapshot.load(file, dictionary);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // Not a snapshot
+        }
+    }
+}
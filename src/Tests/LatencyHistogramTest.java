@@ -0,0 +1,50 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverValuesInOrder() {
+        long previous = -1;
+        for (int b = 0; b < LatencyHistogram.BUCKETS; b++) {
+            long upper = LatencyHistogram.upperBound(b);
+            assertTrue(upper > previous);
+            assertEquals(b, LatencyHistogram.bucket(upper));
+            assertEquals(b, LatencyHistogram.bucket(previous + 1));
+            previous = upper;
+        }
+        assertEquals((1L << 40) - 1, previous);
+    }
+
+    @Test
+    public void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) {
+            histogram.record(v * 100);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertEquals(500_000, snapshot.percentile(0.5), 500_000 * 0.07);
+        assertEquals(990_000, snapshot.percentile(0.99), 990_000 * 0.07);
+        assertEquals(1_000_000, snapshot.percentile(1.0));
+        assertEquals(500_050, snapshot.getMean(), 500_050 * 0.07);
+    }
+
+    @Test
+    public void testConcurrentRecordsAllCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) histogram.record(i);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(400_000, histogram.snapshot().getCount());
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().percentile(0.99));
+    }
+}
@@ -0,0 +1,99 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public class LeaveTableTest {
+
+    private static final Dictionary DICTIONARY = GameFixtures.twoLetterDictionary();
+
+    private int[] leave(String letters) {
+        int[] counts = new int[LetterCodes.BLANK + 1];
+        for (char c : letters.toCharArray()) {
+            counts[c == LetterCodes.BLANK_CHAR ? LetterCodes.BLANK : LetterCodes.code(c)]++;
+        }
+        return counts;
+    }
+
+    private Path write(float[] values) throws Exception {
+        Path file = Files.createTempFile("leaves", ".slv");
+        file.toFile().deleteOnExit();
+        LeaveTable.write(values, file);
+        return file;
+    }
+
+    @Test
+    public void testSizeCoversLeavesUpToSixTiles() {
+        assertEquals(1107568, LeaveTable.SIZE);
+        assertEquals(0, LeaveTable.index(new int[LetterCodes.BLANK + 1]));
+        assertEquals(LeaveTable.SIZE - 1, LeaveTable.index(leave("??????")));
+        assertEquals(-1, LeaveTable.index(leave("AEINRST")));
+    }
+
+    @Test
+    public void testIndicesAreDistinctAndDense() {
+        // Code 27 stands for no tile, so this visits every leave of up to 3 tiles once
+        int none = LetterCodes.BLANK + 1;
+        Set<Integer> seen = new HashSet<>();
+        for (int a = 0; a <= none; a++) {
+            for (int b = a; b <= none; b++) {
+                for (int c = b; c <= none; c++) {
+                    int[] counts = new int[none + 1];
+                    counts[a]++;
+                    counts[b]++;
+                    counts[c]++;
+                    int index = LeaveTable.index(Arrays.copyOf(counts, none));
+                    assertTrue(index >= 0 && index < 1 + 27 + 378 + 3654);
+                    assertTrue(seen.add(index));
+                }
+            }
+        }
+        assertEquals(1 + 27 + 378 + 3654, seen.size());
+    }
+
+    @Test
+    public void testIndexIgnoresTileOrder() {
+        assertEquals(LeaveTable.index(leave("ERS?")), LeaveTable.index(leave("?SRE")));
+        assertNotEquals(LeaveTable.index(leave("ERS")), LeaveTable.index(leave("ERT")));
+    }
+
+    @Test
+    public void testMappedValuesRoundTrip() throws Exception {
+        float[] values = new float[LeaveTable.SIZE];
+        values[LeaveTable.index(leave("ERS"))] = 12.5f;
+        values[LeaveTable.index(leave("QVV"))] = -17.25f;
+        LeaveTable table = new LeaveTable(write(values));
+        assertEquals(12.5f, table.value(leave("SER")), 0f);
+        assertEquals(-17.25f, table.value(leave("VQV")), 0f);
+        assertEquals(0f, table.value(leave("")), 0f);
+        assertEquals(0f, table.value(leave("AEINRST")), 0f);
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void testRejectsOtherFiles() throws Exception {
+        Path file = Files.createTempFile("leaves", ".slv");
+        file.toFile().deleteOnExit();
+        Files.write(file, new byte[64]);
+        new LeaveTable(file);
+    }
+
+    @Test
+    public void testGeneratorBuildsPlayableTable() throws Exception {
+        LeaveTableGenerator generator = new LeaveTableGenerator(DICTIONARY);
+        generator.play(3, 7L);
+        assertTrue(generator.getTurns() > 0);
+        float[] values = generator.build();
+        assertEquals(LeaveTable.SIZE, values.length);
+        for (float value : values) {
+            assertFalse(Float.isNaN(value));
+        }
+
+        LeaveTable table = new LeaveTable(write(values));
+        LeaveStrategy strategy = new LeaveStrategy(table);
+        GameResult result = new GameEngine(DICTIONARY, Arrays.asList(strategy, new GreedyStrategy())).play(4L);
+        assertTrue(result.getMoves().get(0).isPlacement());
+    }
+}
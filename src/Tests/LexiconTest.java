@@ -0,0 +1,102 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class LexiconTest {
+
+    private static final List<String> WORDS = Arrays.asList("cat", "cats", "scat", "at", "act", "tact", "dog");
+
+    private void checkLexicon(Lexicon lexicon) {
+        assertTrue(lexicon.contains("CAT"));
+        assertTrue(lexicon.contains("cats"));
+        assertFalse(lexicon.contains("CA"));
+        assertFalse(lexicon.contains(""));
+        assertFalse(lexicon.contains("DOGS"));
+
+        assertTrue(lexicon.containsPrefix("CA"));
+        assertTrue(lexicon.containsPrefix("SCAT"));
+        assertFalse(lexicon.containsPrefix("CX"));
+
+        int s = 1 << ('S' - 'A');
+        assertEquals(s, lexicon.frontHooks("CAT"));
+        assertEquals(s, lexicon.backHooks("CAT"));
+        int c = 1 << ('C' - 'A');
+        assertEquals(c, lexicon.crossCheck("", "AT") & c);
+        assertEquals(1 << ('T' - 'A'), lexicon.crossCheck("", "ACT"));
+        assertEquals(7, lexicon.size());
+    }
+
+    @Test
+    public void testHashSetLexicon() {
+        checkLexicon(new HashSetLexicon(WORDS));
+    }
+
+    @Test
+    public void testDawgLexicon() {
+        checkLexicon(DawgLexicon.build(WORDS));
+    }
+
+    @Test
+    public void testGaddagLexicon() {
+        checkLexicon(GaddagLexicon.build(WORDS));
+    }
+
+    @Test
+    public void testDawgWalk() {
+        DawgLexicon dawg = DawgLexicon.build(WORDS);
+        int node = dawg.child(dawg.root(), 'C' - 'A');
+        node = dawg.child(node, 'A' - 'A');
+        assertFalse(dawg.isTerminal(node));
+        node = dawg.child(node, 'T' - 'A');
+        assertTrue(dawg.isTerminal(node));
+        assertEquals(1 << ('S' - 'A'), dawg.edgeMask(node));
+        assertEquals(-1, dawg.child(node, 'X' - 'A'));
+    }
+
+    @Test
+    public void testHashSetPrefixesMatchDawg() {
+        Lexicon set = new HashSetLexicon(WORDS);
+        Lexicon dawg = DawgLexicon.build(WORDS);
+        String letters = "ACDGOSTZ";
+        List<String> prefixes = new ArrayList<>(Arrays.asList("", "TACTS", "DOGS"));
+        for (char a : letters.toCharArray()) {
+            prefixes.add("" + a);
+            for (char b : letters.toCharArray()) {
+                prefixes.add("" + a + b);
+                for (char c : letters.toCharArray()) prefixes.add("" + a + b + c);
+            }
+        }
+        for (String prefix : prefixes) {
+            assertEquals(prefix, dawg.containsPrefix(prefix), set.containsPrefix(prefix));
+        }
+        assertFalse(new HashSetLexicon(Collections.<String>emptyList()).containsPrefix(""));
+    }
+
+    @Test
+    public void testSliceAndCodeLookups() {
+        Lexicon[] lexicons = { new HashSetLexicon(WORDS), DawgLexicon.build(WORDS), GaddagLexicon.build(WORDS) };
+        char[] chars = "xxscatsx".toCharArray();
+        byte[] codes = new byte[8];
+        assertEquals(4, LetterCodes.encode("CATS", codes));
+        for (Lexicon lexicon : lexicons) {
+            assertTrue(lexicon.contains(chars, 2, 4));
+            assertTrue(lexicon.contains(chars, 3, 4));
+            assertFalse(lexicon.contains(chars, 1, 4));
+            assertTrue(lexicon.containsCodes(codes, 0, 4));
+            assertTrue(lexicon.containsCodes(codes, 0, 3));
+            assertFalse(lexicon.containsCodes(codes, 1, 3));
+        }
+    }
+
+    @Test
+    public void testDictionaryOverloads() {
+        Dictionary dict = new Dictionary(DawgLexicon.build(WORDS));
+        assertTrue(dict.isValid(new StringBuilder("dog")));
+        assertTrue(dict.isValid("xdogx".toCharArray(), 1, 3));
+        assertTrue(dict.isValid(new byte[] { 3, 14, 6 }, 0, 3));
+        assertFalse(dict.isValid(new byte[] { 3, 14, 6 }, 0, 2));
+    }
+}
@@ -0,0 +1,53 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+public class MappedWordListTest {
+
+    private MappedWordList compile(List<String> words) throws Exception {
+        Path file = Files.createTempFile("words", ".swl");
+        file.toFile().deleteOnExit();
+        WordListCompiler.compile(words, file);
+        return new MappedWordList(file);
+    }
+
+    @Test
+    public void testContainsCompiledWords() throws Exception {
+        MappedWordList list = compile(Arrays.asList("hello", "cat", "dog", "zebra"));
+        assertTrue(list.contains("HELLO"));
+        assertTrue(list.contains("cat"));
+        assertTrue(list.contains("DoG"));
+        assertTrue(list.contains("zebra"));
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    public void testMissingWords() throws Exception {
+        MappedWordList list = compile(Arrays.asList("hello", "cat", "dog"));
+        assertFalse(list.contains("CATS"));
+        assertFalse(list.contains("CA"));
+        assertFalse(list.contains("XYZXYZ"));
+        assertFalse(list.contains(""));
+    }
+
+    @Test
+    public void testDuplicatesAndWhitespaceCollapse() throws Exception {
+        MappedWordList list = compile(Arrays.asList(" cat", "CAT", "cat "));
+        assertEquals(1, list.size());
+        assertTrue(list.contains("cat"));
+    }
+
+    @Test
+    public void testDictionaryUsesCompiledFile() throws Exception {
+        Path file = Files.createTempFile("words", ".swl");
+        file.toFile().deleteOnExit();
+        WordListCompiler.compile(Arrays.asList("hello", "world"), file);
+        Dictionary dict = new Dictionary(file);
+        assertTrue(dict.isValid("hello"));
+        assertTrue(dict.isValid("WORLD"));
+        assertFalse(dict.isValid("XYZXYZ"));
+    }
+}
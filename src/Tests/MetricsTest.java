@@ -0,0 +1,114 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+public class MetricsTest {
+
+    @Before
+    public void setUp() {
+        Metrics.reset();
+        Metrics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    public void testRecordsValidationsPlacementsAndDraws() {
+        Dictionary dict = new Dictionary(DawgLexicon.build(Arrays.asList("cat", "at")));
+        assertTrue(dict.isValid("CAT"));
+        assertFalse(dict.isValid("DOG"));
+
+        Board board = new Board(dict);
+        Player player = new Player("Alex");
+        player.addTile(new Tile('C', 3));
+        player.addTile(new Tile('A', 1));
+        player.addTile(new Tile('T', 1));
+        board.tryPlaceWord("CAT", 7, 7, true, player);
+        board.tryPlaceWord("AT", 0, 0, true, player);
+        new TileBag(1L).drawTile();
+
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        assertEquals(2, snapshot.getCount(Metrics.Counter.VALIDATIONS));
+        assertEquals(1, snapshot.getCount(Metrics.Counter.INVALID_WORDS));
+        assertEquals(2, snapshot.getTimer(Metrics.Timer.VALIDATION).getCount());
+        assertEquals(1, snapshot.getPlacements(PlacementStatus.PLACED));
+        assertEquals(1, snapshot.getPlacements(PlacementStatus.NOT_CONNECTED));
+        assertEquals(2, snapshot.getTimer(Metrics.Timer.PLACEMENT).getCount());
+        assertEquals(1, snapshot.getTimer(Metrics.Timer.SCORING).getCount());
+        assertEquals(1, snapshot.getCount(Metrics.Counter.TILE_DRAWS));
+        assertTrue(snapshot.toText().contains("placements.not_connected 1\n"));
+    }
+
+    @Test
+    public void testNothingRecordedWhileDisabled() {
+        Metrics.setEnabled(false);
+        Dictionary dict = new Dictionary(DawgLexicon.build(Arrays.asList("cat")));
+        dict.isValid("CAT");
+        new TileBag(1L).drawTile();
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        assertEquals(0, snapshot.getCount(Metrics.Counter.VALIDATIONS));
+        assertEquals(0, snapshot.getCount(Metrics.Counter.TILE_DRAWS));
+        assertEquals(0, snapshot.getTimer(Metrics.Timer.VALIDATION).getCount());
+    }
+
+    @Test
+    public void testRestoringAGameRecordsNothing() throws Exception {
+        Dictionary dictionary = GameFixtures.twoLetterDictionary();
+        Path file = Files.createTempFile("game", ".log");
+        file.toFile().deleteOnExit();
+        Game game = new Game(dictionary, 2L);
+        try (GameLog log = GameLog.open(file)) {
+            game.recordTo(log, 1L);
+            game.addPlayer("Ada");
+            game.addPlayer("Grace");
+            String word = "";
+            for (char c : game.getCurrentPlayer().rackToString().toCharArray()) {
+                if (Character.isLetter(c) && word.length() < 2) word += c;
+            }
+            assertTrue(game.play(MoveCommand.parse("H8 H " + word)) > 0);
+            game.play(MoveCommand.parse("SWAP 0 3"));
+            game.play(MoveCommand.parse("PASS"));
+        }
+        byte[] bytes = GameSnapshot.toBytes(game);
+        Metrics.reset();
+
+        GameFixtures.assertSameGame(game, GameSnapshot.read(ByteBuffer.wrap(bytes), dictionary));
+        GameFixtures.assertSameGame(game, GameLog.replay(file, dictionary, 1L, Long.MAX_VALUE));
+        Metrics.Snapshot snapshot = Metrics.snapshot();
+        assertEquals(0, snapshot.getCount(Metrics.Counter.TURNS));
+        assertEquals(0, snapshot.getTimer(Metrics.Timer.TURN).getCount());
+        assertEquals(0, snapshot.getCount(Metrics.Counter.TILE_DRAWS));
+        assertEquals(0, snapshot.getCount(Metrics.Counter.VALIDATIONS));
+        assertEquals(0, snapshot.getPlacements(PlacementStatus.PLACED));
+        assertEquals(0, snapshot.getTimer(Metrics.Timer.PLACEMENT).getCount());
+        assertEquals(0, snapshot.getTimer(Metrics.Timer.SCORING).getCount());
+    }
+
+    @Test
+    public void testMBeanExposesSnapshot() throws Exception {
+        Metrics.increment(Metrics.Counter.TURNS);
+        Metrics.registerMBean();
+        Metrics.registerMBean();
+        Object turns = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(Metrics.OBJECT_NAME), "turns");
+        assertEquals(1L, turns);
+        try {
+            ManagementFactory.getPlatformMBeanServer().invoke(new ObjectName(Metrics.OBJECT_NAME), "reset", null, null);
+            fail("The bean has no operations");
+        } catch (ReflectionException expected) {
+            assertTrue(expected.getCause() instanceof NoSuchMethodException);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.List;
+
+public class MonteCarloSimulatorTest {
+
+    private static final Dictionary DICTIONARY = GameFixtures.twoLetterDictionary();
+
+    private Rack rack(String letters) {
+        Rack rack = new Rack();
+        for (char c : letters.toCharArray()) {
+            rack.add(new Tile(c, LetterCodes.points(LetterCodes.code(c))));
+        }
+        return rack;
+    }
+
+    private List<Move> candidates(BoardState position, Rack rack) {
+        List<Move> moves = new MoveGenerator(DICTIONARY).generate(position, rack.copyCounts(new int[27]));
+        return moves.subList(0, 3);
+    }
+
+    @Test
+    public void testUnseenTiles() {
+        BoardState position = new BoardState(DICTIONARY.getLexicon());
+        position.makeMove(new Move(7, 7, true, "QI", 0, 2, 22));
+        int[] unseen = MonteCarloSimulator.unseenTiles(position, rack("AEIOUST"));
+        assertEquals(0, unseen[LetterCodes.code('Q')]);
+        assertEquals(9 - 2, unseen[LetterCodes.code('I')]);
+        int total = 0;
+        for (int count : unseen) total += count;
+        assertEquals(98 - 2 - 7, total);
+    }
+
+    @Test
+    public void testNoPliesGivesMoveScore() {
+        BoardState position = new BoardState(DICTIONARY.getLexicon());
+        Rack rack = rack("CATSEDR");
+        List<SimulationResult> results = new MonteCarloSimulator(DICTIONARY, 2)
+                .simulate(position, rack, candidates(position, rack), 0, 20, 0, 1L);
+        for (SimulationResult result : results) {
+            assertEquals(20, result.getIterations());
+            assertEquals(result.getMove().getScore(), result.getMeanEquity(), 1e-9);
+            assertEquals(0.0, result.getStandardError(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testSameSeedSameEstimates() {
+        BoardState position = new BoardState(DICTIONARY.getLexicon());
+        Rack rack = rack("QUIZENA");
+        List<Move> candidates = candidates(position, rack);
+        List<SimulationResult> single = new MonteCarloSimulator(DICTIONARY, 1)
+                .simulate(position, rack, candidates, 2, 50, 0, 9L);
+        List<SimulationResult> parallel = new MonteCarloSimulator(DICTIONARY, 3)
+                .simulate(position, rack, candidates, 2, 50, 0, 9L);
+        assertEquals(single.toString(), parallel.toString());
+        for (int i = 1; i < single.size(); i++) {
+            assertTrue(single.get(i - 1).getMeanEquity() >= single.get(i).getMeanEquity());
+        }
+        // The position is left as it was
+        assertEquals(0, position.getTileCount());
+    }
+
+    @Test
+    public void testTimeLimitStopsEarly() {
+        BoardState position = new BoardState(DICTIONARY.getLexicon());
+        Rack rack = rack("LETTERS");
+        long start = System.currentTimeMillis();
+        List<SimulationResult> results = new MonteCarloSimulator(DICTIONARY, 2)
+                .simulate(position, rack, candidates(position, rack), 4, Integer.MAX_VALUE, 100, 3L);
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertTrue(results.get(0).getIterations() > 0);
+    }
+
+    @Test
+    public void testUnreadCrossChecksDoNotChangeEstimates() {
+        // Few enough words that most cross-checks rule letters out
+        Dictionary words = new Dictionary(DawgLexicon.build(Arrays.asList(
+                "at", "as", "an", "ta", "to", "so", "no", "on", "in", "it", "is", "si", "ti", "oe", "ne", "en",
+                "cat", "cats", "act", "acts", "scat", "tan", "tans", "ant", "ants", "not", "note", "notes",
+                "tone", "tones", "stone", "onset", "set", "sent", "nest", "net", "nets", "ten", "tens", "tin",
+                "tins", "sit", "site", "ties", "tie", "ice", "nice", "cent", "cents", "scent", "once", "cone",
+                "cones", "coin", "coins", "icon", "icons", "sonic", "tonic", "tonics", "ace", "aces")));
+        Rack rack = rack("CATSONE");
+        BoardState unread = new BoardState(words.getLexicon());
+        unread.makeMove(new Move(7, 5, true, "STONE", 0, 5, 5));
+        unread.makeMove(new Move(4, 9, false, "NICE", 0, 3, 6));
+        BoardState read = unread.copy();
+        for (int sq = 0; sq < BoardState.SQUARES; sq++) {
+            read.getCrossSum(sq, true);
+            read.getCrossSum(sq, false);
+        }
+        // Every candidate, so some land next to squares the unread copy still has marked stale
+        List<Move> candidates = new MoveGenerator(words).generate(read, rack.copyCounts(new int[27]));
+        int[] unseen = MonteCarloSimulator.unseenTiles(read, rack);
+        int[] counts = rack.copyCounts(new int[27]);
+        List<SimulationResult> expected = new MonteCarloSimulator(words, 1)
+                .simulate(read, counts, unseen, candidates, 2, 40, 0, 5L);
+        List<SimulationResult> actual = new MonteCarloSimulator(words, 1)
+                .simulate(unread, counts, unseen, candidates, 2, 40, 0, 5L);
+        assertEquals(expected.toString(), actual.toString());
+    }
+}
@@ -0,0 +1,44 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MoveCommandTest {
+
+    @Test
+    public void testParsesPlacement() {
+        MoveCommand command = MoveCommand.parse("h8 horizontal hello");
+        assertEquals(MoveCommand.Kind.PLACE, command.getKind());
+        assertEquals(7, command.getRow());
+        assertEquals(7, command.getCol());
+        assertTrue(command.isHorizontal());
+        assertEquals("HELLO", command.getWord());
+    }
+
+    @Test
+    public void testParsesShortDirection() {
+        MoveCommand command = MoveCommand.parse("D12  V  cat");
+        assertEquals(11, command.getRow());
+        assertEquals(3, command.getCol());
+        assertFalse(command.isHorizontal());
+    }
+
+    @Test
+    public void testParsesSwapPassAndQuit() {
+        assertArrayEquals(new int[] {0, 2, 5}, MoveCommand.parse("SWAP 0 2 5").getIndices());
+        assertEquals(MoveCommand.Kind.PASS, MoveCommand.parse("pass").getKind());
+        assertEquals(MoveCommand.Kind.QUIT, MoveCommand.parse(" QUIT ").getKind());
+    }
+
+    @Test
+    public void testRejectsMalformedInput() {
+        String[] bad = {"H8 HELLO", "H HORIZONTAL HELLO", "HX HORIZONTAL HELLO", "P8 HORIZONTAL HELLO",
+                "H16 HORIZONTAL HELLO", "H8 SIDEWAYS HELLO", "SWAP", "SWAP 1 x", "SWAP 0 0", "SWAP 2 1 2"};
+        for (String line : bad) {
+            try {
+                MoveCommand.parse(line);
+                fail("Expected IllegalArgumentException for " + line);
+            } catch (IllegalArgumentException expected) {
+                assertNotNull(expected.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MoveGeneratorTest {
+
+    private static final GaddagLexicon WORDS = GaddagLexicon.build(Arrays.asList("cat", "cats", "at", "ta", "act"));
+
+    private List<Tile> rack(String letters) {
+        List<Tile> rack = new ArrayList<>();
+        for (char c : letters.toCharArray()) {
+            rack.add(new Tile(c, c == '?' ? 0 : 1));
+        }
+        return rack;
+    }
+
+    private Move find(List<Move> moves, String word, int row, int col, boolean horizontal) {
+        for (Move move : moves) {
+            if (move.getWord().equals(word) && move.getRow() == row && move.getCol() == col
+                    && move.isHorizontal() == horizontal) {
+                return move;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testFirstMoveCoversCenter() {
+        List<Move> moves = new MoveGenerator(WORDS).generate(new Board(), rack("CAT"));
+        // CAT, ACT: 3 placements each; AT, TA: 2 each; in both directions
+        assertEquals(20, moves.size());
+        for (Move move : moves) {
+            int length = move.getWord().length();
+            if (move.isHorizontal()) {
+                assertEquals(7, move.getRow());
+                assertTrue(move.getCol() <= 7 && move.getCol() + length > 7);
+            } else {
+                assertEquals(7, move.getCol());
+                assertTrue(move.getRow() <= 7 && move.getRow() + length > 7);
+            }
+        }
+        Move cat = find(moves, "CAT", 7, 7, true);
+        assertNotNull(cat);
+        // The center square doubles the word
+        assertEquals(10, cat.getScore());
+        assertEquals(3, cat.getTilesPlaced());
+    }
+
+    @Test
+    public void testExtendsExistingWord() {
+        Board board = new Board();
+        Player player = new Player("Alex");
+        player.addTile(new Tile('C', 3));
+        player.addTile(new Tile('A', 1));
+        player.addTile(new Tile('T', 1));
+        assertTrue(board.placeWord("CAT", 7, 7, true, player));
+
+        List<Move> moves = new MoveGenerator(WORDS).generate(board, rack("S"));
+        Move cats = find(moves, "CATS", 7, 7, true);
+        assertNotNull(cats);
+        assertEquals(1, cats.getTilesPlaced());
+        assertEquals(6, cats.getScore());
+        assertEquals(1, moves.size());
+    }
+
+    @Test
+    public void testBlankPlaysAnyLetter() {
+        List<Move> moves = new MoveGenerator(WORDS).generate(new Board(), rack("A?"));
+        Move at = find(moves, "AT", 7, 7, true);
+        assertNotNull(at);
+        assertEquals(1 << 1, at.getBlankMask());
+        assertEquals(2, at.getScore());
+    }
+
+    @Test
+    public void testGeneratedMovesCanBePlaced() {
+        Board board = new Board();
+        List<Move> moves = new MoveGenerator(WORDS).generate(board, rack("CATS"));
+        Move move = moves.get(0);
+        Player player = new Player("Sam");
+        for (Tile tile : rack("CATS")) player.addTile(tile);
+        assertTrue(board.placeWord(move.getWord(), move.getRow(), move.getCol(), move.isHorizontal(), player));
+    }
+
+    @Test
+    public void testBestMoveHasTopScore() {
+        MoveGenerator generator = new MoveGenerator(WORDS);
+        BoardState state = new BoardState(WORDS);
+        int[] rack = new int[LetterCodes.BLANK + 1];
+        for (char c : "CATS".toCharArray()) rack[LetterCodes.code(c)]++;
+        int top = 0;
+        for (Move move : generator.generate(state, rack)) top = Math.max(top, move.getScore());
+        assertEquals(top, generator.bestMove(state, rack).getScore());
+        assertNull(generator.bestMove(state, new int[LetterCodes.BLANK + 1]));
+    }
+
+    @Test
+    public void testCachedResultsAreReused() {
+        MoveGenerator generator = new MoveGenerator(WORDS);
+        BoardState state = new BoardState(WORDS);
+        Rack cat = new Rack();
+        for (Tile tile : rack("CAT")) cat.add(tile);
+        int[] counts = cat.copyCounts(new int[LetterCodes.BLANK + 1]);
+
+        PositionCache<List<Move>> lists = new PositionCache<>(64);
+        List<Move> moves = generator.generate(state, counts, lists);
+        assertEquals(20, moves.size());
+        assertSame(moves, generator.generate(state, counts, lists));
+        assertEquals(1, lists.getHits());
+
+        PositionCache<Move> best = new PositionCache<>(64);
+        Move move = generator.bestMove(state, counts, best);
+        assertSame(move, generator.bestMove(state, counts, best));
+        assertNotNull(best.get(state.getHash() ^ cat.getHash()));
+        // A rack with no word caches the pass and still answers null
+        int[] none = new int[LetterCodes.BLANK + 1];
+        none[LetterCodes.code('Q')] = 1;
+        assertNull(generator.bestMove(state, none, best));
+        assertNull(generator.bestMove(state, none, best));
+        assertEquals(Move.Kind.PASS, best.get(Zobrist.rack(0, none)).getKind());
+    }
+}
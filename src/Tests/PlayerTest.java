@@ -80,4 +80,14 @@ public class PlayerTest {
 
         assertTrue(finalSize < initialSize); // tiles were removed
     }
+
+    @Test
+    public void testCanFormWordWithBlank() {
+        Player player = new Player("Casey");
+        player.addTile(new Tile('C', 3));
+        player.addTile(new Tile('A', 1));
+        player.addTile(new Tile('?', 0));
+        assertTrue(player.canFormWord("cat"));
+        assertFalse(player.canFormWord("CATS"));
+    }
 }
\ No newline at end of file
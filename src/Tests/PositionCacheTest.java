@@ -0,0 +1,84 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class PositionCacheTest {
+
+    @Test
+    public void testPutGetAndReplace() {
+        PositionCache<String> cache = new PositionCache<>(100);
+        assertNull(cache.get(42L));
+        cache.put(42L, "a");
+        cache.put(-7L, "b");
+        assertEquals("a", cache.get(42L));
+        cache.put(42L, "c");
+        assertEquals("c", cache.get(42L));
+        assertEquals("b", cache.get(-7L));
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(42L));
+    }
+
+    @Test
+    public void testClockKeepsEntriesThatAreRead() {
+        PositionCache<Long> cache = new PositionCache<>(16);
+        for (long key = 0; key < 16; key++) cache.put(key, key);
+        for (long key = 0; key < 8; key++) cache.get(key);
+        // Eight new positions evict the eight that were never read
+        for (long key = 100; key < 108; key++) cache.put(key, key);
+        assertEquals(16, cache.size());
+        for (long key = 0; key < 8; key++) assertEquals(Long.valueOf(key), cache.get(key));
+        for (long key = 8; key < 16; key++) assertNull(cache.get(key));
+    }
+
+    @Test
+    public void testRandomUseMatchesAMap() {
+        // Keys that share low bits force long probe runs through the index
+        PositionCache<Long> cache = new PositionCache<>(64);
+        Map<Long, Long> latest = new HashMap<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 100_000; i++) {
+            long key = (long) random.nextInt(200) << (random.nextBoolean() ? 7 : 40);
+            if (random.nextBoolean()) {
+                long value = random.nextLong();
+                cache.put(key, value);
+                latest.put(key, value);
+                assertEquals(Long.valueOf(value), cache.get(key));
+            } else {
+                Long value = cache.get(key);
+                if (value != null) assertEquals(latest.get(key), value);
+            }
+            assertTrue(cache.size() <= cache.capacity());
+        }
+        assertEquals(64, cache.capacity());
+    }
+
+    @Test
+    public void testConcurrentUse() throws InterruptedException {
+        PositionCache<Long> cache = new PositionCache<>(1 << 12);
+        Thread[] threads = new Thread[4];
+        boolean[] wrong = new boolean[1];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    long key = random.nextLong() & 0xF_FFFFL;
+                    Long value = cache.get(key);
+                    if (value == null) cache.put(key, key * 31);
+                    else if (value != key * 31) wrong[0] = true;
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertFalse(wrong[0]);
+        assertEquals(1 << 12, cache.capacity());
+        assertTrue(cache.size() <= cache.capacity());
+    }
+}
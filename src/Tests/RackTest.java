@@ -0,0 +1,87 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class RackTest {
+
+    private Rack rack(String letters) {
+        Rack rack = new Rack();
+        for (char c : letters.toCharArray()) {
+            rack.add(new Tile(c, c == '?' ? 0 : 1));
+        }
+        return rack;
+    }
+
+    @Test
+    public void testCountsFollowChanges() {
+        Rack rack = rack("HELLO");
+        assertEquals(5, rack.size());
+        assertEquals(2, rack.count(LetterCodes.code('L')));
+        rack.removeLetter('l');
+        assertEquals(1, rack.count(LetterCodes.code('L')));
+        rack.remove(0);
+        assertFalse(rack.hasLetter('H'));
+        rack.set(0, new Tile('Z', 10));
+        assertFalse(rack.hasLetter('E'));
+        assertTrue(rack.hasLetter('Z'));
+        rack.clear();
+        assertTrue(rack.isEmpty());
+        assertEquals(0, rack.count(LetterCodes.code('Z')));
+    }
+
+    @Test
+    public void testRemoveByTile() {
+        Rack rack = rack("AB");
+        Tile b = rack.get(1);
+        assertTrue(rack.remove(b));
+        assertFalse(rack.hasLetter('B'));
+        assertEquals(1, rack.size());
+    }
+
+    @Test
+    public void testFind() {
+        Rack rack = rack("CAT");
+        assertSame(rack.get(1), rack.find('a'));
+        assertNull(rack.find('Q'));
+    }
+
+    @Test
+    public void testCanForm() {
+        Rack rack = rack("CATS");
+        assertTrue(rack.canForm("cast"));
+        assertFalse(rack.canForm("CATT"));
+        assertFalse(rack.canForm("DOG"));
+        assertFalse(rack.canForm("CA-T"));
+    }
+
+    @Test
+    public void testCanFormWithBlank() {
+        Rack rack = rack("CA?");
+        assertTrue(rack.canForm("CAT"));
+        assertTrue(rack.canForm("CAA"));
+        assertFalse(rack.canForm("CATS"));
+    }
+
+    @Test
+    public void testKeyIgnoresOrder() {
+        assertEquals(rack("RETAINS").key(), rack("STAINER").key());
+        assertNotEquals(rack("RETAINS").key(), rack("RETAINT").key());
+        assertNotEquals(rack("A").key(), rack("AA").key());
+        assertNotEquals(rack("A?").key(), rack("AB").key());
+    }
+
+    @Test
+    public void testHashIgnoresOrderAndFollowsChanges() {
+        Rack rack = rack("LEHLO?");
+        int[] counts = rack.copyCounts(new int[LetterCodes.BLANK + 1]);
+        assertEquals(Zobrist.rack(0, counts), rack.getHash());
+        assertEquals(rack("HELLO?").getHash(), rack.getHash());
+        assertNotEquals(rack("HELO?").getHash(), rack.getHash());
+
+        rack.removeLetter('L');
+        assertEquals(rack("HELO?").getHash(), rack.getHash());
+        rack.set(0, new Tile('Z', 10));
+        assertEquals(rack("ZHLO?").getHash(), rack.getHash());
+        rack.clear();
+        assertEquals(0, rack.getHash());
+    }
+}
@@ -0,0 +1,63 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ScoreCalculatorTest {
+
+    private static int square(int row, int col) {
+        return row * BoardState.SIZE + col;
+    }
+
+    @Test
+    public void testPremiumTables() {
+        assertEquals(3, ScoreCalculator.wordMultiplier(square(0, 0)));
+        assertEquals(2, ScoreCalculator.wordMultiplier(square(7, 7)));
+        assertEquals(3, ScoreCalculator.letterMultiplier(square(5, 5)));
+        assertEquals(2, ScoreCalculator.letterMultiplier(square(0, 3)));
+        assertEquals(1, ScoreCalculator.letterMultiplier(square(7, 7)));
+        assertEquals(1, ScoreCalculator.wordMultiplier(square(7, 8)));
+    }
+
+    @Test
+    public void testFirstMoveDoubled() {
+        BoardState state = new BoardState(null);
+        assertEquals(10, ScoreCalculator.score(state, "CAT", 7, 7, true, 0));
+        // A blank T scores nothing
+        assertEquals(8, ScoreCalculator.score(state, "CAT", 7, 7, true, 1 << 2));
+    }
+
+    @Test
+    public void testExistingTilesHaveNoPremium() {
+        BoardState state = new BoardState(null);
+        state.makeMove(new Move(7, 7, true, "CAT", 0, 3, 10));
+        // S on a plain square; C on the center keeps its face value
+        assertEquals(6, ScoreCalculator.score(state, "CATS", 7, 7, true, 0));
+    }
+
+    @Test
+    public void testCrossWordsScored() {
+        BoardState state = new BoardState(null);
+        state.makeMove(new Move(7, 7, true, "CAT", 0, 3, 10));
+        // AT below C and A: forms CA and AT downwards
+        // Main word AT at row 8: A(1) on (8,7), T(1) on the double letter at (8,8) -> 3
+        // Cross-words: CA = 3 + 1, AT = 1 + 2 -> 7
+        assertEquals(10, ScoreCalculator.score(state, "AT", 8, 7, true, 0));
+    }
+
+    @Test
+    public void testBingoBonus() {
+        BoardState state = new BoardState(null);
+        // 7 tiles worth 1 each across the center: doubled, plus the bonus
+        assertEquals(14 + ScoreCalculator.BINGO_BONUS, ScoreCalculator.score(state, "AEIOULN", 7, 4, true, 0));
+    }
+
+    @Test
+    public void testBoardAwardsScore() {
+        Board board = new Board();
+        Player player = new Player("Alex");
+        player.addTile(new Tile('C', 3));
+        player.addTile(new Tile('A', 1));
+        player.addTile(new Tile('T', 1));
+        assertTrue(board.placeWord("CAT", 7, 7, true, player));
+        assertEquals(10, player.getScore());
+    }
+}
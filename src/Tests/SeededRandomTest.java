@@ -0,0 +1,71 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SeededRandomTest {
+
+    @Test
+    public void testSameSeedSameSequence() {
+        SeededRandom a = new SeededRandom(7L);
+        SeededRandom b = new SeededRandom(7L);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+    }
+
+    @Test
+    public void testStateRestoresSequence() {
+        SeededRandom random = new SeededRandom(3L);
+        random.nextLong();
+        long state = random.getState();
+        int first = random.nextInt(100);
+        random.setState(state);
+        assertEquals(first, random.nextInt(100));
+    }
+
+    @Test
+    public void testNextIntInRange() {
+        SeededRandom random = new SeededRandom(11L);
+        int[] seen = new int[7];
+        for (int i = 0; i < 7000; i++) {
+            seen[random.nextInt(7)]++;
+        }
+        for (int count : seen) {
+            assertTrue(count > 800 && count < 1200);
+        }
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(16);
+            assertTrue(value >= 0 && value < 16);
+        }
+    }
+
+    @Test
+    public void testNextDoubleInRange() {
+        SeededRandom random = new SeededRandom(5L);
+        for (int i = 0; i < 1000; i++) {
+            double value = random.nextDouble();
+            assertTrue(value >= 0.0 && value < 1.0);
+        }
+    }
+
+    @Test
+    public void testSplitIsIndependent() {
+        SeededRandom random = new SeededRandom(9L);
+        SeededRandom child = random.split();
+        assertNotEquals(random.nextLong(), child.nextLong());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsBadBound() {
+        new SeededRandom(1L).nextInt(0);
+    }
+
+    @Test
+    public void testMixDerivesSeedsByIndex() {
+        assertEquals(new SeededRandom(9L).nextLong(), SeededRandom.mix(9L, 0));
+        assertEquals(SeededRandom.mix(9L, 5), SeededRandom.mix(9L, 5));
+        assertNotEquals(SeededRandom.mix(9L, 5), SeededRandom.mix(9L, 6));
+        // Indices past the int range do not wrap onto small ones
+        assertNotEquals(SeededRandom.mix(9L, 0), SeededRandom.mix(9L, 1L << 32));
+        assertEquals(Tournament.gameSeed(9L, 3), SeededRandom.mix(9L, 3));
+    }
+}
@@ -40,4 +40,37 @@ public class TileBagTest {
         assertEquals(98, count); // assuming your bag starts with 100 tiles
         assertEquals(0, bag.size());
     }
+
+    @Test
+    public void testSameSeedSameDraws() {
+        TileBag first = new TileBag(42L);
+        TileBag second = new TileBag(42L);
+        for (int i = 0; i < 98; i++) {
+            assertEquals(first.drawTile().getLetter(), second.drawTile().getLetter());
+        }
+    }
+
+    @Test
+    public void testReturnTile() {
+        TileBag bag = new TileBag(1L);
+        Tile tile = bag.drawTile();
+        int left = bag.count(LetterCodes.code(tile.getLetter()));
+        bag.returnTile(tile);
+        assertEquals(98, bag.size());
+        assertEquals(left + 1, bag.count(LetterCodes.code(tile.getLetter())));
+    }
+
+    @Test
+    public void testDistribution() {
+        TileBag bag = new TileBag();
+        assertEquals(12, bag.count(LetterCodes.code('E')));
+        assertEquals(0, bag.count(LetterCodes.BLANK));
+        assertEquals(98, bag.getTiles().size());
+        assertEquals(10, bag.getTiles().get(97).getPoints()); // Z is last
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testTilesSnapshotIsReadOnly() {
+        new TileBag().getTiles().add(new Tile('A', 1));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class TournamentTest {
+
+    private static final Dictionary DICTIONARY = GameFixtures.twoLetterDictionary();
+
+    private static List<Supplier<? extends PlayerStrategy>> greedyPair() {
+        return Arrays.asList(GreedyStrategy::new, GreedyStrategy::new);
+    }
+
+    @Test
+    public void testSameResultOnAnyThreadCount() {
+        TournamentResult single = new Tournament(DICTIONARY, greedyPair(), 1).run(123L, 40);
+        TournamentResult parallel = new Tournament(DICTIONARY, greedyPair(), 3).run(123L, 40);
+        assertEquals(single.toString(), parallel.toString());
+    }
+
+    @Test
+    public void testCountsEveryGame() {
+        TournamentResult result = new Tournament(DICTIONARY, greedyPair(), 2).run(7L, 30);
+        assertEquals(30, result.getGames());
+        assertEquals(30, result.getWins(0) + result.getWins(1) + result.getTies(0));
+        assertEquals(result.getTies(0), result.getTies(1));
+        assertEquals(1.0, result.getWinRate(0) + result.getWinRate(1), 1e-9);
+        // Two players: one's spread is the other's loss
+        assertEquals(-result.getMeanSpread(0), result.getMeanSpread(1), 1e-9);
+        double[] interval = result.getWinRateInterval(0);
+        assertTrue(interval[0] <= result.getWinRate(0) && result.getWinRate(0) <= interval[1]);
+    }
+
+    @Test
+    public void testGameSeedReplaysGame() {
+        long seed = Tournament.gameSeed(5L, 0);
+        assertEquals(seed, Tournament.gameSeed(5L, 0));
+        assertNotEquals(seed, Tournament.gameSeed(5L, 1));
+        GameEngine engine = new GameEngine(DICTIONARY, Arrays.asList(new GreedyStrategy(), new GreedyStrategy()));
+        assertEquals(engine.play(seed).getDraws(), engine.play(seed).getDraws());
+    }
+}
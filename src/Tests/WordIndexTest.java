@@ -0,0 +1,69 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class WordIndexTest {
+
+    private static final WordIndex INDEX = WordIndex.build(DawgLexicon.build(Arrays.asList(
+            "cat", "act", "tac", "at", "ta", "a", "cats", "cast", "scat", "taco", "coat", "dog", "god",
+            "bases", "bakes", "cares", "taste")));
+
+    private static List<String> sorted(List<String> words) {
+        Collections.sort(words);
+        return words;
+    }
+
+    @Test
+    public void testAnagramsUseEveryLetter() {
+        assertEquals(Arrays.asList("ACT", "CAT", "TAC"), INDEX.anagrams("tca"));
+        assertEquals(Arrays.asList("CAST", "CATS", "SCAT"), INDEX.anagrams("STAC"));
+        assertTrue(INDEX.anagrams("XYZ").isEmpty());
+    }
+
+    @Test
+    public void testAnagramsWithBlank() {
+        assertEquals(Arrays.asList("ACT", "CAT", "TAC"), sorted(INDEX.anagrams("C?T")));
+        assertEquals(Arrays.asList("DOG", "GOD"), INDEX.anagrams("G?D"));
+        assertEquals(Arrays.asList("COAT", "TACO"), sorted(INDEX.anagrams("CO??")));
+    }
+
+    @Test
+    public void testSubanagramsUseSomeLetters() {
+        assertEquals(new HashSet<>(Arrays.asList("A", "AT", "TA", "ACT", "CAT", "TAC")),
+                new HashSet<>(INDEX.subanagrams("CAT")));
+        List<String> withBlank = INDEX.subanagrams("AT?");
+        assertTrue(withBlank.containsAll(Arrays.asList("A", "AT", "TA", "CAT", "ACT", "TAC")));
+        assertFalse(withBlank.contains("CATS"));
+        assertEquals(new HashSet<>(withBlank).size(), withBlank.size());
+    }
+
+    @Test
+    public void testPatternMatches() {
+        assertEquals(Arrays.asList("BAKES", "BASES", "CARES"), INDEX.matchPattern("?A?ES"));
+        assertEquals(Arrays.asList("CAST", "CATS"), INDEX.matchPattern("ca??"));
+        assertEquals(Arrays.asList("ACT", "CAT", "DOG", "GOD", "TAC"), INDEX.matchPattern("???"));
+        assertTrue(INDEX.matchPattern("?????????").isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsOtherCharacters() {
+        INDEX.anagrams("C-T");
+    }
+
+    @Test
+    public void testSizeAndMemory() {
+        assertEquals(17, INDEX.size());
+        assertEquals(10, INDEX.groupCount());
+        assertTrue(INDEX.memoryBytes() > 0);
+    }
+
+    @Test
+    public void testDictionaryReusesIndex() {
+        Dictionary dictionary = new Dictionary(DawgLexicon.build(Arrays.asList("stop", "pots", "tops")));
+        assertSame(dictionary.getWordIndex(), dictionary.getWordIndex());
+        assertEquals(Arrays.asList("POTS", "STOP", "TOPS"), dictionary.getWordIndex().anagrams("OPTS"));
+    }
+}
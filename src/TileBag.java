@@ -3,25 +3,82 @@ import java.util.*;
 /**
  * Represents the bag of tiles in Scrabble.
  * Handles initialization and random drawing of tiles.
+ *
+ * The bag only stores how many tiles of each letter are left, so draws and returns
+ * are O(1). Tiles of the same letter are indistinguishable, and the bag hands out
+ * one shared Tile instance per letter. Draws come from a {@link SeededRandom}: two bags
+ * built with the same seed draw the same tiles in the same order.
  */
 public class TileBag {
-    private List<Tile> tiles;
+    private final Tile[] tiles = new Tile[LetterCodes.BLANK + 1];
+    private final int[] counts = new int[LetterCodes.BLANK + 1];
+    private int total;
+    private final SeededRandom random;
 
     /**
      * Constructs a TileBag and fills it with the standard Scrabble tile distribution.
-     * For Milestone 1, blank tiles are excluded.
+     * For Milestone 1, blank tiles are excluded. Draws are not reproducible; see
+     * {@link #TileBag(long)}.
      */
     public TileBag() {
-        tiles = new ArrayList<>();
+        this(new SeededRandom());
+    }
+
+    /**
+     * Constructs a TileBag whose draws are fixed by a seed.
+     *
+     * @param seed the seed for the random draws
+     */
+    public TileBag(long seed) {
+        this(new SeededRandom(seed));
+    }
+
+    /**
+     * Constructs a TileBag that draws with the given generator.
+     *
+     * @param random the generator used for draws
+     */
+    public TileBag(SeededRandom random) {
+        this.random = random;
         initializeTiles();
     }
 
+    /**
+     * Returns the tiles left in the bag, grouped by letter.
+     *
+     * @return an unmodifiable snapshot of the bag's contents
+     */
     public List<Tile> getTiles() {
-        return tiles;
+        List<Tile> snapshot = new ArrayList<>(total);
+        for (int code = 0; code < counts.length; code++) {
+            for (int i = 0; i < counts[code]; i++) {
+                snapshot.add(tiles[code]);
+            }
+        }
+        return Collections.unmodifiableList(snapshot);
     }
 
+    /**
+     * Replaces the contents of the bag.
+     *
+     * @param tiles the tiles to put in the bag
+     * @throws IllegalArgumentException if a tile is not a letter A–Z or a blank
+     */
     public void setTiles(List<Tile> tiles) {
-        this.tiles = tiles;
+        Arrays.fill(counts, 0);
+        total = 0;
+        for (Tile tile : tiles) {
+            returnTile(tile);
+        }
+    }
+
+    /**
+     * Returns the generator used for draws.
+     *
+     * @return the generator
+     */
+    public SeededRandom getRandom() {
+        return random;
     }
 
     /**
@@ -30,8 +87,88 @@ public class TileBag {
      * @return a Tile if available, or null if the bag is empty
      */
     public Tile drawTile() {
-        if (tiles.isEmpty()) return null;
-        return tiles.remove((int)(Math.random() * tiles.size()));
+        if (total == 0) {
+            Metrics.increment(Metrics.Counter.EMPTY_DRAWS);
+            return null;
+        }
+        Metrics.increment(Metrics.Counter.TILE_DRAWS);
+        int pick = random.nextInt(total);
+        int code = 0;
+        while (pick >= counts[code]) {
+            pick -= counts[code];
+            code++;
+        }
+        counts[code]--;
+        total--;
+        return tiles[code];
+    }
+
+    /**
+     * Draws a tile of a given letter rather than a random one, as when replaying recorded draws.
+     * The draw is not counted in {@link Metrics}; it was counted when it was recorded.
+     *
+     * @param code the letter code (0–25), or {@link LetterCodes#BLANK}
+     * @return the tile, or null if none of that letter is left
+     */
+    public Tile drawTile(int code) {
+        if (counts[code] == 0) return null;
+        counts[code]--;
+        total--;
+        return tiles[code];
+    }
+
+    /**
+     * Puts a tile back in the bag, for example when it is swapped.
+     *
+     * @param tile the tile to return
+     * @throws IllegalArgumentException if the tile is not a letter A–Z or a blank
+     */
+    public void returnTile(Tile tile) {
+        int code = Rack.codeOf(tile);
+        if (code < 0) throw new IllegalArgumentException("Not a bag tile: " + tile);
+        counts[code]++;
+        total++;
+    }
+
+    /**
+     * Returns how many tiles of a letter code are left.
+     *
+     * @param code the letter code (0–25), or {@link LetterCodes#BLANK}
+     * @return the number of tiles
+     */
+    public int count(int code) {
+        return counts[code];
+    }
+
+    /**
+     * Copies the per-letter counts, indexed by letter code with blanks at {@link LetterCodes#BLANK}.
+     *
+     * @param out an array of at least 27 entries
+     * @return {@code out}
+     */
+    public int[] copyCounts(int[] out) {
+        System.arraycopy(counts, 0, out, 0, counts.length);
+        return out;
+    }
+
+    /**
+     * Replaces the contents of the bag with per-letter counts, as from {@link #copyCounts(int[])}.
+     *
+     * @param counts an array of at least 27 entries
+     */
+    public void setCounts(int[] counts) {
+        total = 0;
+        for (int code = 0; code < this.counts.length; code++) {
+            this.counts[code] = counts[code];
+            total += counts[code];
+        }
+    }
+
+    /**
+     * Returns the bag's shared tile for a letter code, without drawing it.
+     */
+    Tile tileOf(int code) {
+        return tiles[code];
     }
 
     /**
@@ -40,7 +177,7 @@ public class TileBag {
      * @return the count of remaining tiles
      */
     public int remainingTiles() {
-        return tiles.size();
+        return total;
     }
 
     /**
@@ -48,6 +185,7 @@ public class TileBag {
      * Point values follow official rules. Blank tiles are omitted for Milestone 1.
      */
     private void initializeTiles() {
+        addTiles(LetterCodes.BLANK_CHAR, 0, 0); // No blanks in the bag, but swapped ones can be returned
         addTiles('A', 1, 9);
         addTiles('B', 3, 2);
         addTiles('C', 3, 2);
@@ -85,9 +223,10 @@ public class TileBag {
      * @param count the number of tiles to add
      */
     private void addTiles(char letter, int points, int count) {
-        for (int i = 0; i < count; i++) {
-            tiles.add(new Tile(letter, points));
-        }
+        int code = letter == LetterCodes.BLANK_CHAR ? LetterCodes.BLANK : LetterCodes.code(letter);
+        tiles[code] = new Tile(letter, points);
+        counts[code] += count;
+        total += count;
     }
 
     /**
@@ -96,6 +235,6 @@ public class TileBag {
      * @return the number of tiles left
      */
     public int size() {
-        return tiles.size(); // or whatever your internal list is called
+        return total;
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Runs many independent {@link GameEngine} games across a ForkJoinPool and merges
+ * the results into a {@link TournamentResult}.
+ *
+ * Game {@code i} is seeded from the master seed and {@code i} alone, and seats rotate
+ * by game so every player moves first equally often. Each worker task builds its own
+ * engine, strategies, boards and bags; only the {@link Dictionary} is shared, read-only.
+ * A run is therefore reproducible from the master seed, whatever the number of threads.
+ */
+public class Tournament {
+    private static final int GAMES_PER_TASK = 16;
+
+    private final Dictionary dictionary;
+    private final List<Supplier<? extends PlayerStrategy>> players;
+    private final int parallelism;
+
+    /**
+     * Constructs a tournament that uses every available core.
+     *
+     * @param dictionary the dictionary shared by all games
+     * @param players a factory per player; each worker creates its own strategy instances
+     */
+    public Tournament(Dictionary dictionary, List<Supplier<? extends PlayerStrategy>> players) {
+        this(dictionary, players, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a tournament.
+     *
+     * @param dictionary the dictionary shared by all games
+     * @param players a factory per player; each worker creates its own strategy instances
+     * @param parallelism the number of worker threads
+     */
+    public Tournament(Dictionary dictionary, List<Supplier<? extends PlayerStrategy>> players, int parallelism) {
+        if (players.size() < 2 || players.size() > 4) {
+            throw new IllegalArgumentException("A game needs 2 to 4 players");
+        }
+        this.dictionary = dictionary;
+        this.players = new ArrayList<>(players);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the seed of one game of a run, so a single game can be replayed.
+     *
+     * @param masterSeed the seed of the run
+     * @param game the game index
+     * @return the seed passed to {@link GameEngine#play(long)}
+     */
+    public static long gameSeed(long masterSeed, int game) {
+        return SeededRandom.mix(masterSeed, game);
+    }
+
+    /**
+     * Plays the given number of games.
+     *
+     * @param masterSeed the seed every game seed is derived from
+     * @param games the number of games
+     * @return the merged statistics
+     */
+    public TournamentResult run(long masterSeed, int games) {
+        // Make sure the lazily built GADDAG exists before the workers share it
+        dictionary.getGaddag();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Tally tally = pool.invoke(new Games(masterSeed, 0, games));
+            return tally.toResult(masterSeed, games);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays the games in {@code [from, to)}, splitting large ranges in half.
+     * Splits depend only on the range, so results merge in the same order on every run.
+     */
+    private class Games extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final long masterSeed;
+        private final int from;
+        private final int to;
+
+        Games(long masterSeed, int from, int to) {
+            this.masterSeed = masterSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= GAMES_PER_TASK) return play();
+            int mid = (from + to) >>> 1;
+            Games left = new Games(masterSeed, from, mid);
+            left.fork();
+            Tally right = new Games(masterSeed, mid, to).compute();
+            return left.join().merge(right);
+        }
+
+        private Tally play() {
+            int n = players.size();
+            Tally tally = new Tally(n);
+            // One engine per seating, each with fresh strategies for this worker
+            GameEngine[] engines = new GameEngine[n];
+            for (int game = from; game < to; game++) {
+                int rotation = game % n;
+                if (engines[rotation] == null) {
+                    List<PlayerStrategy> seated = new ArrayList<>(n);
+                    for (int seat = 0; seat < n; seat++) {
+                        seated.add(players.get((seat + rotation) % n).get());
+                    }
+                    engines[rotation] = new GameEngine(dictionary, seated);
+                }
+                tally.add(engines[rotation].play(gameSeed(masterSeed, game)), rotation);
+            }
+            return tally;
+        }
+    }
+
+    /** Integer totals per player, merged across tasks. */
+    private static final class Tally {
+        final long[] wins;
+        final long[] ties;
+        final long[] scores;
+        final long[] spreads;
+        final long[] spreadSquares;
+
+        Tally(int players) {
+            wins = new long[players];
+            ties = new long[players];
+            scores = new long[players];
+            spreads = new long[players];
+            spreadSquares = new long[players];
+        }
+
+        void add(GameResult result, int rotation) {
+            int n = wins.length;
+            int winner = result.getWinner();
+            int top = Integer.MIN_VALUE;
+            for (int seat = 0; seat < n; seat++) {
+                top = Math.max(top, result.getScore(seat));
+            }
+            for (int seat = 0; seat < n; seat++) {
+                int player = (seat + rotation) % n;
+                int score = result.getScore(seat);
+                int bestOther = Integer.MIN_VALUE;
+                for (int other = 0; other < n; other++) {
+                    if (other != seat) bestOther = Math.max(bestOther, result.getScore(other));
+                }
+                long spread = score - bestOther;
+                scores[player] += score;
+                spreads[player] += spread;
+                spreadSquares[player] += spread * spread;
+                if (seat == winner) wins[player]++;
+                else if (winner < 0 && score == top) ties[player]++;
+            }
+        }
+
+        Tally merge(Tally other) {
+            for (int p = 0; p < wins.length; p++) {
+                wins[p] += other.wins[p];
+                ties[p] += other.ties[p];
+                scores[p] += other.scores[p];
+                spreads[p] += other.spreads[p];
+                spreadSquares[p] += other.spreadSquares[p];
+            }
+            return this;
+        }
+
+        TournamentResult toResult(long masterSeed, int games) {
+            return new TournamentResult(masterSeed, games, wins, ties, scores, spreads, spreadSquares);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Aggregated statistics of a {@link Tournament}: per player wins, ties, mean score and
+ * mean spread, with 95% confidence intervals. All totals are kept as integers, so the
+ * same games give exactly the same result however they were split across threads.
+ */
+public class TournamentResult {
+    private static final double Z95 = 1.959963984540054;
+
+    private final long masterSeed;
+    private final int games;
+    private final long[] wins;
+    private final long[] ties;
+    private final long[] scoreSums;
+    private final long[] spreadSums;
+    private final long[] spreadSquareSums;
+
+    TournamentResult(long masterSeed, int games, long[] wins, long[] ties, long[] scoreSums,
+                     long[] spreadSums, long[] spreadSquareSums) {
+        this.masterSeed = masterSeed;
+        this.games = games;
+        this.wins = wins;
+        this.ties = ties;
+        this.scoreSums = scoreSums;
+        this.spreadSums = spreadSums;
+        this.spreadSquareSums = spreadSquareSums;
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getPlayerCount() {
+        return wins.length;
+    }
+
+    public long getWins(int player) {
+        return wins[player];
+    }
+
+    public long getTies(int player) {
+        return ties[player];
+    }
+
+    /**
+     * Returns a player's win rate, counting a shared top score as half a win.
+     *
+     * @param player the player index
+     * @return the win rate between 0 and 1
+     */
+    public double getWinRate(int player) {
+        return games == 0 ? 0 : (wins[player] + ties[player] / 2.0) / games;
+    }
+
+    /**
+     * Returns the 95% Wilson score interval of a player's win rate.
+     *
+     * @param player the player index
+     * @return the lower and upper bound
+     */
+    public double[] getWinRateInterval(int player) {
+        if (games == 0) return new double[] {0, 1};
+        double p = getWinRate(player);
+        double z2 = Z95 * Z95;
+        double center = (p + z2 / (2 * games)) / (1 + z2 / games);
+        double half = Z95 * Math.sqrt(p * (1 - p) / games + z2 / (4.0 * games * games)) / (1 + z2 / games);
+        return new double[] {center - half, center + half};
+    }
+
+    public double getMeanScore(int player) {
+        return games == 0 ? 0 : (double) scoreSums[player] / games;
+    }
+
+    /**
+     * Returns a player's mean spread: their score minus the best opposing score.
+     *
+     * @param player the player index
+     * @return the mean spread
+     */
+    public double getMeanSpread(int player) {
+        return games == 0 ? 0 : (double) spreadSums[player] / games;
+    }
+
+    /**
+     * Returns the 95% confidence interval of a player's mean spread (normal approximation).
+     *
+     * @param player the player index
+     * @return the lower and upper bound
+     */
+    public double[] getSpreadInterval(int player) {
+        double mean = getMeanSpread(player);
+        if (games < 2) return new double[] {mean, mean};
+        double variance = (spreadSquareSums[player] - games * mean * mean) / (games - 1);
+        double half = Z95 * Math.sqrt(Math.max(variance, 0) / games);
+        return new double[] {mean - half, mean + half};
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(games).append(" games, master seed ").append(masterSeed).append('\n');
+        for (int p = 0; p < wins.length; p++) {
+            double[] winCi = getWinRateInterval(p);
+            double[] spreadCi = getSpreadInterval(p);
+            sb.append(String.format("player %d: win %.3f [%.3f, %.3f], score %.1f, spread %+.1f [%+.1f, %+.1f]%n",
+                    p, getWinRate(p), winCi[0], winCi[1], getMeanScore(p),
+                    getMeanSpread(p), spreadCi[0], spreadCi[1]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,302 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of a word list for anagram, subanagram and pattern queries, which a
+ * {@link Lexicon} cannot answer without visiting every word.
+ *
+ * Anagram groups are keyed by signature, the word's letters in sorted order. The
+ * signatures are kept sorted, so the groups sharing a signature prefix form a
+ * contiguous range and a rack query walks them like a trie, narrowing the range by
+ * binary search one letter at a time. Pattern queries use one bitmask per word
+ * length, position and letter over the words of that length; ANDing the masks of
+ * the fixed letters leaves the matches. Everything is held in flat primitive arrays,
+ * and only words made of the letters A–Z are indexed. Instances are immutable and
+ * safe to share between threads.
+ */
+public class WordIndex {
+    private final byte[] letters;
+    // Words in length, then alphabetical order; word i is letters[wordStarts[i] .. wordStarts[i + 1])
+    private final int[] wordStarts;
+    private final int[] lengthStarts;
+
+    // Groups in signature order; group g holds groupWords[groupStarts[g] .. groupStarts[g + 1])
+    private final int[] groupWords;
+    private final int[] groupStarts;
+    private final byte[] signatures;
+    private final int[] signatureStarts;
+
+    // positionMasks[length][(pos * 26 + letter) * stride + w / 64], stride = words of that length / 64
+    private final long[][] positionMasks;
+
+    private WordIndex(byte[] letters, int[] wordStarts, int[] lengthStarts, int[] groupWords, int[] groupStarts,
+                      byte[] signatures, int[] signatureStarts, long[][] positionMasks) {
+        this.letters = letters;
+        this.wordStarts = wordStarts;
+        this.lengthStarts = lengthStarts;
+        this.groupWords = groupWords;
+        this.groupStarts = groupStarts;
+        this.signatures = signatures;
+        this.signatureStarts = signatureStarts;
+        this.positionMasks = positionMasks;
+    }
+
+    /**
+     * Builds the index for every word in a lexicon.
+     *
+     * @param lexicon the words to index
+     * @return the index
+     */
+    public static WordIndex build(Lexicon lexicon) {
+        List<String> words = new ArrayList<>(lexicon.size());
+        lexicon.forEachWord(word -> {
+            if (!word.isEmpty() && LetterCodes.isLetters(word)) words.add(word);
+        });
+        words.sort((a, b) -> a.length() != b.length() ? a.length() - b.length() : a.compareTo(b));
+        int n = words.size();
+        int maxLength = n == 0 ? 0 : words.get(n - 1).length();
+
+        int[] wordStarts = new int[n + 1];
+        for (int i = 0; i < n; i++) wordStarts[i + 1] = wordStarts[i] + words.get(i).length();
+        byte[] letters = new byte[wordStarts[n]];
+        byte[][] sorted = new byte[n][];
+        int[] lengthStarts = new int[maxLength + 2];
+        for (int i = 0; i < n; i++) {
+            String word = words.get(i);
+            for (int j = 0; j < word.length(); j++) {
+                letters[wordStarts[i] + j] = (byte) LetterCodes.code(word.charAt(j));
+            }
+            sorted[i] = Arrays.copyOfRange(letters, wordStarts[i], wordStarts[i + 1]);
+            Arrays.sort(sorted[i]);
+            lengthStarts[word.length() + 1] = i + 1;
+        }
+        for (int len = 1; len < lengthStarts.length; len++) {
+            lengthStarts[len] = Math.max(lengthStarts[len], lengthStarts[len - 1]);
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> {
+            int cmp = compareSignatures(sorted[a], sorted[b]);
+            return cmp != 0 ? cmp : a - b;
+        });
+        int[] groupWords = new int[n];
+        int groups = 0;
+        for (int i = 0; i < n; i++) {
+            groupWords[i] = order[i];
+            if (i == 0 || compareSignatures(sorted[order[i - 1]], sorted[order[i]]) != 0) groups++;
+        }
+        int[] groupStarts = new int[groups + 1];
+        int[] signatureStarts = new int[groups + 1];
+        byte[] signatures = new byte[letters.length];
+        int g = 0;
+        int position = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || compareSignatures(sorted[order[i - 1]], sorted[order[i]]) != 0) {
+                byte[] signature = sorted[order[i]];
+                groupStarts[g] = i;
+                signatureStarts[g] = position;
+                System.arraycopy(signature, 0, signatures, position, signature.length);
+                position += signature.length;
+                g++;
+            }
+        }
+        groupStarts[groups] = n;
+        signatureStarts[groups] = position;
+
+        long[][] positionMasks = new long[maxLength + 1][];
+        for (int len = 1; len <= maxLength; len++) {
+            int first = lengthStarts[len];
+            int stride = (lengthStarts[len + 1] - first + 63) >>> 6;
+            long[] masks = new long[len * LetterCodes.LETTERS * stride];
+            for (int w = first; w < lengthStarts[len + 1]; w++) {
+                int bit = w - first;
+                for (int pos = 0; pos < len; pos++) {
+                    masks[(pos * LetterCodes.LETTERS + letters[wordStarts[w] + pos]) * stride + (bit >>> 6)] |= 1L << bit;
+                }
+            }
+            positionMasks[len] = masks;
+        }
+        return new WordIndex(letters, wordStarts, lengthStarts, groupWords, groupStarts,
+                Arrays.copyOf(signatures, position), signatureStarts, positionMasks);
+    }
+
+    /**
+     * Orders signatures letter by letter, with a prefix before any longer signature.
+     */
+    private static int compareSignatures(byte[] a, byte[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) return a[i] - b[i];
+        }
+        return a.length - b.length;
+    }
+
+    /**
+     * Returns the words that use all of the given letters.
+     *
+     * @param rack the letters, in either case; {@link LetterCodes#BLANK_CHAR} stands for any letter
+     * @return the matching words, grouped by the letters they use
+     * @throws IllegalArgumentException if the rack has other characters
+     */
+    public List<String> anagrams(CharSequence rack) {
+        return search(rack, true);
+    }
+
+    /**
+     * Returns the words that use some or all of the given letters.
+     *
+     * @param rack the letters, in either case; {@link LetterCodes#BLANK_CHAR} stands for any letter
+     * @return the matching words, grouped by the letters they use
+     * @throws IllegalArgumentException if the rack has other characters
+     */
+    public List<String> subanagrams(CharSequence rack) {
+        return search(rack, false);
+    }
+
+    /**
+     * Returns the words that fit a pattern such as {@code ?A??S}.
+     *
+     * @param pattern letters in either case, with {@link LetterCodes#BLANK_CHAR} for any letter
+     * @return the matching words in alphabetical order
+     * @throws IllegalArgumentException if the pattern has other characters
+     */
+    public List<String> matchPattern(CharSequence pattern) {
+        int len = pattern.length();
+        List<String> matches = new ArrayList<>();
+        if (len == 0 || len >= lengthStarts.length - 1) return matches;
+        int first = lengthStarts[len];
+        int count = lengthStarts[len + 1] - first;
+        int stride = (count + 63) >>> 6;
+        long[] masks = positionMasks[len];
+        long[] result = new long[stride];
+        Arrays.fill(result, -1L);
+        for (int pos = 0; pos < len; pos++) {
+            char c = pattern.charAt(pos);
+            if (c == LetterCodes.BLANK_CHAR) continue;
+            int letter = LetterCodes.code(c);
+            if (letter < 0) throw new IllegalArgumentException("Not a letter or '?': " + c);
+            int base = (pos * LetterCodes.LETTERS + letter) * stride;
+            for (int i = 0; i < stride; i++) result[i] &= masks[base + i];
+        }
+        for (int i = 0; i < stride; i++) {
+            for (long bits = result[i]; bits != 0; bits &= bits - 1) {
+                int bit = (i << 6) + Long.numberOfTrailingZeros(bits);
+                if (bit < count) matches.add(word(first + bit));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of words indexed.
+     *
+     * @return the word count
+     */
+    public int size() {
+        return groupWords.length;
+    }
+
+    /**
+     * Returns the number of anagram groups, one per distinct signature.
+     *
+     * @return the group count
+     */
+    public int groupCount() {
+        return groupStarts.length - 1;
+    }
+
+    /**
+     * Returns the heap used by the index arrays.
+     *
+     * @return the size in bytes
+     */
+    public long memoryBytes() {
+        long bytes = letters.length + signatures.length
+                + 4L * (wordStarts.length + lengthStarts.length + groupWords.length
+                + groupStarts.length + signatureStarts.length);
+        for (long[] masks : positionMasks) {
+            if (masks != null) bytes += 8L * masks.length;
+        }
+        return bytes;
+    }
+
+    private List<String> search(CharSequence rack, boolean allTiles) {
+        int[] counts = new int[LetterCodes.LETTERS];
+        int blanks = 0;
+        for (int i = 0; i < rack.length(); i++) {
+            char c = rack.charAt(i);
+            if (c == LetterCodes.BLANK_CHAR) {
+                blanks++;
+            } else {
+                int code = LetterCodes.code(c);
+                if (code < 0) throw new IllegalArgumentException("Not a letter or '?': " + c);
+                counts[code]++;
+            }
+        }
+        List<String> matches = new ArrayList<>();
+        collect(0, groupCount(), 0, 0, counts, blanks, allTiles ? rack.length() : -1, matches);
+        return matches;
+    }
+
+    /**
+     * Walks the groups in {@code [lo, hi)}, which share their first {@code depth} letters,
+     * adding every group whose signature can be completed from the remaining tiles.
+     * Signatures are sorted, so the next letter is never below {@code minLetter}.
+     */
+    private void collect(int lo, int hi, int depth, int minLetter, int[] counts, int blanks,
+                         int exactLength, List<String> matches) {
+        // A signature that ends here sorts first in its range
+        if (lo < hi && signatureLength(lo) == depth) {
+            if (depth > 0 && (exactLength < 0 || depth == exactLength)) addGroup(lo, matches);
+            lo++;
+        }
+        if (depth == exactLength) return;
+        for (int letter = minLetter; letter < LetterCodes.LETTERS && lo < hi; letter++) {
+            if (counts[letter] == 0 && blanks == 0) continue;
+            int from = lowerBound(lo, hi, depth, letter);
+            int to = lowerBound(from, hi, depth, letter + 1);
+            if (from == to) continue;
+            // A blank only stands in for letters the rack has run out of; anything else repeats a match
+            if (counts[letter] > 0) {
+                counts[letter]--;
+                collect(from, to, depth + 1, letter, counts, blanks, exactLength, matches);
+                counts[letter]++;
+            } else {
+                collect(from, to, depth + 1, letter, counts, blanks - 1, exactLength, matches);
+            }
+            lo = to;
+        }
+    }
+
+    /**
+     * Returns the first group in {@code [lo, hi)} whose letter at {@code depth} is at least {@code letter}.
+     */
+    private int lowerBound(int lo, int hi, int depth, int letter) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (signatures[signatureStarts[mid] + depth] < letter) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private int signatureLength(int group) {
+        return signatureStarts[group + 1] - signatureStarts[group];
+    }
+
+    private void addGroup(int group, List<String> matches) {
+        for (int i = groupStarts[group]; i < groupStarts[group + 1]; i++) {
+            matches.add(word(groupWords[i]));
+        }
+    }
+
+    private String word(int id) {
+        char[] chars = new char[wordStarts[id + 1] - wordStarts[id]];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = LetterCodes.letter(letters[wordStarts[id] + i]);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,120 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Offline tool that compiles a plain-text word list (one word per line) into the
+ * binary format read by {@link MappedWordList}.
+ *
+ * Usage: {@code java WordListCompiler <source file or URL> <output file>}
+ */
+public class WordListCompiler {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.out.println("Usage: java WordListCompiler <source file or URL> <output file>");
+            return;
+        }
+        List<String> words = readWords(args[0]);
+        compile(words, Paths.get(args[1]));
+        System.out.println("Compiled " + words.size() + " lines into " + args[1]);
+    }
+
+    /**
+     * Reads a word list from a URL (anything with a scheme) or a local file path.
+     *
+     * @param source the URL or file path of the word list
+     * @return the raw lines of the list
+     * @throws IOException if the source cannot be read
+     */
+    public static List<String> readWords(String source) throws IOException {
+        Reader in = source.contains("://")
+                ? new InputStreamReader(new URL(source).openStream(), StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8);
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(in)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                words.add(line);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Writes the words to a compiled word list file.
+     * Words are trimmed and upper-cased exactly as {@link Dictionary} does, then
+     * de-duplicated and grouped by length.
+     *
+     * @param words the words to compile
+     * @param output the file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a word has characters outside ISO-8859-1
+     */
+    public static void compile(Iterable<String> words, Path output) throws IOException {
+        TreeSet<String> sorted = new TreeSet<>();
+        int maxLength = 0;
+        for (String word : words) {
+            String upper = word.trim().toUpperCase();
+            for (int i = 0; i < upper.length(); i++) {
+                if (upper.charAt(i) > 0xFF) {
+                    throw new IllegalArgumentException("Word not representable in ISO-8859-1: " + word);
+                }
+            }
+            sorted.add(upper);
+            maxLength = Math.max(maxLength, upper.length());
+        }
+
+        // Group by length; TreeSet order is already byte order within a length
+        List<List<String>> blocks = new ArrayList<>();
+        for (int len = 0; len <= maxLength; len++) {
+            blocks.add(new ArrayList<String>());
+        }
+        for (String word : sorted) {
+            blocks.get(word.length()).add(word);
+        }
+
+        int headerSize = 16 + (maxLength + 1) * 8;
+        int dataSize = 0;
+        for (int len = 0; len <= maxLength; len++) {
+            dataSize += len * blocks.get(len).size();
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(headerSize + dataSize);
+        out.putInt(MappedWordList.MAGIC);
+        out.putInt(MappedWordList.VERSION);
+        out.putInt(sorted.size());
+        out.putInt(maxLength);
+        int offset = headerSize;
+        for (int len = 0; len <= maxLength; len++) {
+            out.putInt(offset);
+            out.putInt(blocks.get(len).size());
+            offset += len * blocks.get(len).size();
+        }
+        for (List<String> block : blocks) {
+            for (String word : block) {
+                out.put(word.getBytes(StandardCharsets.ISO_8859_1));
+            }
+        }
+        out.flip();
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Fixed random keys for Zobrist hashing of positions: one per tile on a square,
+ * one per tile held on each player's rack, one for the side to move and one for a
+ * position reached by passing.
+ * A position's hash is the XOR of the keys of everything in it, so placing or removing
+ * a tile updates the hash with a single XOR. Keys come from a fixed seed and are the
+ * same on every run. {@link BoardState} and {@link Rack} keep their hashes up to date
+ * this way as tiles come and go.
+ */
+public final class Zobrist {
+    /** Largest number of tiles of one letter a rack key is defined for. */
+    public static final int MAX_COUNT = 16;
+
+    private static final long[] SQUARES = new long[BoardState.SQUARES * 2 * LetterCodes.LETTERS];
+    private static final long[] RACKS = new long[2 * (LetterCodes.BLANK + 1) * MAX_COUNT];
+    private static final long SIDE;
+    private static final long PASSED;
+
+    static {
+        SeededRandom random = new SeededRandom(0x5A0B415EL);
+        for (int i = 0; i < SQUARES.length; i++) SQUARES[i] = random.nextLong();
+        for (int i = 0; i < RACKS.length; i++) RACKS[i] = random.nextLong();
+        SIDE = random.nextLong();
+        PASSED = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a tile on a square.
+     *
+     * @param sq the square index
+     * @param letter the letter code (0–25) shown on the tile
+     * @param blank true if the tile is a blank
+     * @return the key
+     */
+    public static long square(int sq, int letter, boolean blank) {
+        return SQUARES[(sq * 2 + (blank ? 1 : 0)) * LetterCodes.LETTERS + letter];
+    }
+
+    /**
+     * Returns the key of the {@code n}-th tile (counting from 0) of a letter on a rack.
+     * A rack holding {@code k} tiles of a letter includes the keys for 0 to k - 1.
+     *
+     * @param player 0 or 1
+     * @param code the letter code, or {@link LetterCodes#BLANK}
+     * @param n the tile's index among the rack's tiles of that letter, below {@link #MAX_COUNT}
+     * @return the key
+     */
+    public static long rack(int player, int code, int n) {
+        return RACKS[(player * (LetterCodes.BLANK + 1) + code) * MAX_COUNT + n];
+    }
+
+    /**
+     * Returns the key XORed in while the second player is to move.
+     *
+     * @return the key
+     */
+    public static long side() {
+        return SIDE;
+    }
+
+    /**
+     * Returns the key XORed in when the previous move was a pass, since a second
+     * pass then ends the game.
+     *
+     * @return the key
+     */
+    public static long passed() {
+        return PASSED;
+    }
+
+    /**
+     * Hashes a rack held by a player.
+     *
+     * @param player 0 or 1
+     * @param counts tiles per letter code, blanks at {@link LetterCodes#BLANK}; tiles of a
+     *               letter past {@link #MAX_COUNT} are not hashed
+     * @return the XOR of the rack's keys
+     */
+    public static long rack(int player, int[] counts) {
+        long hash = 0;
+        for (int code = 0; code <= LetterCodes.BLANK; code++) {
+            int count = Math.min(counts[code], MAX_COUNT);
+            for (int n = 0; n < count; n++) hash ^= rack(player, code, n);
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes the tiles on a board.
+     *
+     * @param state the position
+     * @return the XOR of the keys of every tile on it
+     */
+    public static long board(BoardState state) {
+        long hash = 0;
+        for (int sq = 0; sq < BoardState.SQUARES; sq++) {
+            if (!state.isEmpty(sq)) hash ^= square(sq, state.get(sq), state.isBlank(sq));
+        }
+        return hash;
+    }
+}